@@ -0,0 +1,678 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.lang.ref.SoftReference;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates, loads and caches the classes that back the objects
+ * returned by the {@link Configurations#bind(Class, String, Map)}
+ * method.
+ *
+ * <p>For each bound interface two classes are generated, once, and
+ * defined in a dedicated {@link ClassLoader}:</p>
+ *
+ * <ul>
+ *
+ * <li>a <em>snapshot</em> class that implements the interface with
+ * one {@code final} field per property, each accessor simply reading
+ * its field; and</li>
+ *
+ * <li>a <em>live</em> class that implements the interface by
+ * forwarding each accessor to a snapshot held in a {@code volatile}
+ * field, which is replaced wholesale when configuration changes.</li>
+ *
+ * </ul>
+ *
+ * <p>The generated bytecode contains no branches, and so needs no
+ * stack map frames.</p>
+ *
+ * <p>Each bound interface's {@link Binder} is cached only softly, so
+ * that the cache never keeps the generated classes, their {@link
+ * ClassLoader} or the {@link ClassLoader} of the interface itself
+ * from being unloaded.  A {@link Binder} that has been reclaimed is
+ * generated again when it is next needed.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Configurations#bind(Class, String, Map)
+ */
+final class Bindings {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  private static final ClassValue<SoftReference<Binder>> binders = new ClassValue<SoftReference<Binder>>() {
+      @Override
+      protected final SoftReference<Binder> computeValue(final Class<?> type) {
+        return new SoftReference<>(new Binder(type));
+      }
+    };
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private Bindings() {
+    super();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the {@link Binder} for the supplied interface, generating
+   * its classes if necessary.
+   *
+   * @param type the interface; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Binder}
+   *
+   * @exception NullPointerException if {@code type} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code type} cannot be
+   * bound
+   */
+  static final Binder binderFor(final Class<?> type) {
+    Binder returnValue = binders.get(type).get();
+    if (returnValue == null) {
+      // The cached Binder has been reclaimed; cache a new one.
+      binders.remove(type);
+      returnValue = binders.get(type).get();
+      if (returnValue == null) {
+        // Reclaimed again already; don't bother caching.
+        returnValue = new Binder(type);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the name of the configuration property that the supplied
+   * accessor {@link Method} represents: its name, or, if it is named
+   * like a JavaBeans getter, the name of the JavaBeans property.
+   */
+  private static final String propertyName(final Method method) {
+    final String name = method.getName();
+    final String returnValue;
+    if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+      returnValue = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+    } else if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2)) &&
+               (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+      returnValue = Character.toLowerCase(name.charAt(2)) + name.substring(3);
+    } else {
+      returnValue = name;
+    }
+    return returnValue;
+  }
+
+  private static final boolean isObjectMethod(final Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (final NoSuchMethodException noSuchMethodException) {
+      return false;
+    }
+  }
+
+  private static final String internalName(final Class<?> c) {
+    return c.getName().replace('.', '/');
+  }
+
+  private static final String descriptor(final Class<?> c) {
+    final String returnValue;
+    if (c == int.class) {
+      returnValue = "I";
+    } else if (c == long.class) {
+      returnValue = "J";
+    } else if (c == boolean.class) {
+      returnValue = "Z";
+    } else if (c == double.class) {
+      returnValue = "D";
+    } else if (c == float.class) {
+      returnValue = "F";
+    } else if (c == short.class) {
+      returnValue = "S";
+    } else if (c == byte.class) {
+      returnValue = "B";
+    } else if (c == char.class) {
+      returnValue = "C";
+    } else if (c == void.class) {
+      returnValue = "V";
+    } else if (c.isArray()) {
+      returnValue = c.getName().replace('.', '/');
+    } else {
+      returnValue = "L" + internalName(c) + ";";
+    }
+    return returnValue;
+  }
+
+  private static final Class<?> wrapperType(final Class<?> c) {
+    return MethodType.methodType(c).wrap().returnType();
+  }
+
+  private static final int returnOpcode(final Class<?> c) {
+    final int returnValue;
+    if (c == long.class) {
+      returnValue = 0xAD; // lreturn
+    } else if (c == float.class) {
+      returnValue = 0xAE; // freturn
+    } else if (c == double.class) {
+      returnValue = 0xAF; // dreturn
+    } else if (c.isPrimitive()) {
+      returnValue = 0xAC; // ireturn
+    } else {
+      returnValue = 0xB0; // areturn
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * The generated classes for one bound interface, together with the
+   * {@link MethodHandle}s used to instantiate and update them.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  static final class Binder {
+
+    /**
+     * The names, relative to a prefix, of the bound configuration
+     * properties, in accessor order.
+     */
+    final String[] propertyNames;
+
+    /**
+     * The {@link Type}s of the bound configuration properties,
+     * parallel to {@link #propertyNames}.
+     */
+    final Type[] propertyTypes;
+
+    /**
+     * The values to use when a primitive-typed property has no
+     * value, parallel to {@link #propertyNames}; elements for
+     * reference-typed properties are {@code null}.
+     */
+    final Object[] defaultValues;
+
+    /**
+     * Creates a snapshot from an {@code Object[]} of property values
+     * parallel to {@link #propertyNames}.
+     */
+    private final MethodHandle snapshotConstructor;
+
+    /**
+     * Creates a live instance from a snapshot.
+     */
+    private final MethodHandle liveConstructor;
+
+    /**
+     * Replaces the snapshot a live instance forwards to.
+     */
+    private final MethodHandle delegateSetter;
+
+    private Binder(final Class<?> type) {
+      super();
+      if (!type.isInterface() || !Modifier.isPublic(type.getModifiers())) {
+        throw new IllegalArgumentException("Not a public interface: " + type);
+      }
+      final Map<String, Method> accessors = new LinkedHashMap<>();
+      final List<Method> methods = new ArrayList<>(Arrays.asList(type.getMethods()));
+      methods.sort((a, b) -> a.getName().compareTo(b.getName()));
+      for (final Method method : methods) {
+        final int modifiers = method.getModifiers();
+        if (!Modifier.isAbstract(modifiers) || Modifier.isStatic(modifiers) || isObjectMethod(method)) {
+          continue;
+        }
+        final Class<?> returnType = method.getReturnType();
+        if (method.getParameterCount() != 0 || returnType == void.class) {
+          throw new IllegalArgumentException("Not an accessor: " + method);
+        }
+        if (!Modifier.isPublic(returnType.getModifiers())) {
+          throw new IllegalArgumentException("Accessor return type is not public: " + method);
+        }
+        final Method existing = accessors.putIfAbsent(method.getName(), method);
+        if (existing != null && existing.getReturnType() != returnType) {
+          throw new IllegalArgumentException("Conflicting accessors: " + existing + ", " + method);
+        }
+      }
+      final Method[] accessorArray = accessors.values().toArray(new Method[accessors.size()]);
+      final int size = accessorArray.length;
+      this.propertyNames = new String[size];
+      this.propertyTypes = new Type[size];
+      this.defaultValues = new Object[size];
+      final Map<String, Method> byPropertyName = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        final Method accessor = accessorArray[i];
+        this.propertyNames[i] = propertyName(accessor);
+        final Method clash = byPropertyName.put(this.propertyNames[i], accessor);
+        if (clash != null) {
+          throw new IllegalArgumentException("Accessors " + clash + " and " + accessor + " both bind " + this.propertyNames[i]);
+        }
+        this.propertyTypes[i] = accessor.getGenericReturnType();
+        final Class<?> returnType = accessor.getReturnType();
+        if (returnType.isPrimitive()) {
+          this.defaultValues[i] = Array.get(Array.newInstance(returnType, 1), 0);
+        }
+      }
+
+      final int n = counter.incrementAndGet();
+      final String snapshotName = "org/microbean/configuration/Binding$" + type.getSimpleName() + "$Snapshot$" + n;
+      final String liveName = "org/microbean/configuration/Binding$" + type.getSimpleName() + "$Live$" + n;
+      final BindingClassLoader classLoader = new BindingClassLoader(type.getClassLoader());
+      final Class<?> snapshotClass = classLoader.define(snapshotName, snapshotClass(snapshotName, type, accessorArray));
+      final Class<?> liveClass = classLoader.define(liveName, liveClass(liveName, type, accessorArray));
+      final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      try {
+        this.snapshotConstructor = lookup.findConstructor(snapshotClass, MethodType.methodType(void.class, Object[].class));
+        this.liveConstructor = lookup.findConstructor(liveClass, MethodType.methodType(void.class, type));
+        this.delegateSetter = lookup.findSetter(liveClass, "delegate", type);
+      } catch (final ReflectiveOperationException reflectiveOperationException) {
+        throw new IllegalStateException(reflectiveOperationException.getMessage(), reflectiveOperationException);
+      }
+    }
+
+    /**
+     * Returns a new snapshot holding the supplied values.
+     *
+     * @param values the property values, parallel to {@link
+     * #propertyNames}; must not be {@code null}; elements for
+     * primitive-typed properties must not be {@code null}
+     *
+     * @return a new snapshot; never {@code null}
+     */
+    final Object newSnapshot(final Object[] values) {
+      try {
+        return this.snapshotConstructor.invoke(values);
+      } catch (final RuntimeException | Error throwable) {
+        throw throwable;
+      } catch (final Throwable throwable) {
+        throw new IllegalStateException(throwable.getMessage(), throwable);
+      }
+    }
+
+    /**
+     * Returns a new live instance forwarding to the supplied snapshot.
+     *
+     * @param snapshot a snapshot; must not be {@code null}
+     *
+     * @return a new live instance; never {@code null}
+     */
+    final Object newLive(final Object snapshot) {
+      try {
+        return this.liveConstructor.invoke(snapshot);
+      } catch (final RuntimeException | Error throwable) {
+        throw throwable;
+      } catch (final Throwable throwable) {
+        throw new IllegalStateException(throwable.getMessage(), throwable);
+      }
+    }
+
+    /**
+     * Makes the supplied live instance forward to the supplied
+     * snapshot.
+     *
+     * @param live a live instance; must not be {@code null}
+     *
+     * @param snapshot a snapshot; must not be {@code null}
+     */
+    final void setSnapshot(final Object live, final Object snapshot) {
+      try {
+        this.delegateSetter.invoke(live, snapshot);
+      } catch (final RuntimeException | Error throwable) {
+        throw throwable;
+      } catch (final Throwable throwable) {
+        throw new IllegalStateException(throwable.getMessage(), throwable);
+      }
+    }
+
+    private static final byte[] snapshotClass(final String name, final Class<?> type, final Method[] accessors) {
+      final ClassFileWriter w = new ClassFileWriter(name, type);
+      final int objectInit = w.methodref("java/lang/Object", "<init>", "()V");
+      final int[] fields = new int[accessors.length];
+      for (int i = 0; i < accessors.length; i++) {
+        final String fieldName = "f" + i;
+        final String fieldDescriptor = descriptor(accessors[i].getReturnType());
+        w.field(0x0012 /* private final */, fieldName, fieldDescriptor);
+        fields[i] = w.fieldref(name, fieldName, fieldDescriptor);
+      }
+
+      // public <init>(Object[] values)
+      final Code init = new Code();
+      init.op(0x2A); // aload_0
+      init.op(0xB7).u2(objectInit); // invokespecial Object.<init>
+      for (int i = 0; i < accessors.length; i++) {
+        final Class<?> c = accessors[i].getReturnType();
+        init.op(0x2A); // aload_0
+        init.op(0x2B); // aload_1
+        init.op(0x11).u2(i); // sipush i
+        init.op(0x32); // aaload
+        if (c.isPrimitive()) {
+          final Class<?> wrapper = wrapperType(c);
+          init.op(0xC0).u2(w.classref(internalName(wrapper))); // checkcast
+          init.op(0xB6).u2(w.methodref(internalName(wrapper), c.getName() + "Value", "()" + descriptor(c))); // invokevirtual
+        } else if (c != Object.class) {
+          init.op(0xC0).u2(w.classref(c.isArray() ? descriptor(c) : internalName(c))); // checkcast
+        }
+        init.op(0xB5).u2(fields[i]); // putfield
+      }
+      init.op(0xB1); // return
+      w.method(0x0001, "<init>", "([Ljava/lang/Object;)V", 4, 2, init);
+
+      for (int i = 0; i < accessors.length; i++) {
+        final Class<?> c = accessors[i].getReturnType();
+        final Code get = new Code();
+        get.op(0x2A); // aload_0
+        get.op(0xB4).u2(fields[i]); // getfield
+        get.op(returnOpcode(c));
+        w.method(0x0011, accessors[i].getName(), "()" + descriptor(c), 2, 1, get);
+      }
+      return w.toByteArray();
+    }
+
+    private static final byte[] liveClass(final String name, final Class<?> type, final Method[] accessors) {
+      final ClassFileWriter w = new ClassFileWriter(name, type);
+      final int objectInit = w.methodref("java/lang/Object", "<init>", "()V");
+      final String typeDescriptor = descriptor(type);
+      w.field(0x0041 /* public volatile */, "delegate", typeDescriptor);
+      final int delegate = w.fieldref(name, "delegate", typeDescriptor);
+
+      // public <init>(T delegate)
+      final Code init = new Code();
+      init.op(0x2A); // aload_0
+      init.op(0xB7).u2(objectInit); // invokespecial Object.<init>
+      init.op(0x2A); // aload_0
+      init.op(0x2B); // aload_1
+      init.op(0xB5).u2(delegate); // putfield
+      init.op(0xB1); // return
+      w.method(0x0001, "<init>", "(" + typeDescriptor + ")V", 2, 2, init);
+
+      for (final Method accessor : accessors) {
+        final Class<?> c = accessor.getReturnType();
+        final String methodDescriptor = "()" + descriptor(c);
+        final Code get = new Code();
+        get.op(0x2A); // aload_0
+        get.op(0xB4).u2(delegate); // getfield
+        get.op(0xB9).u2(w.interfaceMethodref(internalName(type), accessor.getName(), methodDescriptor)).u1(1).u1(0); // invokeinterface
+        get.op(returnOpcode(c));
+        w.method(0x0011, accessor.getName(), methodDescriptor, 2, 1, get);
+      }
+      return w.toByteArray();
+    }
+
+  }
+
+  /**
+   * A {@link ClassLoader} that defines generated binding classes and
+   * otherwise delegates to the {@link ClassLoader} of the bound
+   * interface.
+   */
+  private static final class BindingClassLoader extends ClassLoader {
+
+    private BindingClassLoader(final ClassLoader parent) {
+      super(parent);
+    }
+
+    private final Class<?> define(final String internalName, final byte[] bytes) {
+      return this.defineClass(internalName.replace('/', '.'), bytes, 0, bytes.length);
+    }
+
+  }
+
+  /**
+   * A growable buffer of bytecode for a single method.
+   */
+  private static final class Code {
+
+    private final ByteArrayOutputStream bytes;
+
+    private Code() {
+      super();
+      this.bytes = new ByteArrayOutputStream();
+    }
+
+    private final Code op(final int opcode) {
+      return this.u1(opcode);
+    }
+
+    private final Code u1(final int value) {
+      this.bytes.write(value);
+      return this;
+    }
+
+    private final Code u2(final int value) {
+      this.bytes.write(value >>> 8);
+      this.bytes.write(value);
+      return this;
+    }
+
+  }
+
+  /**
+   * A minimal writer of version 52 (Java 8) class files for public,
+   * final classes that extend {@link Object} and implement one
+   * interface.
+   */
+  private static final class ClassFileWriter {
+
+    private final Map<String, Integer> constants;
+
+    private final ByteArrayOutputStream constantPool;
+
+    private int constantCount;
+
+    private final ByteArrayOutputStream fields;
+
+    private int fieldCount;
+
+    private final ByteArrayOutputStream methods;
+
+    private int methodCount;
+
+    private final int thisClass;
+
+    private final int superClass;
+
+    private final int interfaceClass;
+
+    private final int codeAttributeName;
+
+    private ClassFileWriter(final String name, final Class<?> interfaceType) {
+      super();
+      this.constants = new HashMap<>();
+      this.constantPool = new ByteArrayOutputStream();
+      this.constantCount = 1;
+      this.fields = new ByteArrayOutputStream();
+      this.methods = new ByteArrayOutputStream();
+      this.thisClass = this.classref(name);
+      this.superClass = this.classref("java/lang/Object");
+      this.interfaceClass = this.classref(internalName(interfaceType));
+      this.codeAttributeName = this.utf8("Code");
+    }
+
+    private final int utf8(final String value) {
+      return this.constant("U" + value, out -> {
+          out.writeByte(1);
+          out.writeUTF(value);
+        });
+    }
+
+    private final int classref(final String internalName) {
+      final int name = this.utf8(internalName);
+      return this.constant("C" + internalName, out -> {
+          out.writeByte(7);
+          out.writeShort(name);
+        });
+    }
+
+    private final int nameAndType(final String name, final String descriptor) {
+      final int n = this.utf8(name);
+      final int d = this.utf8(descriptor);
+      return this.constant("N" + name + " " + descriptor, out -> {
+          out.writeByte(12);
+          out.writeShort(n);
+          out.writeShort(d);
+        });
+    }
+
+    private final int fieldref(final String owner, final String name, final String descriptor) {
+      return this.memberref(9, owner, name, descriptor);
+    }
+
+    private final int methodref(final String owner, final String name, final String descriptor) {
+      return this.memberref(10, owner, name, descriptor);
+    }
+
+    private final int interfaceMethodref(final String owner, final String name, final String descriptor) {
+      return this.memberref(11, owner, name, descriptor);
+    }
+
+    private final int memberref(final int tag, final String owner, final String name, final String descriptor) {
+      final int c = this.classref(owner);
+      final int nt = this.nameAndType(name, descriptor);
+      return this.constant(tag + owner + "." + name + " " + descriptor, out -> {
+          out.writeByte(tag);
+          out.writeShort(c);
+          out.writeShort(nt);
+        });
+    }
+
+    private final int constant(final String key, final ConstantWriter writer) {
+      Integer index = this.constants.get(key);
+      if (index == null) {
+        try {
+          writer.write(new DataOutputStream(this.constantPool));
+        } catch (final IOException ioException) {
+          throw new UncheckedIOException(ioException);
+        }
+        index = Integer.valueOf(this.constantCount++);
+        this.constants.put(key, index);
+      }
+      return index.intValue();
+    }
+
+    private final void field(final int accessFlags, final String name, final String descriptor) {
+      final DataOutputStream out = new DataOutputStream(this.fields);
+      try {
+        out.writeShort(accessFlags);
+        out.writeShort(this.utf8(name));
+        out.writeShort(this.utf8(descriptor));
+        out.writeShort(0); // attributes_count
+      } catch (final IOException ioException) {
+        throw new UncheckedIOException(ioException);
+      }
+      this.fieldCount++;
+    }
+
+    private final void method(final int accessFlags, final String name, final String descriptor, final int maxStack, final int maxLocals, final Code code) {
+      final byte[] bytecode = code.bytes.toByteArray();
+      final DataOutputStream out = new DataOutputStream(this.methods);
+      try {
+        out.writeShort(accessFlags);
+        out.writeShort(this.utf8(name));
+        out.writeShort(this.utf8(descriptor));
+        out.writeShort(1); // attributes_count
+        out.writeShort(this.codeAttributeName);
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        out.writeShort(0); // exception_table_length
+        out.writeShort(0); // attributes_count
+      } catch (final IOException ioException) {
+        throw new UncheckedIOException(ioException);
+      }
+      this.methodCount++;
+    }
+
+    private final byte[] toByteArray() {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      final DataOutputStream out = new DataOutputStream(bytes);
+      try {
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0); // minor_version
+        out.writeShort(52); // major_version
+        out.writeShort(this.constantCount);
+        this.constantPool.writeTo(out);
+        out.writeShort(0x0031); // ACC_PUBLIC | ACC_FINAL | ACC_SUPER
+        out.writeShort(this.thisClass);
+        out.writeShort(this.superClass);
+        out.writeShort(1); // interfaces_count
+        out.writeShort(this.interfaceClass);
+        out.writeShort(this.fieldCount);
+        this.fields.writeTo(out);
+        out.writeShort(this.methodCount);
+        this.methods.writeTo(out);
+        out.writeShort(0); // attributes_count
+        out.flush();
+      } catch (final IOException ioException) {
+        throw new UncheckedIOException(ioException);
+      }
+      return bytes.toByteArray();
+    }
+
+  }
+
+  @FunctionalInterface
+  private static interface ConstantWriter {
+
+    void write(final DataOutputStream out) throws IOException;
+
+  }
+
+}
@@ -0,0 +1,68 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose accessor methods should be bound to
+ * configuration properties by a class generated at compile time.
+ *
+ * <p>When the {@link
+ * org.microbean.configuration.processor.ConfigurationBindingProcessor}
+ * is named as an annotation processor (it is deliberately not
+ * discovered automatically; see its documentation), an interface {@code Server}
+ * annotated with {@code @ConfigurationBinding("server")} causes a
+ * class named {@code ServerBinder} to be generated in the same
+ * package.  Its constructor takes a {@link Configurations} and a
+ * {@link java.util.Map Map} of configuration coordinates, reads every
+ * bound property using a {@link
+ * org.microbean.configuration.spi.Converter} chosen at compile time,
+ * and stores the results in {@code final} fields.  Its {@code public
+ * static final} {@code NAMES} field lists the names of all bound
+ * properties.</p>
+ *
+ * <p>Accessors are bound to configuration properties exactly as they
+ * are by the {@link Configurations#bind(Class, String,
+ * java.util.Map)} method.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see org.microbean.configuration.processor.ConfigurationBindingProcessor
+ *
+ * @see Configurations#bind(Class, String, java.util.Map)
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ConfigurationBinding {
+
+  /**
+   * The prefix of the names of the bound configuration properties.
+   *
+   * <p>If empty, names are not prefixed.</p>
+   *
+   * @return the prefix; never {@code null}
+   */
+  String value() default "";
+
+}
@@ -18,30 +18,47 @@ package org.microbean.configuration;
 
 import java.beans.FeatureDescriptor;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
 import java.lang.reflect.Type;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import java.util.stream.Collectors;
-
 import javax.el.ELContext;
 import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
@@ -55,9 +72,13 @@ import org.microbean.configuration.api.ConfigurationValue;
 import org.microbean.configuration.api.ConversionException;
 import org.microbean.configuration.api.TypeLiteral;
 
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration;
 import org.microbean.configuration.spi.Arbiter;
 import org.microbean.configuration.spi.Configuration;
 import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.ConverterFactory;
+import org.microbean.configuration.spi.MapConfiguration;
+import org.microbean.configuration.spi.Ranked;
 
 /**
  * An implementation of the {@link
@@ -142,6 +163,18 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    */
   @SuppressWarnings("rawtypes")
   private static volatile ServiceLoader<Arbiter> arbiterLoader;
+
+  /**
+   * A {@link ServiceLoader} instance used by the {@link
+   * #loadConverterFactories()} method.
+   *
+   * <p>This field may be {@code null}.</p>
+   *
+   * @see #loadConverterFactories()
+   *
+   * @see ServiceLoader
+   */
+  private static volatile ServiceLoader<ConverterFactory> converterFactoryLoader;
   
   /**
    * The name of the configuration property whose value is a {@link
@@ -164,6 +197,33 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    */
   public static final String CONFIGURATION_COORDINATES = "configurationCoordinates";
 
+  /**
+   * The number of arbitration outcomes a {@link Configurations}
+   * will remember before it forgets them all and starts over.
+   *
+   * @see #arbitrate(Map, String, Collection)
+   */
+  private static final int ARBITRATION_MEMO_CAPACITY = 1024;
+
+  /**
+   * The number of sets of requested configuration coordinates for
+   * which a {@link Configurations} will remember {@linkplain
+   * PrunedPlans pruned plans} before it forgets them all and starts
+   * over.
+   *
+   * @see #getPrunedPlans(CoordinateIndex, Map)
+   */
+  private static final int PRUNED_PLANS_CAPACITY = 256;
+
+  /**
+   * The number of requests after which a {@link Configurations}
+   * using {@link ResolutionStrategy#ADAPTIVE_EARLY_EXIT} reorders its
+   * {@link Configuration}s.
+   *
+   * @see #adapt()
+   */
+  private static final int ADAPTATION_INTERVAL = 1024;
+
   /**
    * An {@linkplain Collections#unmodifiableMap(Map) immutable} {@link
    * Map} of "wrapper" {@link Class} instances indexed by their
@@ -222,14 +282,76 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   private final Collection<Arbiter> arbiters;
 
   /**
-   * A {@link Map} of {@link Converter} instances, indexed under
-   * {@linkplain Converter#getType() their <code>Type</code>}.
+   * A {@link ConcurrentMap} of {@link Converter} instances, indexed
+   * under {@linkplain Converter#getType() their <code>Type</code>}.
+   *
+   * <p>{@link Converter}s {@linkplain ConverterFactory#createConverter(Type,
+   * java.util.function.Function) created} on demand by the {@link
+   * #converterFactories} are added as they are created.</p>
    *
    * <p>This field is never {@code null}.</p>
    *
    * @see #Configurations(Collection, Collection, Collection)
+   *
+   * @see #getConverter(Type)
+   */
+  private final ConcurrentMap<Type, Converter<?>> converters;
+
+  /**
+   * A {@link ConcurrentMap} of {@link ConversionMemo}s, indexed under
+   * the {@link Type}s under which the {@linkplain Converter#isPure()
+   * pure} {@link Converter}s whose results they remember are stored
+   * in {@link #converters}.
+   *
+   * <p>Those {@link Type}s are not always the {@linkplain
+   * Converter#getType() <code>Type</code>s the <code>Converter</code>s
+   * report}: a {@link Converter} synthesized by a {@link
+   * ConverterFactory} reports only what its class declares, such as
+   * {@code Collection<?>} for all {@link Collection}s.</p>
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #convert(Type, Converter, String)
+   */
+  private final ConcurrentMap<Type, ConversionMemo<?>> conversionMemos;
+
+  /**
+   * Whether the class of this {@link Configurations} overrides {@link
+   * #getValue(Map, String, Converter, String)}, in which case {@link
+   * #getValue(Map, String, Type, String)} must call it rather than
+   * resolving values itself.
+   *
+   * @see #getValue(Map, String, Type, String)
+   */
+  private final boolean getValueOverridden;
+
+  /**
+   * A {@link Collection} of {@link ConverterFactory} instances
+   * consulted, in order, for {@link Type}s that have no {@link
+   * Converter} in {@link #converters}.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #loadConverterFactories()
+   */
+  private final Collection<ConverterFactory> converterFactories;
+
+  /**
+   * The {@link ConverterIndex} recording the {@link Converter}s that
+   * have not yet been loaded into {@link #converters}, or {@code
+   * null} if all {@link Converter}s were loaded during construction.
+   *
+   * @see #getConverter(Type)
    */
-  private final Map<Type, Converter<?>> converters;
+  private final ConverterIndex converterIndex;
+
+  /**
+   * Whether every {@link Converter} recorded by the {@link
+   * #converterIndex} has been loaded into {@link #converters}.
+   *
+   * @see #getConversionTypes()
+   */
+  private volatile boolean converterIndexLoaded;
 
   /**
    * A {@link Map} representing the <em>configuration coordinates</em>
@@ -256,6 +378,157 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    */
   private final ExpressionFactory expressionFactory;
 
+  /**
+   * The {@link InvalidationListener}s that will be notified by the
+   * {@link #invalidate(Configuration, Set)} method.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #addInvalidationListener(InvalidationListener)
+   *
+   * @see #removeInvalidationListener(InvalidationListener)
+   */
+  private final Collection<InvalidationListener> invalidationListeners;
+
+  /**
+   * The {@link ReferenceQueue} with which the objects {@linkplain
+   * #bind(Class, String, Map) bound} by this {@link Configurations}
+   * are registered, so that the {@link BindingInvalidationListener}s
+   * refreshing those that have been garbage collected can be
+   * unregistered.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #expungeBindings()
+   */
+  private final ReferenceQueue<Object> boundObjects;
+
+  /**
+   * The {@link Configurations} from which this {@link Configurations}
+   * was {@linkplain #withOverrides(Collection) derived}, or {@code
+   * null} if it was not derived.
+   *
+   * @see #Configurations(Configurations, Collection)
+   */
+  private final Configurations parent;
+
+  /**
+   * The {@link InvalidationListener} registered with the {@link
+   * #parent} so that {@linkplain #invalidate(Configuration, Set)
+   * invalidations} reported to it reach the {@link
+   * InvalidationListener}s registered with this {@link
+   * Configurations}, or {@code null} if none is needed.
+   *
+   * <p>This field is only accessed while the monitor of {@link
+   * #invalidationListeners} is held.</p>
+   *
+   * @see #addInvalidationListener(InvalidationListener)
+   *
+   * @see #removeInvalidationListener(InvalidationListener)
+   */
+  private InvalidationListener parentInvalidationListener;
+
+  /**
+   * Remembered {@linkplain #performArbitration(Map, String,
+   * Collection) arbitration} outcomes.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #arbitrate(Map, String, Collection)
+   */
+  private final ConcurrentMap<ArbitrationKey, ConfigurationValue> arbitrationMemo;
+
+  /**
+   * The number of times the {@link #invalidate(Configuration, Set)}
+   * method has been told that any value of a {@link Configuration}
+   * may have changed.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see Bound
+   *
+   * @see #getCoordinateIndex()
+   */
+  private final AtomicLong reloads;
+
+  /**
+   * The {@link CoordinateIndex} built from the {@linkplain
+   * Configuration#getCoordinateSets() coordinate sets} the {@link
+   * Configuration}s declare, or {@code null} if it has not yet been
+   * built.
+   *
+   * @see #getCoordinateIndex()
+   */
+  private volatile CoordinateIndex coordinateIndex;
+
+  /**
+   * {@link PrunedPlans} remembered for sets of requested
+   * configuration coordinates.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #getPrunedPlans(CoordinateIndex, Map)
+   */
+  private final ConcurrentMap<Map<String, String>, PrunedPlans> prunedPlans;
+
+  /**
+   * The {@link ResolutionStrategy} in effect.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #getResolutionStrategy()
+   */
+  private final ResolutionStrategy resolutionStrategy;
+
+  /**
+   * The {@link ResolutionPlan} that the {@link #getValue(Map, String,
+   * Converter, String)} method follows.
+   *
+   * <p>This field is never {@code null} after construction.  It is
+   * replaced only under {@link
+   * ResolutionStrategy#ADAPTIVE_EARLY_EXIT}.</p>
+   *
+   * @see #adapt()
+   */
+  private volatile ResolutionPlan plan;
+
+  /**
+   * {@link ResolutionPlan}s for layers of overriding {@link
+   * Configuration}s, newest first, consulted before {@link #plan}.
+   *
+   * <p>This field is never {@code null}.  It is empty unless this
+   * {@link Configurations} was {@linkplain
+   * #withOverrides(Collection) derived} from another.</p>
+   */
+  private final ResolutionPlan[] overridePlans;
+
+  /**
+   * Counts of the selected {@link ConfigurationValue}s supplied by
+   * each {@link Configuration}, indexed by {@link
+   * ResolutionPlan#sources}, or {@code null} if the {@link
+   * ResolutionStrategy} in effect is not {@link
+   * ResolutionStrategy#ADAPTIVE_EARLY_EXIT}.
+   *
+   * @see #adapt()
+   */
+  private final LongAdder[] hits;
+
+  /**
+   * A count of the requests that have updated {@link #hits}, or
+   * {@code null} if {@link #hits} is {@code null}.
+   *
+   * @see #ADAPTATION_INTERVAL
+   */
+  private final AtomicLong requests;
+
+  /**
+   * A {@link Lock} ensuring only one {@link Thread} at a time
+   * {@linkplain #adapt() reorders} the {@link Configuration}s.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Lock adaptationLock;
+
 
   /*
    * Constructors.
@@ -332,12 +605,68 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    * @see #loadConverters()
    *
    * @see #loadArbiters()
+   *
+   * @see #Configurations(Collection, Collection, Collection,
+   * ResolutionStrategy)
+   */
+  public Configurations(final Collection<? extends Configuration> configurations,
+                        final Collection<? extends Converter<?>> converters,
+                        final Collection<? extends Arbiter> arbiters) {
+    this(configurations, converters, arbiters, ResolutionStrategy.EXHAUSTIVE);
+  }
+
+  /**
+   * Creates a new {@link Configurations}.
+   *
+   * <p>The {@link #loadConverters()} and {@link #loadArbiters()}
+   * methods will be invoked during construction.  IF the supplied
+   * {@code configurations} is {@code null}, then the {@link
+   * #loadConfigurations()} method will be invoked during
+   * construction.</p>
+   *
+   * @param configurations a {@link Collection} of {@link
+   * Configuration} instances; if {@code null} then the return value
+   * of the {@link #loadConfigurations()} method will be used instead
+   *
+   * @param converters a {@link Collection} of {@link Converter}
+   * instances; if {@code null} then the return value of the {@link
+   * #loadConverters()} method will be used instead
+   *
+   * @param arbiters a {@link Collection} of {@link Arbiter}
+   * instances; if {@code null} then the return value of the {@link
+   * #loadArbiters()} method will be used instead
+   *
+   * @param resolutionStrategy the {@link ResolutionStrategy} that
+   * the {@link #getValue(Map, String, Converter, String)} method will
+   * use; if {@code null} then {@link ResolutionStrategy#EXHAUSTIVE}
+   * will be used instead
+   *
+   * @exception IllegalStateException if more than one {@link
+   * Converter} converts to the same {@link Type}
+   *
+   * @see #loadConfigurations()
+   *
+   * @see #loadConverters()
+   *
+   * @see #loadArbiters()
+   *
+   * @see ResolutionStrategy
    */
   public Configurations(Collection<? extends Configuration> configurations,
                         Collection<? extends Converter<?>> converters,
-                        Collection<? extends Arbiter> arbiters) {
+                        Collection<? extends Arbiter> arbiters,
+                        final ResolutionStrategy resolutionStrategy) {
     super();
 
+    this.resolutionStrategy = resolutionStrategy == null ? ResolutionStrategy.EXHAUSTIVE : resolutionStrategy;
+
+    this.invalidationListeners = new CopyOnWriteArrayList<>();
+    this.boundObjects = new ReferenceQueue<>();
+    this.parent = null;
+    this.arbitrationMemo = new ConcurrentHashMap<>();
+    this.reloads = new AtomicLong();
+    this.prunedPlans = new ConcurrentHashMap<>();
+
     this.expressionFactory = ExpressionFactory.newInstance();
     assert this.expressionFactory != null;
     final StandardELContext standardElContext = new StandardELContext(this.expressionFactory);
@@ -349,6 +678,12 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     }
     if (configurations == null || configurations.isEmpty()) {
       this.configurations = Collections.emptySet();
+    } else if (this.resolutionStrategy != ResolutionStrategy.EXHAUSTIVE) {
+      final List<Configuration> rankedConfigurations = new ArrayList<>(configurations);
+      // List#sort is stable, so equally ranked and unranked
+      // Configurations keep their relative order.
+      rankedConfigurations.sort(Comparator.comparingInt(Configurations::getRank).reversed());
+      this.configurations = Collections.unmodifiableCollection(rankedConfigurations);
     } else {
       this.configurations = Collections.unmodifiableCollection(new LinkedList<>(configurations));
     }
@@ -357,17 +692,60 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
         configuration.setConfigurations(this);
       }
     }
+    this.plan = new ResolutionPlan(this.configurations.toArray(new Configuration[this.configurations.size()]));
+    this.overridePlans = new ResolutionPlan[0];
+    if (this.resolutionStrategy == ResolutionStrategy.ADAPTIVE_EARLY_EXIT) {
+      this.hits = new LongAdder[this.plan.configurations.length];
+      for (int i = 0; i < this.hits.length; i++) {
+        this.hits[i] = new LongAdder();
+      }
+      this.requests = new AtomicLong();
+    } else {
+      this.hits = null;
+      this.requests = null;
+    }
+    this.adaptationLock = new ReentrantLock();
 
-    if (converters == null) {
-      converters = this.loadConverters();
+    if (converters == null && !this.overrides("loadConverters")) {
+      // Defer loading each indexed Converter until its Type is
+      // requested; see #getConverter(Type).
+      this.converterIndex = ConverterIndex.get();
+      this.converters = new ConcurrentHashMap<>();
+      for (final String className : this.converterIndex.getUnindexedClassNames()) {
+        final Converter<?> converter = this.converterIndex.newConverter(className);
+        final Type type = converter.getType();
+        final String indexedClassName = this.converterIndex.getClassName(type);
+        if (indexedClassName != null) {
+          throw new IllegalStateException("Duplicate Converters for " + type.getTypeName() + ": " + indexedClassName + ", " + className);
+        }
+        putUniqueConverter(this.converters, type, converter);
+      }
+    } else {
+      if (converters == null) {
+        converters = this.loadConverters();
+      }
+      if (converters == null || converters.isEmpty()) {
+        converters = Collections.emptySet();
+      } else {
+        converters = Collections.unmodifiableCollection(new LinkedList<>(converters));
+      }
+      assert converters != null;
+      this.converterIndex = null;
+      this.converters = new ConcurrentHashMap<>();
+      for (final Converter<?> converter : converters) {
+        putUniqueConverter(this.converters, converter.getType(), converter);
+      }
     }
-    if (converters == null || converters.isEmpty()) {
-      converters = Collections.emptySet();
+
+    this.conversionMemos = new ConcurrentHashMap<>();
+    this.getValueOverridden = this.overrides("getValue", Map.class, String.class, Converter.class, String.class);
+
+    final Collection<? extends ConverterFactory> converterFactories = this.loadConverterFactories();
+    if (converterFactories == null || converterFactories.isEmpty()) {
+      this.converterFactories = Collections.emptySet();
     } else {
-      converters = Collections.unmodifiableCollection(new LinkedList<>(converters));
+      this.converterFactories = Collections.unmodifiableCollection(new LinkedList<>(converterFactories));
     }
-    assert converters != null;
-    this.converters = Collections.unmodifiableMap(converters.stream().collect(Collectors.toMap(c -> c.getType(), Function.identity())));
 
     if (arbiters == null) {
       arbiters = this.loadArbiters();
@@ -391,6 +769,71 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   }
 
 
+  /**
+   * Creates a new {@link Configurations} that consults the supplied
+   * {@link Configuration}s before those of the supplied {@link
+   * Configurations}, and otherwise shares its state.
+   *
+   * @param parent the {@link Configurations} to derive from; must not
+   * be {@code null}
+   *
+   * @param overrides the overriding {@link Configuration}s; must not
+   * be {@code null} or empty
+   *
+   * @see #withOverrides(Collection)
+   */
+  private Configurations(final Configurations parent, final Collection<? extends Configuration> overrides) {
+    super();
+    this.resolutionStrategy = parent.resolutionStrategy;
+    // Derived Configurations keep their own listeners, chained to
+    // their parents' only while they have any, so that a discarded
+    // derived Configurations does not linger in its parent.
+    this.invalidationListeners = new CopyOnWriteArrayList<>();
+    this.boundObjects = new ReferenceQueue<>();
+    this.parent = parent;
+    this.arbitrationMemo = parent.arbitrationMemo;
+    this.reloads = parent.reloads;
+    this.prunedPlans = new ConcurrentHashMap<>();
+    this.expressionFactory = parent.expressionFactory;
+    final StandardELContext standardElContext = new StandardELContext(this.expressionFactory);
+    standardElContext.addELResolver(new ConfigurationELResolver());
+    this.elContext = standardElContext;
+
+    final List<Configuration> layer = new ArrayList<>(overrides.size());
+    for (final Configuration configuration : overrides) {
+      if (configuration != null) {
+        layer.add(configuration);
+      }
+    }
+    if (this.resolutionStrategy != ResolutionStrategy.EXHAUSTIVE) {
+      layer.sort(Comparator.comparingInt(Configurations::getRank).reversed());
+    }
+    for (final Configuration configuration : layer) {
+      configuration.setConfigurations(this);
+    }
+    final Collection<Configuration> configurations = new ArrayList<>(layer);
+    configurations.addAll(parent.configurations);
+    this.configurations = Collections.unmodifiableCollection(configurations);
+    this.overridePlans = new ResolutionPlan[parent.overridePlans.length + 1];
+    this.overridePlans[0] = new ResolutionPlan(layer.toArray(new Configuration[layer.size()]));
+    System.arraycopy(parent.overridePlans, 0, this.overridePlans, 1, parent.overridePlans.length);
+    this.plan = parent.plan;
+    // Derived Configurations are typically short-lived, so they
+    // leave adaptation to their parents.
+    this.hits = null;
+    this.requests = null;
+    this.adaptationLock = parent.adaptationLock;
+    this.converterIndex = parent.converterIndex;
+    this.converters = parent.converters;
+    this.conversionMemos = parent.conversionMemos;
+    this.getValueOverridden = this.overrides("getValue", Map.class, String.class, Converter.class, String.class);
+    this.converterFactories = parent.converterFactories;
+    this.arbiters = parent.arbiters;
+    this.configurationCoordinates = parent.configurationCoordinates;
+    this.initialized = true;
+  }
+
+
   /*
    * Instance methods.
    */
@@ -450,6 +893,15 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    * <p>The default implementation of this method uses the {@link
    * ServiceLoader} mechanism to load {@link Converter} instances.</p>
    *
+   * <p>Unless this method is overridden, the constructors of this
+   * class do not actually invoke it.  Instead, {@link Converter}s
+   * whose target {@link Type}s are recorded in {@code
+   * META-INF/microbean-configuration/converter-index.properties}
+   * resources are loaded and instantiated only when their {@link
+   * Type}s are first requested, and only the remainder are
+   * instantiated during construction.  The effect is otherwise the
+   * same.</p>
+   *
    * @return a non-{@code null}, {@link Collection} of {@link
    * Converter} instances
    *
@@ -483,6 +935,51 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     return returnValue;
   }
 
+  /**
+   * Loads a {@link Collection} of {@link ConverterFactory} objects
+   * and returns it.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Overrides of this method must not return {@code null}.</p>
+   *
+   * <p>The default implementation of this method uses the {@link
+   * ServiceLoader} mechanism to load {@link ConverterFactory}
+   * instances.</p>
+   *
+   * @return a non-{@code null}, {@link Collection} of {@link
+   * ConverterFactory} instances
+   *
+   * @see ServiceLoader#load(Class)
+   *
+   * @see ConverterFactory
+   */
+  protected Collection<? extends ConverterFactory> loadConverterFactories() {
+    final String cn = this.getClass().getName();
+    final String mn = "loadConverterFactories";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn);
+    }
+    final Collection<ConverterFactory> returnValue = new LinkedList<>();
+    ServiceLoader<ConverterFactory> converterFactoryLoader = Configurations.converterFactoryLoader;
+    if (converterFactoryLoader == null) {
+      converterFactoryLoader = ServiceLoader.load(ConverterFactory.class);
+      assert converterFactoryLoader != null;
+      Configurations.converterFactoryLoader = converterFactoryLoader;
+    }
+    final Iterator<ConverterFactory> converterFactoryIterator = converterFactoryLoader.iterator();
+    assert converterFactoryIterator != null;
+    while (converterFactoryIterator.hasNext()) {
+      final ConverterFactory converterFactory = converterFactoryIterator.next();
+      assert converterFactory != null;
+      returnValue.add(converterFactory);
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
   /**
    * Loads a {@link Collection} of {@link Arbiter} objects and returns
    * it.
@@ -548,13 +1045,152 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     return this.configurationCoordinates;
   }
 
+  /**
+   * Returns the {@link ResolutionStrategy} in effect for this {@link
+   * Configurations}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the non-{@code null} {@link ResolutionStrategy} in effect
+   *
+   * @see #Configurations(Collection, Collection, Collection,
+   * ResolutionStrategy)
+   */
+  public final ResolutionStrategy getResolutionStrategy() {
+    return this.resolutionStrategy;
+  }
+
+  /**
+   * Returns a new {@link Configurations} that serves the values in
+   * the supplied {@link Map} in preference to those this {@link
+   * Configurations} would serve, and otherwise behaves like it.
+   *
+   * <p>This method is equivalent to calling {@link
+   * #withOverrides(Collection)} with a single {@link
+   * MapConfiguration} built from {@code overrides}.  See that method
+   * for details.</p>
+   *
+   * @param overrides a {@link Map} of configuration property names
+   * and the values that should override theirs; may be {@code null};
+   * copied
+   *
+   * @return a non-{@code null} {@link Configurations}
+   *
+   * @see #withOverrides(Collection)
+   *
+   * @see MapConfiguration
+   */
+  public final Configurations withOverrides(final Map<String, String> overrides) {
+    final Configurations returnValue;
+    if (overrides == null || overrides.isEmpty()) {
+      returnValue = this;
+    } else {
+      returnValue = this.withOverrides(Collections.singleton(new MapConfiguration(overrides)));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a new {@link Configurations} that consults the supplied
+   * {@link Configuration}s before those of this {@link
+   * Configurations}, and otherwise behaves like it.
+   *
+   * <p>If any of the supplied {@link Configuration}s yields a value
+   * for a configuration property, the most suitable such value is
+   * used and this {@link Configurations}' own {@link Configuration}s
+   * are not consulted.  Overrides may be layered by calling this
+   * method on the {@link Configurations} it returns; later layers
+   * take precedence over earlier ones.</p>
+   *
+   * <p>The returned {@link Configurations} is cheap to create.  It
+   * shares with this {@link Configurations} its {@link
+   * Configuration}s, {@link Converter}s, {@link Arbiter}s,
+   * {@linkplain #getConfigurationCoordinates() configuration
+   * coordinates}, remembered {@linkplain #performArbitration(Map,
+   * String, Collection) arbitration} outcomes and {@linkplain
+   * #addInvalidationListener(InvalidationListener)
+   * <code>InvalidationListener</code>s}.  Nothing is loaded, and the
+   * configuration coordinates are not looked up again, even if the
+   * supplied {@link Configuration}s would change them.  The returned
+   * {@link Configurations} is always an instance of this class, not
+   * of any subclass, so overrides of its methods are not
+   * inherited.</p>
+   *
+   * @param overrides a {@link Collection} of overriding {@link
+   * Configuration}s; may be {@code null}
+   *
+   * @return a non-{@code null} {@link Configurations}; this {@link
+   * Configurations} if {@code overrides} is {@code null} or empty
+   *
+   * @see #withOverrides(Map)
+   */
+  public final Configurations withOverrides(final Collection<? extends Configuration> overrides) {
+    this.checkState();
+    final Configurations returnValue;
+    if (overrides == null || overrides.isEmpty()) {
+      returnValue = this;
+    } else {
+      returnValue = new Configurations(this, overrides);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Bound} that selects values for the supplied
+   * configuration coordinates from the {@link Configuration}s of this
+   * {@link Configurations}.
+   *
+   * <p>The supplied coordinates are copied once.  The {@link
+   * Configuration}s that cannot supply values for them are worked out
+   * once too, and are not consulted by the returned {@link Bound}
+   * until a {@link Configuration} next {@linkplain
+   * #invalidate(Configuration, Set) reports} that any of its values
+   * may have changed.  A {@link Configuration} is known not to be
+   * able to supply values for the coordinates if none of the
+   * {@linkplain Configuration#getCoordinateSets() coordinate sets it
+   * declares} is a subset of them, or, if it declares none, if it is
+   * an {@link AbstractResourceLoadingConfiguration} whose {@linkplain
+   * AbstractResourceLoadingConfiguration#getResource(Map) resource}
+   * for them is absent or has {@linkplain
+   * AbstractResourceLoadingConfiguration.Resource#getCoordinates()
+   * coordinates} of which they are not a superset.</p>
+   *
+   * <p>Values selected by the returned {@link Bound} are the same as
+   * those selected by the {@link #getValue(Map, String, Converter,
+   * String)} method as implemented by this class; overrides of that
+   * method are not consulted.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates;
+   * may be {@code null} in which case the {@linkplain
+   * #getConfigurationCoordinates() configuration coordinates of this
+   * <code>Configurations</code>} will be used
+   *
+   * @return a non-{@code null} {@link Bound}
+   *
+   * @see Bound
+   */
+  public final Bound forCoordinates(Map<String, String> configurationCoordinates) {
+    this.checkState();
+    if (configurationCoordinates == null) {
+      configurationCoordinates = this.getConfigurationCoordinates();
+    }
+    final Map<String, String> coordinates;
+    if (configurationCoordinates == null || configurationCoordinates.isEmpty()) {
+      coordinates = Collections.emptyMap();
+    } else {
+      coordinates = Collections.unmodifiableMap(new TreeMap<>(configurationCoordinates));
+    }
+    return new Bound(this, coordinates);
+  }
+
   /**
    * Returns a non-{@code null}, {@linkplain
    * Collections#unmodifiableSet(Set) immutable} {@link Set} of {@link
    * Type}s representing all the types to which {@link String}
    * configuration values may be converted by the {@linkplain
    * #loadConverters() <code>Converter</code>s loaded} by this {@link
-   * Configurations} object.
+   * Configurations} object, together with those {@linkplain
+   * #loadConverterFactories() synthesized} for it so far.
    *
    * <p>This method never returns {@code null}.</p>
    *
@@ -565,7 +1201,95 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   @Override
   public final Set<Type> getConversionTypes() {
     this.checkState();
-    return this.converters.keySet();
+    if (this.converterIndex != null && !this.converterIndexLoaded) {
+      for (final String className : this.converterIndex.getIndexedClassNames()) {
+        final Converter<?> converter = this.converterIndex.newConverter(className);
+        this.converters.putIfAbsent(converter.getType(), converter);
+      }
+      this.converterIndexLoaded = true;
+    }
+    return Collections.unmodifiableSet(this.converters.keySet());
+  }
+
+  /**
+   * Returns a {@link Converter} capable of converting {@link String}s
+   * into objects of the supplied {@link Type}, or {@code null} if
+   * there is none.
+   *
+   * <p>If no {@link Converter} has been registered for the supplied
+   * {@link Type}, the {@linkplain #loadConverterFactories()
+   * <code>ConverterFactory</code> instances} are consulted in order,
+   * and the first {@link Converter} one of them creates is
+   * remembered for all subsequent requests.</p>
+   *
+   * @param type the {@link Type} in question; may be {@code null} in
+   * which case {@code null} will be returned
+   *
+   * @return a {@link Converter}, or {@code null}
+   *
+   * @see ConverterFactory#createConverter(Type,
+   * java.util.function.Function)
+   */
+  private final Converter<?> getConverter(final Type type) {
+    Converter<?> returnValue = null;
+    if (type != null) {
+      returnValue = this.converters.get(type);
+      if (returnValue == null && this.converterIndex != null) {
+        final String className = this.converterIndex.getClassName(type);
+        if (className != null) {
+          final Converter<?> converter = this.converterIndex.newConverter(className);
+          returnValue = this.converters.putIfAbsent(type, converter);
+          if (returnValue == null) {
+            returnValue = converter;
+          }
+        }
+      }
+      if (returnValue == null) {
+        // Factories may recursively look up the Converters for a
+        // Type's components, so this cannot be done inside
+        // ConcurrentMap#computeIfAbsent(Object, Function).
+        for (final ConverterFactory converterFactory : this.converterFactories) {
+          final Converter<?> converter = converterFactory.createConverter(type, this::getConverter);
+          if (converter != null) {
+            returnValue = this.converters.putIfAbsent(type, converter);
+            if (returnValue == null) {
+              returnValue = converter;
+            }
+            break;
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Converter} that can convert {@link String}s into
+   * objects of the supplied {@link Type}, or of its wrapper type if
+   * it is primitive.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param <T> the type of object the returned {@link Converter}
+   * produces
+   *
+   * @param type the {@link Type}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Converter}
+   *
+   * @exception NoSuchConverterException if there is no suitable
+   * {@link Converter}
+   *
+   * @see #getConverter(Type)
+   */
+  private final <T> Converter<T> getRequiredConverter(Type type) {
+    type = conversionType(type);
+    @SuppressWarnings("unchecked")
+    final Converter<T> returnValue = (Converter<T>)this.getConverter(type);
+    if (returnValue == null) {
+      throw new NoSuchConverterException(type);
+    }
+    return returnValue;
   }
 
   /**
@@ -619,27 +1343,22 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    * @see #getValue(Map, String, Converter, String)
    */
   @Override
-  public final <T> T getValue(final Map<String, String> configurationCoordinates, final String name, Type type, final String defaultValue) {
+  public final <T> T getValue(final Map<String, String> configurationCoordinates, final String name, final Type type, final String defaultValue) {
     final String cn = this.getClass().getName();
     final String mn = "getValue";
     if (this.logger.isLoggable(Level.FINER)) {
       this.logger.entering(cn, mn, new Object[] { configurationCoordinates, name, type, defaultValue });
     }
-    if (type instanceof Class) {
-      final Class<?> c = (Class<?>)type;
-      if (c.isPrimitive()) {
-        type = wrapperTypes.get(c);
-      }
-    }
-    @SuppressWarnings("unchecked")
-    final Converter<T> converter = (Converter<T>)this.converters.get(type);
-    if (converter == null) {
-      throw new NoSuchConverterException(type);
-    }
+    final Converter<T> converter = this.getRequiredConverter(type);
     if (this.logger.isLoggable(Level.FINE)) {
       this.logger.logp(Level.FINE, cn, mn, "Using {0} to convert String to {1}", new Object[] { converter, type });
     }
-    final T returnValue = this.getValue(configurationCoordinates, name, converter, defaultValue);
+    final T returnValue;
+    if (this.getValueOverridden) {
+      returnValue = this.getValue(configurationCoordinates, name, converter, defaultValue);
+    } else {
+      returnValue = this.getValue(configurationCoordinates, name, conversionType(type), converter, defaultValue);
+    }
     if (this.logger.isLoggable(Level.FINER)) {
       this.logger.exiting(cn, mn, returnValue);
     }
@@ -736,6 +1455,11 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    *
    * <p>This method may return {@code null}.</p>
    *
+   * <p>{@link Configuration}s none of whose {@linkplain
+   * Configuration#getCoordinateSets() declared coordinate sets} is a
+   * subset of the supplied {@code configurationCoordinates} are not
+   * consulted.</p>
+   *
    * @param <T> the type of the object to be returned
    *
    * @param configurationCoordinates the configuration coordinates for which
@@ -777,7 +1501,38 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    *
    * @see #handleMalformedConfigurationValues(Collection)
    */
-  public <T> T getValue(Map<String, String> configurationCoordinates, final String name, final Converter<T> converter, final String defaultValue) {
+  public <T> T getValue(final Map<String, String> configurationCoordinates, final String name, final Converter<T> converter, final String defaultValue) {
+    return this.getValue(configurationCoordinates, name, Objects.requireNonNull(converter).getType(), converter, defaultValue);
+  }
+
+  /**
+   * Implements {@link #getValue(Map, String, Converter, String)} for
+   * a {@link Converter} that may be stored in {@link #converters}
+   * under the supplied {@link Type}.
+   *
+   * @param <T> the type of the object to be returned
+   *
+   * @param configurationCoordinates the configuration coordinates for which
+   * a value should be selected; may be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param type the {@link Type} under which the supplied {@link
+   * Converter} may be stored in {@link #converters}; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} to use; must not be {@code
+   * null}
+   *
+   * @param defaultValue the fallback default value; may be {@code
+   * null}
+   *
+   * @return the value for the implied configuration property, or {@code null}
+   *
+   * @see #getValue(Map, String, Converter, String)
+   */
+  private final <T> T getValue(Map<String, String> configurationCoordinates, final String name, final Type type, final Converter<T> converter, final String defaultValue) {
     final String cn = this.getClass().getName();
     final String mn = "getValue";
     if (this.logger.isLoggable(Level.FINER)) {
@@ -786,10 +1541,241 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     Objects.requireNonNull(name);
     Objects.requireNonNull(converter);
     this.checkState();
+    this.expungeBindings();
     if (configurationCoordinates == null) {
       configurationCoordinates = Collections.emptyMap();
     }
+    final CoordinateIndex coordinateIndex = this.getCoordinateIndex();
+    final T returnValue;
+    if (coordinateIndex.isEmpty()) {
+      returnValue = this.resolve(configurationCoordinates, name, type, converter, defaultValue, this.overridePlans, this.plan);
+    } else {
+      // Skip Configurations that have declared they cannot supply
+      // values for these coordinates.
+      final PrunedPlans plans = this.getPrunedPlans(coordinateIndex, configurationCoordinates);
+      returnValue = this.resolve(configurationCoordinates, name, type, converter, defaultValue, plans.overridePlans, plans.plan);
+    }
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Selects a value for the configuration property identified by the
+   * supplied {@code name} by following the supplied {@link
+   * ResolutionPlan}s, and converts it, or the supplied {@code
+   * defaultValue} if no value was selected, using the supplied {@link
+   * Converter}.
+   *
+   * @param <T> the type of the object to be returned
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param type the {@link Type} under which the supplied {@link
+   * Converter} may be stored in {@link #converters}; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} to use; must not be {@code
+   * null}
+   *
+   * @param defaultValue the fallback default value; may be {@code
+   * null}
+   *
+   * @param overridePlans {@link ResolutionPlan}s for layers of
+   * overriding {@link Configuration}s, newest first; must not be
+   * {@code null}
+   *
+   * @param plan the {@link ResolutionPlan} to follow when no
+   * overriding {@link Configuration} supplies a value; must not be
+   * {@code null}
+   *
+   * @return the converted value, or {@code null}
+   *
+   * @see #getValue(Map, String, Converter, String)
+   *
+   * @see Bound#getValue(String, Converter, String)
+   */
+  private final <T> T resolve(final Map<String, String> configurationCoordinates,
+                              final String name,
+                              final Type type,
+                              final Converter<T> converter,
+                              final String defaultValue,
+                              final ResolutionPlan[] overridePlans,
+                              final ResolutionPlan plan) {
+    // Overriding Configurations are consulted first, newest layer
+    // first, and the value a layer yields, if any, wins outright.
+    ConfigurationValue overrideValue = null;
+    for (int i = 0; overrideValue == null && i < overridePlans.length; i++) {
+      overrideValue = this.select(configurationCoordinates, name, overridePlans[i], null, false);
+    }
+    final ConfigurationValue selectedValue;
+    if (overrideValue == null) {
+      final LongAdder[] hits = this.hits;
+      selectedValue = this.select(configurationCoordinates, name, plan, hits, true);
+      if (hits != null && this.requests.incrementAndGet() % ADAPTATION_INTERVAL == 0) {
+        this.adapt();
+      }
+    } else {
+      selectedValue = overrideValue;
+    }
+
+    // Perform conversion, including of null values.
+    final T returnValue;
+    if (selectedValue == null) {
+      if (defaultValue == null) {
+        returnValue = converter.convert(null);
+      } else {
+        returnValue = this.convert(type, converter, this.interpolate(defaultValue));
+      }
+    } else {
+      final String valueToConvert = selectedValue.getValue();
+      if (valueToConvert == null) {
+        returnValue = converter.convert(null);
+      } else {
+        returnValue = this.convert(type, converter, this.interpolate(valueToConvert));
+      }
+    }
+
+    return returnValue;
+  }
+
+  /**
+   * Converts the supplied {@code value} using the supplied {@link
+   * Converter}, consulting the {@link ConversionMemo} kept for it if
+   * it is a {@linkplain Converter#isPure() pure} {@link Converter}
+   * registered with this {@link Configurations}.
+   *
+   * <p>{@link Converter}s supplied by callers but not registered with
+   * this {@link Configurations} are invoked directly, so that their
+   * results are not remembered indefinitely on their behalf.</p>
+   *
+   * @param <T> the type of {@link Object} to which the supplied
+   * {@link Converter} converts
+   *
+   * @param type the {@link Type} under which the supplied {@link
+   * Converter} may be stored in {@link #converters}; must not be
+   * {@code null}
+   *
+   * @param converter the {@link Converter} to use; must not be {@code
+   * null}
+   *
+   * @param value the value to convert; may be {@code null}
+   *
+   * @return the converted value, which may be {@code null}
+   *
+   * @see ConversionMemo
+   */
+  private final <T> T convert(final Type type, final Converter<T> converter, final String value) {
+    final T returnValue;
+    if (value != null && converter.isPure()) {
+      ConversionMemo<?> memo = this.conversionMemos.get(type);
+      if (memo == null && this.converters.get(type) == converter) {
+        memo = this.conversionMemos.computeIfAbsent(type, t -> new ConversionMemo<>(converter));
+      }
+      if (memo != null && memo.getConverter() == converter) {
+        @SuppressWarnings("unchecked")
+        final ConversionMemo<T> typedMemo = (ConversionMemo<T>)memo;
+        returnValue = typedMemo.convert(value);
+      } else {
+        returnValue = converter.convert(value);
+      }
+    } else {
+      returnValue = converter.convert(value);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the {@link CoordinateIndex} built from the {@linkplain
+   * Configuration#getCoordinateSets() coordinate sets} declared by
+   * this {@link Configurations}' {@link Configuration}s, building it
+   * again if any of them has {@linkplain #invalidate(Configuration,
+   * Set) reported} that any of its values may have changed since it
+   * was last built.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link CoordinateIndex}
+   */
+  private final CoordinateIndex getCoordinateIndex() {
+    CoordinateIndex returnValue = this.coordinateIndex;
+    final long reloads = this.reloads.get();
+    if (returnValue == null || returnValue.reloads != reloads) {
+      returnValue = new CoordinateIndex(reloads, this.configurations);
+      this.coordinateIndex = returnValue;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns {@link PrunedPlans} for the supplied requested
+   * configuration coordinates, remembering them for next time.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param coordinateIndex the current {@link CoordinateIndex}; must
+   * not be {@code null}
+   *
+   * @param configurationCoordinates the requested configuration
+   * coordinates; must not be {@code null}
+   *
+   * @return non-{@code null} {@link PrunedPlans}
+   *
+   * @see #getCoordinateIndex()
+   */
+  private final PrunedPlans getPrunedPlans(final CoordinateIndex coordinateIndex, final Map<String, String> configurationCoordinates) {
+    PrunedPlans returnValue = this.prunedPlans.get(configurationCoordinates);
+    if (returnValue == null || returnValue.coordinateIndex != coordinateIndex) {
+      returnValue = new PrunedPlans(this, coordinateIndex, configurationCoordinates, false);
+      if (this.prunedPlans.size() >= PRUNED_PLANS_CAPACITY) {
+        this.prunedPlans.clear();
+      }
+      this.prunedPlans.put(new HashMap<>(configurationCoordinates), returnValue);
+    } else if (returnValue.basePlan != this.plan) {
+      returnValue = new PrunedPlans(returnValue, this.plan);
+      this.prunedPlans.put(new HashMap<>(configurationCoordinates), returnValue);
+    }
+    return returnValue;
+  }
 
+  /**
+   * Consults the {@link Configuration}s in the supplied {@link
+   * ResolutionPlan} for a value for the configuration property
+   * identified by the supplied {@code name}, and returns the most
+   * suitable one, {@linkplain #arbitrate(Map, String, Collection)
+   * arbitrating} if necessary.
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect; must not be {@code null}
+   *
+   * @param name the name of the configuration property; must not be
+   * {@code null}
+   *
+   * @param plan the {@link ResolutionPlan} to follow; must not be
+   * {@code null}
+   *
+   * @param hits counts of the selected values supplied by each
+   * {@link Configuration}, indexed by {@link ResolutionPlan#sources},
+   * one of which is to be incremented if the selected value was
+   * supplied by a {@link Configuration}; may be {@code null}
+   *
+   * @param arbitrateMisses whether {@linkplain
+   * #performArbitration(Map, String, Collection) arbitration} should
+   * be given the chance to supply a value when no {@link
+   * Configuration} does
+   *
+   * @return the selected {@link ConfigurationValue}, or {@code null}
+   */
+  private final ConfigurationValue select(final Map<String, String> configurationCoordinates,
+                                          final String name,
+                                          final ResolutionPlan plan,
+                                          final LongAdder[] hits,
+                                          final boolean arbitrateMisses) {
     // The selected value is the best candidate at any given moment
     // for using to compute the return value of this method.  When it
     // is null, it means we haven't found a suitable value yet.
@@ -807,9 +1793,33 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     // details.
     Collection<ConfigurationValue> badValues = null;
 
-    for (final Configuration configuration : this.configurations) {
+    final boolean earlyExit = this.resolutionStrategy != ResolutionStrategy.EXHAUSTIVE;
+    final Configuration[] configurations = plan.configurations;
+    final int[] specificities = plan.specificities;
+
+    // The specificity of the most specific suitable value found so
+    // far, or -1 if there is none yet.
+    int highestSpecificity = -1;
+
+    // When hits are being counted, the well-formed value each
+    // Configuration supplied, so that only the one that supplied the
+    // selected value is credited.  We create it only when necessary.
+    ConfigurationValue[] suppliedValues = null;
+
+    CONFIGURATIONS_LOOP:
+    for (int i = 0; i < configurations.length; i++) {
+      final Configuration configuration = configurations[i];
       assert configuration != null;
 
+      if (specificities != null && specificities[i] < highestSpecificity) {
+        // This Configuration cannot supply a value as specific as one
+        // we already have, so it could not change the outcome.
+        if (plan.highestSpecificitiesAfter[i] < highestSpecificity) {
+          break CONFIGURATIONS_LOOP;
+        }
+        continue CONFIGURATIONS_LOOP;
+      }
+
       final ConfigurationValue value;
       try {
         if (isActive(configuration)) {
@@ -825,6 +1835,13 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
       if (value != null) {        
 
         if (name.equals(value.getName())) {
+          if (hits != null) {
+            if (suppliedValues == null) {
+              suppliedValues = new ConfigurationValue[configurations.length];
+            }
+            suppliedValues[i] = value;
+          }
+
           Map<String, String> valueCoordinates = value.getCoordinates();
           if (valueCoordinates == null) {
             valueCoordinates = Collections.emptyMap();
@@ -843,8 +1860,19 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
           } else if (configurationCoordinates.equals(valueCoordinates)) {
             // We have an exact match.  We hope it's going to be the
             // only one.
-            
-            if (selectedValue == null) {
+            highestSpecificity = configurationCoordinatesSize;
+
+            if (earlyExit && value.isAuthoritative() && plan.ranks[i] >= plan.highestRanksAfter[i]) {
+              // No value can be more specific than this one, and
+              // nothing but another authoritative exact match from a
+              // source of higher rank could displace it.  There are
+              // no such sources left, and in this mode we don't look
+              // for equally ranked ones.
+              selectedValue = value;
+              values = null;
+              break CONFIGURATIONS_LOOP;
+
+            } else if (selectedValue == null) {
               
               if (values == null || values.isEmpty()) {
                 // There aren't any conflicts yet; this is good.  This
@@ -896,6 +1924,7 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
               values = new PriorityQueue<>(configurationValueComparator);
             }
             values.add(value);
+            highestSpecificity = Math.max(highestSpecificity, valueCoordinatesSize);
             
           } else {
             // Bad value!
@@ -928,89 +1957,78 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     // end up with the most suitable value possible.
     if (selectedValue == null) {
       final Collection<ConfigurationValue> valuesToArbitrate = new LinkedList<>();
-      int highestSpecificitySoFarEncountered = -1;
-      if (values != null) {
-        VALUES_LOOP:
-        while (!values.isEmpty()) {
-          
-          final ConfigurationValue value = values.poll();
-          assert value != null;
-          
-          // The values are sorted by their specificity, most specific
-          // first.
-          final int valueSpecificity = Math.max(0, value.specificity());
-          assert highestSpecificitySoFarEncountered < 0 || valueSpecificity <= highestSpecificitySoFarEncountered;
-          
-          if (highestSpecificitySoFarEncountered < 0 || valueSpecificity < highestSpecificitySoFarEncountered) {
-            if (selectedValue == null) {
-              assert valuesToArbitrate.isEmpty();
-              selectedValue = value;
-              highestSpecificitySoFarEncountered = valueSpecificity;
-            } else if (valuesToArbitrate.isEmpty()) {
-              // We have a selected value that is non-null, and no
-              // further values to arbitrate, so we're done.  We know
-              // we picked the most specific value so we effectively
-              // discard the others.
-              break VALUES_LOOP;
-            } else {
-              valuesToArbitrate.add(value);
-            }
-          } else if (valueSpecificity == highestSpecificitySoFarEncountered) {
-            assert selectedValue != null;
-            if (value.isAuthoritative()) {
-              if (selectedValue.isAuthoritative()) {
-                // Both say they're authoritative; arbitration required
-                valuesToArbitrate.add(selectedValue);
-                selectedValue = null;
-                valuesToArbitrate.add(value);
-              } else {
-                // value is authoritative; selectedValue is not; so swap
-                // them
-                selectedValue = value;
-              }
-            } else if (selectedValue.isAuthoritative()) {
-              // value is not authoritative; selected value is; so just
-              // drop value on the floor; it's not authoritative.
-            } else {
-              // Neither is authoritative; arbitration required.
-              valuesToArbitrate.add(selectedValue);
-              selectedValue = null;
-              valuesToArbitrate.add(value);
-            }
-          } else {
-            assert false : "valueSpecificity > highestSpecificitySoFarEncountered: " + valueSpecificity + " > " + highestSpecificitySoFarEncountered;
-          }
-          
-        }
+      if (values != null && !values.isEmpty()) {
+        selectedValue = this.selectMostSpecific(values, valuesToArbitrate);
       }
-      if (selectedValue == null) {
-        selectedValue = this.performArbitration(configurationCoordinates, name, Collections.unmodifiableCollection(valuesToArbitrate));
+      if (selectedValue == null && (arbitrateMisses || !valuesToArbitrate.isEmpty())) {
+        selectedValue = this.arbitrate(configurationCoordinates, name, valuesToArbitrate);
       }
     }
 
-    // Perform conversion, including of null values.
-    final T returnValue;
-    if (selectedValue == null) {
-      if (defaultValue == null) {
-        returnValue = converter.convert(null);
-      } else {
-        returnValue = converter.convert(this.interpolate(defaultValue));
+    if (suppliedValues != null && selectedValue != null) {
+      for (int i = 0; i < suppliedValues.length; i++) {
+        if (suppliedValues[i] == selectedValue) {
+          hits[plan.sources[i]].increment();
+          break;
+        }
       }
-    } else {
-      final String valueToConvert = selectedValue.getValue();
-      if (valueToConvert == null) {
-        returnValue = converter.convert(null);
+    }
+    return selectedValue;
+  }
+
+  /**
+   * Selects the sole most suitable {@link ConfigurationValue} from
+   * among the supplied {@code values}, or, if there is no sole most
+   * suitable one, adds the tied candidates to the supplied {@code
+   * valuesToArbitrate} and returns {@code null}.
+   *
+   * <p>Only the most {@linkplain ConfigurationValue#specificity()
+   * specific} values are candidates, however many of them are in
+   * dispute; a less specific value is never selected over them.  An
+   * {@linkplain ConfigurationValue#isAuthoritative() authoritative}
+   * candidate beats non-authoritative ones, and any remaining tie has
+   * to be arbitrated.</p>
+   *
+   * @param values a {@link PriorityQueue} of {@link
+   * ConfigurationValue}s, most specific first; must not be {@code
+   * null} or empty; will be drained of the candidates
+   *
+   * @param valuesToArbitrate a {@link Collection} to which tied
+   * candidates will be added; must not be {@code null}
+   *
+   * @return the selected {@link ConfigurationValue}, or {@code null}
+   * if the candidates must be arbitrated
+   */
+  private final ConfigurationValue selectMostSpecific(final PriorityQueue<ConfigurationValue> values,
+                                                      final Collection<ConfigurationValue> valuesToArbitrate) {
+    final ConfigurationValue returnValue;
+    final int candidateSpecificity = Math.max(0, values.peek().specificity());
+    final Collection<ConfigurationValue> authoritativeValues = new LinkedList<>();
+    final Collection<ConfigurationValue> nonAuthoritativeValues = new LinkedList<>();
+    VALUES_LOOP:
+    while (!values.isEmpty()) {
+      final ConfigurationValue value = values.poll();
+      assert value != null;
+      if (Math.max(0, value.specificity()) < candidateSpecificity) {
+        break VALUES_LOOP;
+      }
+      if (value.isAuthoritative()) {
+        authoritativeValues.add(value);
       } else {
-        returnValue = converter.convert(this.interpolate(valueToConvert));
+        nonAuthoritativeValues.add(value);
       }
     }
-
-    if (this.logger.isLoggable(Level.FINER)) {
-      this.logger.exiting(cn, mn, returnValue);
+    final Collection<ConfigurationValue> candidates = authoritativeValues.isEmpty() ? nonAuthoritativeValues : authoritativeValues;
+    if (candidates.size() == 1) {
+      returnValue = candidates.iterator().next();
+    } else {
+      returnValue = null;
+      valuesToArbitrate.addAll(candidates);
     }
     return returnValue;
   }
 
+
   /**
    * Interpolates any expressions occurring within the supplied {@code
    * value} and returns the result of interpolation.
@@ -1120,35 +2138,308 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
   }
   
   /**
-   * Handles any badly formed {@link ConfigurationValue} instances
-   * received from {@link Configuration} instances during the
-   * execution of a configuration value request.
-   *
-   * <p>The default implementation of this method does nothing.
-   * Malformed values are thus effectively discarded.</p>
-   *
-   * <p>This method is called from the {@link #getValue(Map, String,
-   * Converter, String)} method.</p>
+   * Notifies this {@link Configurations} that values previously
+   * supplied by the supplied {@link Configuration} may have changed.
+   *
+   * <p>{@link Configuration} implementations that can detect changes
+   * in their underlying sources call this method so that any state
+   * derived from their values can be discarded.  The default
+   * implementation of this method forgets any remembered
+   * {@linkplain #performArbitration(Map, String, Collection)
+   * arbitration} outcomes that could be affected, and then notifies
+   * all {@linkplain #addInvalidationListener(InvalidationListener)
+   * registered} {@link InvalidationListener}s in turn, including
+   * those registered with any {@link Configurations} {@linkplain
+   * #withOverrides(Collection) derived} from this one.</p>
+   *
+   * @param source the {@link Configuration} whose values may have
+   * changed; may be {@code null}
+   *
+   * @param names the names of the configuration properties whose
+   * values may have changed; if {@code null}, then any value supplied
+   * by {@code source} may have changed
+   *
+   * @see InvalidationListener
+   */
+  public void invalidate(final Configuration source, final Set<String> names) {
+    final String cn = this.getClass().getName();
+    final String mn = "invalidate";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, new Object[] { source, names });
+    }
+    this.expungeBindings();
+    if (names == null) {
+      this.reloads.incrementAndGet();
+      this.arbitrationMemo.keySet().removeIf(key -> key.involves(source));
+    } else if (!names.isEmpty()) {
+      this.arbitrationMemo.keySet().removeIf(key -> names.contains(key.name));
+    }
+    this.fireInvalidated(source, names);
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn);
+    }
+  }
+
+  /**
+   * Notifies every {@linkplain
+   * #addInvalidationListener(InvalidationListener) registered}
+   * {@link InvalidationListener} that values supplied by the supplied
+   * {@link Configuration} may have changed.
    *
-   * @param badValues a {@link Collection} of {@link
-   * ConfigurationValue} instances that were deemed to be malformed in
-   * some way; may be {@code null}
+   * @param source the {@link Configuration} whose values may have
+   * changed; may be {@code null}
    *
-   * @exception ConfigurationException if the {@link #getValue(Map,
-   * String, Converter, String)} method should abort processing
+   * @param names the names of the configuration properties whose
+   * values may have changed; may be {@code null}
    *
-   * @see #getValue(Map, String, Converter, String)
+   * @see #invalidate(Configuration, Set)
    */
-  protected void handleMalformedConfigurationValues(final Collection<ConfigurationValue> badValues) {
-    if (this.logger.isLoggable(Level.FINER)) {
-      final String cn = this.getClass().getName();
-      final String mn = "handleMalformedConfigurationValues";
-      this.logger.entering(cn, mn, badValues);
-      this.logger.logp(Level.FINER, cn, mn, "Discarding {0}", badValues);
-      this.logger.exiting(cn, mn);
+  private final void fireInvalidated(final Configuration source, final Set<String> names) {
+    for (final InvalidationListener listener : this.invalidationListeners) {
+      listener.invalidated(source, names);
     }
   }
 
+  /**
+   * Registers the supplied {@link InvalidationListener} so that it
+   * will be notified whenever the {@link #invalidate(Configuration,
+   * Set)} method is called.
+   *
+   * @param listener the {@link InvalidationListener} to add; must not
+   * be {@code null}
+   *
+   * @exception NullPointerException if {@code listener} is {@code
+   * null}
+   *
+   * @see #removeInvalidationListener(InvalidationListener)
+   */
+  public final void addInvalidationListener(final InvalidationListener listener) {
+    Objects.requireNonNull(listener);
+    synchronized (this.invalidationListeners) {
+      this.invalidationListeners.add(listener);
+      if (this.parent != null && this.parentInvalidationListener == null) {
+        this.parentInvalidationListener = new ChainedInvalidationListener(this);
+        this.parent.addInvalidationListener(this.parentInvalidationListener);
+      }
+    }
+  }
+
+  /**
+   * Unregisters the supplied {@link InvalidationListener}.
+   *
+   * @param listener the {@link InvalidationListener} to remove; may
+   * be {@code null} in which case no action is taken
+   *
+   * @see #addInvalidationListener(InvalidationListener)
+   */
+  public final void removeInvalidationListener(final InvalidationListener listener) {
+    if (listener != null) {
+      synchronized (this.invalidationListeners) {
+        this.invalidationListeners.remove(listener);
+        if (this.parentInvalidationListener != null && this.invalidationListeners.isEmpty()) {
+          this.parent.removeInvalidationListener(this.parentInvalidationListener);
+          this.parentInvalidationListener = null;
+        }
+      }
+    }
+  }
+  /**
+   * Unregisters the {@link BindingInvalidationListener}s whose
+   * {@linkplain #bind(Class, String, Map) bound} objects have been
+   * garbage collected.
+   *
+   * @see #boundObjects
+   */
+  private final void expungeBindings() {
+    for (Reference<?> reference = this.boundObjects.poll(); reference != null; reference = this.boundObjects.poll()) {
+      this.removeInvalidationListener(((BoundReference)reference).listener);
+    }
+  }
+
+
+  /**
+   * Returns an implementation of the supplied interface whose
+   * accessor methods return the values of configuration properties
+   * named by the supplied prefix.
+   *
+   * <p>Each abstract, zero-argument method of {@code type} is bound
+   * to the configuration property named by {@code prefix}, a period,
+   * and the method's name or, if the method is named like a JavaBeans
+   * getter ({@code getPort()}, {@code isEnabled()}), the name of the
+   * JavaBeans property ({@code port}, {@code enabled}).  Its value is
+   * {@linkplain #getValue(Map, String, Type) converted} to the
+   * method's generic return type.  Primitive-typed methods for which
+   * there is no value return the primitive type's default value.</p>
+   *
+   * <p>All values are read and converted when this method is called,
+   * and stored in the fields of an instance of a class generated for
+   * {@code type}, so calling an accessor costs no more than a field
+   * read and a delegation.  When this {@link Configurations} is
+   * {@linkplain #invalidate(Configuration, Set) notified} that any
+   * bound property may have changed, all values are read again and
+   * swapped in at once, so that callers never observe a mixture of
+   * old and new values.  If they cannot be read, the old values
+   * remain in effect.</p>
+   *
+   * <p>This {@link Configurations} holds the returned object only
+   * weakly; once it has been garbage collected, the {@link
+   * InvalidationListener} that refreshes it is unregistered the next
+   * time this {@link Configurations} is asked for a value, is
+   * notified, or this method is called.  Binding is nevertheless
+   * comparatively expensive, so this method is best
+   * called once per interface and prefix, not once per request.</p>
+   *
+   * @param <T> the type of the interface
+   *
+   * @param type the interface to implement; must not be {@code null}
+   * and must be {@code public}, as must the return types of its
+   * accessors
+   *
+   * @param prefix the prefix of the names of the bound configuration
+   * properties; may be {@code null} or empty, in which case names
+   * are not prefixed
+   *
+   * @param configurationCoordinates a {@link Map} representing the
+   * configuration coordinates in effect for the bound properties;
+   * may be {@code null}
+   *
+   * @return a non-{@code null} implementation of {@code type}
+   *
+   * @exception NullPointerException if {@code type} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code type} is not a
+   * {@code public} interface, or if it declares abstract methods
+   * that are not accessors
+   *
+   * @exception NoSuchConverterException if there is no {@link
+   * Converter} available for the return type of an accessor
+   *
+   * @exception ConversionException if type conversion could not occur
+   * for any reason
+   *
+   * @exception ConfigurationException if any other
+   * configuration-related error occurs
+   *
+   * @see #invalidate(Configuration, Set)
+   */
+  public final <T> T bind(final Class<T> type, final String prefix, final Map<String, String> configurationCoordinates) {
+    final String cn = this.getClass().getName();
+    final String mn = "bind";
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.entering(cn, mn, new Object[] { type, prefix, configurationCoordinates });
+    }
+    final Bindings.Binder binder = Bindings.binderFor(type);
+    final String[] names = new String[binder.propertyNames.length];
+    for (int i = 0; i < names.length; i++) {
+      if (prefix == null || prefix.isEmpty()) {
+        names[i] = binder.propertyNames[i];
+      } else {
+        names[i] = prefix + "." + binder.propertyNames[i];
+      }
+    }
+    final Object live = binder.newLive(this.newSnapshot(binder, configurationCoordinates, names));
+    this.expungeBindings();
+    this.addInvalidationListener(new BindingInvalidationListener(live, binder, type, prefix, configurationCoordinates, names));
+    final T returnValue = type.cast(live);
+    if (this.logger.isLoggable(Level.FINER)) {
+      this.logger.exiting(cn, mn, returnValue);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Reads and converts the configuration values named by the supplied
+   * {@code names} and returns a new snapshot, produced by the supplied
+   * {@link Bindings.Binder}, holding them.
+   */
+  private final Object newSnapshot(final Bindings.Binder binder, final Map<String, String> configurationCoordinates, final String[] names) {
+    final Object[] values = new Object[names.length];
+    for (int i = 0; i < names.length; i++) {
+      final Object value = this.getValue(configurationCoordinates, names[i], binder.propertyTypes[i], null);
+      values[i] = value == null ? binder.defaultValues[i] : value;
+    }
+    return binder.newSnapshot(values);
+  }
+
+  /**
+   * Handles any badly formed {@link ConfigurationValue} instances
+   * received from {@link Configuration} instances during the
+   * execution of a configuration value request.
+   *
+   * <p>The default implementation of this method does nothing.
+   * Malformed values are thus effectively discarded.</p>
+   *
+   * <p>This method is called from the {@link #getValue(Map, String,
+   * Converter, String)} method.</p>
+   *
+   * @param badValues a {@link Collection} of {@link
+   * ConfigurationValue} instances that were deemed to be malformed in
+   * some way; may be {@code null}
+   *
+   * @exception ConfigurationException if the {@link #getValue(Map,
+   * String, Converter, String)} method should abort processing
+   *
+   * @see #getValue(Map, String, Converter, String)
+   */
+  protected void handleMalformedConfigurationValues(final Collection<ConfigurationValue> badValues) {
+    if (this.logger.isLoggable(Level.FINER)) {
+      final String cn = this.getClass().getName();
+      final String mn = "handleMalformedConfigurationValues";
+      this.logger.entering(cn, mn, badValues);
+      this.logger.logp(Level.FINER, cn, mn, "Discarding {0}", badValues);
+      this.logger.exiting(cn, mn);
+    }
+  }
+
+  /**
+   * Arbitrates among the supplied {@code values} by means of the
+   * {@link #performArbitration(Map, String, Collection)} method,
+   * remembering the outcome so that the same dispute&mdash;the same
+   * name and coordinates, and the same values from the same sources
+   * in the same order&mdash;is arbitrated only once.
+   *
+   * <p>Disputes that could not be settled, because {@link
+   * #performArbitration(Map, String, Collection)} threw an exception,
+   * are not remembered.</p>
+   *
+   * @param configurationCoordinates the configuration coordinates in
+   * effect for the request; must not be {@code null}
+   *
+   * @param name the name of the configuration value; must not be
+   * {@code null}
+   *
+   * @param values the values to arbitrate; must not be {@code null}
+   *
+   * @return the result of arbitration, or {@code null}
+   *
+   * @see #performArbitration(Map, String, Collection)
+   *
+   * @see #invalidate(Configuration, Set)
+   */
+  private final ConfigurationValue arbitrate(final Map<String, String> configurationCoordinates,
+                                             final String name,
+                                             final Collection<ConfigurationValue> values) {
+    ConfigurationValue returnValue;
+    if (values.isEmpty()) {
+      returnValue = this.performArbitration(configurationCoordinates, name, Collections.unmodifiableCollection(values));
+    } else {
+      final ArbitrationKey key = new ArbitrationKey(configurationCoordinates, name, values);
+      returnValue = this.arbitrationMemo.get(key);
+      if (returnValue == null) {
+        returnValue = this.performArbitration(configurationCoordinates, name, Collections.unmodifiableCollection(values));
+        if (returnValue != null) {
+          if (this.arbitrationMemo.size() >= ARBITRATION_MEMO_CAPACITY) {
+            this.arbitrationMemo.clear();
+          }
+          this.arbitrationMemo.put(key, returnValue);
+        }
+      } else if (this.logger.isLoggable(Level.FINE)) {
+        this.logger.logp(Level.FINE, this.getClass().getName(), "arbitrate", "Reusing arbitration outcome {0} for {1}", new Object[] { returnValue, values });
+      }
+    }
+    return returnValue;
+  }
+
   /**
    * Given a logical request for a configuration value, represented by
    * the {@code configurationCoordinates} and {@code name} parameter
@@ -1166,6 +2457,12 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
    * {@link Arbiter}s in turn to perform the arbitration and returns
    * the first non-{@code null} response received.</p>
    *
+   * <p>The outcome of this method is remembered for as long as none
+   * of the contending {@link Configuration}s {@linkplain
+   * #invalidate(Configuration, Set) reports} a change, so overrides
+   * must return the same result when presented with the same
+   * dispute.</p>
+   *
    * @param configurationCoordinates the ({@linkplain
    * Collections#unmodifiableMap(Map) immutable}) configuration
    * coordinates in effect for the request; may be {@code null}
@@ -1217,6 +2514,56 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     return returnValue;
   }
 
+  /**
+   * Reorders the {@link Configuration}s consulted by the {@link
+   * #getValue(Map, String, Converter, String)} method so that, among
+   * those of equal {@linkplain #getRank(Configuration) rank}, those
+   * that have supplied the most selected values come first, with the
+   * current order breaking ties.
+   *
+   * <p>{@link Configuration}s are never moved ahead of those that
+   * outrank them, so that a request can still end as soon as no
+   * {@link Configuration} yet to be consulted outranks the one that
+   * supplied an authoritative, exactly matching value.</p>
+   *
+   * <p>If another {@link Thread} is already reordering, this method
+   * returns immediately.</p>
+   *
+   * @see ResolutionStrategy#ADAPTIVE_EARLY_EXIT
+   */
+  private final void adapt() {
+    assert this.hits != null;
+    if (this.adaptationLock.tryLock()) {
+      try {
+        final ResolutionPlan plan = this.plan;
+        final int length = plan.configurations.length;
+        final long[] counts = new long[length];
+        final Integer[] order = new Integer[length];
+        for (int i = 0; i < length; i++) {
+          counts[i] = this.hits[plan.sources[i]].sum();
+          order[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(order, (a, b) -> {
+            int comparison = Integer.compare(plan.ranks[b.intValue()], plan.ranks[a.intValue()]);
+            if (comparison == 0) {
+              comparison = Long.compare(counts[b.intValue()], counts[a.intValue()]);
+            }
+            return comparison;
+          });
+        final Configuration[] configurations = new Configuration[length];
+        final int[] sources = new int[length];
+        for (int i = 0; i < length; i++) {
+          final int position = order[i].intValue();
+          configurations[i] = plan.configurations[position];
+          sources[i] = plan.sources[position];
+        }
+        this.plan = new ResolutionPlan(configurations, sources);
+      } finally {
+        this.adaptationLock.unlock();
+      }
+    }
+  }
+
   /**
    * If this {@link Configurations} has not yet finished {@linkplain
    * #Configurations() constructing}, then this method will throw an
@@ -1329,12 +2676,1194 @@ public class Configurations extends org.microbean.configuration.api.Configuratio
     return configurations == null || configurations.isEmpty();
   }
 
+  /**
+   * Returns {@code true} if the class of this {@link Configurations},
+   * or any of its superclasses below {@link Configurations}, declares
+   * a method with the supplied name and parameter types, thus
+   * overriding the one declared by {@link Configurations}.
+   *
+   * @param name the name of the method; must not be {@code null}
+   *
+   * @param parameterTypes the parameter types of the method
+   *
+   * @return {@code true} if the method is overridden; {@code false}
+   * otherwise
+   */
+  private final boolean overrides(final String name, final Class<?>... parameterTypes) {
+    for (Class<?> c = this.getClass(); c != Configurations.class; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod(name, parameterTypes);
+        return true;
+      } catch (final NoSuchMethodException noSuchMethodException) {
+        // Keep looking.
+      }
+    }
+    return false;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the {@link Type} under which a {@link Converter} for the
+   * supplied {@link Type} is stored: its wrapper type if it is
+   * primitive, and the supplied {@link Type} otherwise.
+   *
+   * @param type the {@link Type} in question; may be {@code null}
+   *
+   * @return the {@link Type} under which a suitable {@link
+   * Converter} is stored, or {@code null} if {@code type} is {@code
+   * null}
+   */
+  private static final Type conversionType(final Type type) {
+    final Type returnValue;
+    if (type instanceof Class && ((Class<?>)type).isPrimitive()) {
+      returnValue = wrapperTypes.get(type);
+    } else {
+      returnValue = type;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Adds the supplied {@link Converter} to the supplied {@link Map}
+   * under the supplied {@link Type}, throwing an {@link
+   * IllegalStateException} if a {@link Converter} is already present
+   * under it.
+   *
+   * <p>Whether {@link Converter}s are loaded eagerly or deferred
+   * until their {@link Type}s are requested, two {@link Converter}s
+   * for the same {@link Type} are an error; neither silently
+   * wins.</p>
+   *
+   * @param converters the {@link Map} to add to; must not be {@code
+   * null}
+   *
+   * @param type the {@link Type} the {@link Converter} converts to;
+   * must not be {@code null}
+   *
+   * @param converter the {@link Converter} to add; must not be {@code
+   * null}
+   *
+   * @exception IllegalStateException if {@code converters} already
+   * contains a {@link Converter} for {@code type}
+   */
+  private static final void putUniqueConverter(final Map<Type, Converter<?>> converters, final Type type, final Converter<?> converter) {
+    final Converter<?> otherConverter = converters.putIfAbsent(type, converter);
+    if (otherConverter != null) {
+      throw new IllegalStateException("Duplicate Converters for " + type.getTypeName() + ": " + otherConverter.getClass().getName() + ", " + converter.getClass().getName());
+    }
+  }
+
+  /**
+   * Returns the rank of the supplied {@link Configuration} if it is
+   * {@link Ranked}, and {@link Integer#MIN_VALUE} otherwise.
+   *
+   * @param configuration the {@link Configuration}; may be {@code
+   * null}
+   *
+   * @return the rank of the supplied {@link Configuration}
+   *
+   * @see ResolutionStrategy#RANKED_EARLY_EXIT
+   */
+  private static final int getRank(final Configuration configuration) {
+    return configuration instanceof Ranked ? ((Ranked)configuration).getRank() : Integer.MIN_VALUE;
+  }
+
+  /**
+   * Returns {@code false} if the supplied {@link Configuration}, which
+   * does not {@linkplain Configuration#getCoordinateSets() declare}
+   * its coordinate sets, is nevertheless known not to be able to
+   * supply values for the supplied configuration coordinates, and
+   * {@code true} otherwise.
+   *
+   * @param configuration the {@link Configuration}; must not be
+   * {@code null}
+   *
+   * @param configurationCoordinates the configuration coordinates;
+   * must not be {@code null}
+   *
+   * @return {@code false} if the supplied {@link Configuration} is
+   * known not to be able to supply values for the supplied
+   * configuration coordinates
+   *
+   * @see #forCoordinates(Map)
+   */
+  private static final boolean mayContribute(final Configuration configuration, final Map<String, String> configurationCoordinates) {
+    boolean returnValue = true;
+    if (configuration instanceof AbstractResourceLoadingConfiguration) {
+      final AbstractResourceLoadingConfiguration.Resource<?> resource =
+        ((AbstractResourceLoadingConfiguration<?>)configuration).getResource(configurationCoordinates);
+      if (resource == null) {
+        returnValue = false;
+      } else {
+        final Map<String, String> resourceCoordinates = resource.getCoordinates();
+        returnValue = resourceCoordinates == null || configurationCoordinates.entrySet().containsAll(resourceCoordinates.entrySet());
+      }
+    }
+    return returnValue;
+  }
+
 
   /*
    * Inner and nested classes.
    */
 
 
+  /**
+   * An immutable ordering of {@link Configuration}s to be consulted
+   * by the {@link Configurations#getValue(Map, String, Converter,
+   * String)} method, together with their ranks.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see ResolutionStrategy
+   */
+  private static final class ResolutionPlan {
+
+    /**
+     * The {@link Configuration}s, in the order in which they are to
+     * be consulted.
+     */
+    private final Configuration[] configurations;
+
+    /**
+     * For each element of {@link #configurations}, its position in
+     * the plan originally built at construction time; this is a
+     * stable identifier for the purposes of counting hits.
+     */
+    private final int[] sources;
+
+    /**
+     * For each element of {@link #configurations}, its {@linkplain
+     * Configurations#getRank(Configuration) rank}.
+     */
+    private final int[] ranks;
+
+    /**
+     * For each position in {@link #configurations}, the highest rank
+     * of any {@link Configuration} at a later position, or {@link
+     * Integer#MIN_VALUE} if there is none.
+     */
+    private final int[] highestRanksAfter;
+
+    /**
+     * For each element of {@link #configurations}, the greatest
+     * specificity of any value it could supply for the configuration
+     * coordinates this {@link ResolutionPlan} was {@linkplain
+     * PrunedPlans pruned} for, or {@link Integer#MAX_VALUE} if that is
+     * not known; or {@code null} if it is not known for any of them.
+     */
+    private final int[] specificities;
+
+    /**
+     * For each position in {@link #configurations}, the greatest of
+     * the {@link #specificities} at later positions, or {@code -1} if
+     * there is none; {@code null} if {@link #specificities} is {@code
+     * null}.
+     */
+    private final int[] highestSpecificitiesAfter;
+
+    private ResolutionPlan(final Configuration[] configurations) {
+      this(configurations, identity(configurations.length));
+    }
+
+    private ResolutionPlan(final Configuration[] configurations, final int[] sources) {
+      this(configurations, sources, null);
+    }
+
+    private ResolutionPlan(final Configuration[] configurations, final int[] sources, final int[] specificities) {
+      super();
+      this.configurations = configurations;
+      this.sources = sources;
+      this.specificities = specificities;
+      final int length = configurations.length;
+      this.ranks = new int[length];
+      for (int i = 0; i < length; i++) {
+        this.ranks[i] = getRank(configurations[i]);
+      }
+      this.highestRanksAfter = new int[length];
+      int highestRank = Integer.MIN_VALUE;
+      for (int i = length - 1; i >= 0; i--) {
+        this.highestRanksAfter[i] = highestRank;
+        highestRank = Math.max(highestRank, this.ranks[i]);
+      }
+      if (specificities == null) {
+        this.highestSpecificitiesAfter = null;
+      } else {
+        this.highestSpecificitiesAfter = new int[length];
+        int highestSpecificity = -1;
+        for (int i = length - 1; i >= 0; i--) {
+          this.highestSpecificitiesAfter[i] = highestSpecificity;
+          highestSpecificity = Math.max(highestSpecificity, specificities[i]);
+        }
+      }
+    }
+
+    private static final int[] identity(final int length) {
+      final int[] returnValue = new int[length];
+      for (int i = 0; i < length; i++) {
+        returnValue[i] = i;
+      }
+      return returnValue;
+    }
+
+  }
+
+  /**
+   * A lattice of the {@linkplain Configuration#getCoordinateSets()
+   * coordinate sets} declared by the {@link Configuration}s of a
+   * {@link Configurations}, ordered by containment.
+   *
+   * <p>Each coordinate set is linked to the smallest declared
+   * coordinate sets that strictly contain it.  The coordinate sets
+   * contained by some requested configuration coordinates are
+   * therefore found by walking upwards from the smallest ones,
+   * visiting only coordinate sets that are themselves contained by
+   * the request and their immediate successors, however many
+   * coordinate sets are declared in all.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#getCoordinateIndex()
+   */
+  private static final class CoordinateIndex {
+
+    /**
+     * The value of {@link Configurations#reloads} when this {@link
+     * CoordinateIndex} was built.
+     */
+    private final long reloads;
+
+    /**
+     * The {@link Configuration}s that declare their coordinate sets,
+     * compared by identity.
+     */
+    private final Set<Configuration> declaring;
+
+    /**
+     * The {@link Node}s for the coordinate sets that contain no other
+     * declared coordinate set.
+     */
+    private final List<Node> roots;
+
+    private CoordinateIndex(final long reloads, final Collection<? extends Configuration> configurations) {
+      super();
+      this.reloads = reloads;
+      this.declaring = Collections.newSetFromMap(new IdentityHashMap<>());
+      final Map<Map<String, String>, Node> nodes = new HashMap<>();
+      for (final Configuration configuration : configurations) {
+        if (configuration != null) {
+          final Set<? extends Map<String, String>> coordinateSets = configuration.getCoordinateSets();
+          if (coordinateSets != null) {
+            this.declaring.add(configuration);
+            for (final Map<String, String> coordinateSet : coordinateSets) {
+              nodes.computeIfAbsent(coordinateSet == null ? Collections.emptyMap() : coordinateSet, Node::new).sources.add(configuration);
+            }
+          }
+        }
+      }
+      final List<Node> sortedNodes = new ArrayList<>(nodes.values());
+      sortedNodes.sort(Comparator.comparingInt(node -> node.specificity));
+      this.roots = new ArrayList<>();
+      for (int i = 0; i < sortedNodes.size(); i++) {
+        final Node node = sortedNodes.get(i);
+        // Find the largest coordinate sets strictly contained by this
+        // one.  Smaller candidates come first, so a candidate can
+        // only ever supersede earlier ones.
+        final List<Node> predecessors = new ArrayList<>();
+        for (int j = 0; j < i; j++) {
+          final Node candidate = sortedNodes.get(j);
+          if (candidate.specificity < node.specificity && node.entries.containsAll(candidate.entries)) {
+            predecessors.removeIf(predecessor -> candidate.entries.containsAll(predecessor.entries));
+            predecessors.add(candidate);
+          }
+        }
+        if (predecessors.isEmpty()) {
+          this.roots.add(node);
+        } else {
+          for (final Node predecessor : predecessors) {
+            predecessor.successors.add(node);
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns {@code true} if no {@link Configuration} declares its
+     * coordinate sets.
+     *
+     * @return {@code true} if no {@link Configuration} declares its
+     * coordinate sets
+     */
+    private final boolean isEmpty() {
+      return this.declaring.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if the supplied {@link Configuration}
+     * declares its coordinate sets.
+     *
+     * @param configuration the {@link Configuration}; may be {@code
+     * null}
+     *
+     * @return {@code true} if the supplied {@link Configuration}
+     * declares its coordinate sets
+     */
+    private final boolean declares(final Configuration configuration) {
+      return this.declaring.contains(configuration);
+    }
+
+    /**
+     * Returns, for each {@link Configuration} that declares a
+     * coordinate set contained by the supplied configuration
+     * coordinates, the greatest specificity of any such coordinate
+     * set.
+     *
+     * <p>{@link Configuration}s that declare their coordinate sets
+     * but are absent from the returned {@link Map} cannot supply
+     * values for the supplied configuration coordinates.</p>
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @param configurationCoordinates the requested configuration
+     * coordinates; must not be {@code null}
+     *
+     * @return a non-{@code null} {@link Map} whose keys are compared
+     * by identity
+     */
+    private final Map<Configuration, Integer> getSpecificities(final Map<String, String> configurationCoordinates) {
+      final Map<Configuration, Integer> returnValue = new IdentityHashMap<>();
+      final Set<Map.Entry<String, String>> requested = configurationCoordinates.entrySet();
+      final Deque<Node> pending = new ArrayDeque<>();
+      for (final Node root : this.roots) {
+        if (requested.containsAll(root.entries)) {
+          pending.push(root);
+        }
+      }
+      final Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      while (!pending.isEmpty()) {
+        final Node node = pending.pop();
+        if (visited.add(node)) {
+          for (final Configuration source : node.sources) {
+            returnValue.merge(source, Integer.valueOf(node.specificity), (a, b) -> a.intValue() >= b.intValue() ? a : b);
+          }
+          for (final Node successor : node.successors) {
+            if (!visited.contains(successor) && requested.containsAll(successor.entries)) {
+              pending.push(successor);
+            }
+          }
+        }
+      }
+      return returnValue;
+    }
+
+    /**
+     * A declared coordinate set in a {@link CoordinateIndex}.
+     *
+     * @author <a href="https://about.me/lairdnelson"
+     * target="_parent">Laird Nelson</a>
+     */
+    private static final class Node {
+
+      /**
+       * The entries of the coordinate set.
+       */
+      private final Set<Map.Entry<String, String>> entries;
+
+      /**
+       * The number of entries of the coordinate set, which is the
+       * {@linkplain ConfigurationValue#specificity() specificity} of
+       * values qualified by it.
+       */
+      private final int specificity;
+
+      /**
+       * The {@link Configuration}s that declare the coordinate set,
+       * compared by identity.
+       */
+      private final Set<Configuration> sources;
+
+      /**
+       * The {@link Node}s for the smallest declared coordinate sets
+       * that strictly contain this one.
+       */
+      private final List<Node> successors;
+
+      private Node(final Map<String, String> coordinateSet) {
+        super();
+        this.entries = coordinateSet.entrySet();
+        this.specificity = coordinateSet.size();
+        this.sources = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.successors = new ArrayList<>();
+      }
+
+    }
+
+  }
+
+  /**
+   * {@link ResolutionPlan}s of a {@link Configurations} without the
+   * {@link Configuration}s that cannot supply values for a particular
+   * set of requested configuration coordinates.
+   *
+   * <p>Unless the {@link ResolutionStrategy} in effect is {@link
+   * ResolutionStrategy#ADAPTIVE_EARLY_EXIT}, the {@link
+   * Configuration}s that could supply the most specific values come
+   * first, within each rank if ranks matter, so that the {@link
+   * Configurations#select(Map, String, ResolutionPlan, LongAdder[],
+   * boolean) select} method can stop consulting declared layers as
+   * soon as no remaining one could supply a value as specific as one
+   * it already has.  {@link Configuration}s whose declared
+   * coordinate sets are equally specific are all consulted, so
+   * ambiguities among them are still detected.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#getPrunedPlans(CoordinateIndex, Map)
+   *
+   * @see Bound
+   */
+  private static final class PrunedPlans {
+
+    /**
+     * The {@link CoordinateIndex} in effect when the {@link
+     * Configuration}s were pruned.
+     */
+    private final CoordinateIndex coordinateIndex;
+
+    /**
+     * The {@link ResolutionStrategy} in effect.
+     */
+    private final ResolutionStrategy resolutionStrategy;
+
+    /**
+     * The {@link ResolutionPlan} of the {@link Configurations} from
+     * which {@link #plan} was derived.
+     */
+    private final ResolutionPlan basePlan;
+
+    /**
+     * The {@link Configuration}s that cannot supply values for the
+     * coordinates in question, compared by identity.
+     */
+    private final Set<Configuration> excluded;
+
+    /**
+     * For each {@link Configuration} that declares a coordinate set
+     * contained by the coordinates in question, the greatest
+     * specificity of any such coordinate set; keys are compared by
+     * identity.
+     */
+    private final Map<Configuration, Integer> specificities;
+
+    /**
+     * {@link #basePlan}, pruned.
+     */
+    private final ResolutionPlan plan;
+
+    /**
+     * The override plans of the {@link Configurations}, pruned,
+     * leaving out any that become empty.
+     */
+    private final ResolutionPlan[] overridePlans;
+
+    /**
+     * Creates a new {@link PrunedPlans}.
+     *
+     * @param configurations the {@link Configurations} whose plans
+     * are to be pruned; must not be {@code null}
+     *
+     * @param coordinateIndex its current {@link CoordinateIndex};
+     * must not be {@code null}
+     *
+     * @param configurationCoordinates the requested configuration
+     * coordinates; must not be {@code null}
+     *
+     * @param inspectResources whether {@link Configuration}s that do
+     * not declare their coordinate sets should be {@linkplain
+     * Configurations#mayContribute(Configuration, Map) inspected}
+     */
+    private PrunedPlans(final Configurations configurations,
+                        final CoordinateIndex coordinateIndex,
+                        final Map<String, String> configurationCoordinates,
+                        final boolean inspectResources) {
+      super();
+      this.coordinateIndex = coordinateIndex;
+      this.resolutionStrategy = configurations.resolutionStrategy;
+      this.basePlan = configurations.plan;
+      this.specificities = coordinateIndex.getSpecificities(configurationCoordinates);
+      final Set<Configuration> excluded = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (final Configuration configuration : configurations.configurations) {
+        if (configuration != null) {
+          if (coordinateIndex.declares(configuration)) {
+            if (!this.specificities.containsKey(configuration)) {
+              excluded.add(configuration);
+            }
+          } else if (inspectResources && !mayContribute(configuration, configurationCoordinates)) {
+            excluded.add(configuration);
+          }
+        }
+      }
+      this.excluded = excluded;
+      this.plan = this.prune(this.basePlan);
+      final List<ResolutionPlan> overridePlans = new ArrayList<>(configurations.overridePlans.length);
+      for (final ResolutionPlan overridePlan : configurations.overridePlans) {
+        final ResolutionPlan prunedPlan = this.prune(overridePlan);
+        if (prunedPlan.configurations.length > 0) {
+          overridePlans.add(prunedPlan);
+        }
+      }
+      this.overridePlans = overridePlans.toArray(new ResolutionPlan[overridePlans.size()]);
+    }
+
+    private PrunedPlans(final PrunedPlans plans, final ResolutionPlan basePlan) {
+      super();
+      this.coordinateIndex = plans.coordinateIndex;
+      this.resolutionStrategy = plans.resolutionStrategy;
+      this.basePlan = basePlan;
+      this.excluded = plans.excluded;
+      this.specificities = plans.specificities;
+      this.plan = this.prune(basePlan);
+      this.overridePlans = plans.overridePlans;
+    }
+
+    /**
+     * Returns a {@link ResolutionPlan} like the supplied one but
+     * without {@link #excluded} and with {@linkplain
+     * ResolutionPlan#specificities specificities}, reordered as
+     * described in the class documentation.
+     *
+     * @param plan the {@link ResolutionPlan} to prune; must not be
+     * {@code null}
+     *
+     * @return a non-{@code null} {@link ResolutionPlan}
+     */
+    private final ResolutionPlan prune(final ResolutionPlan plan) {
+      final int length = plan.configurations.length;
+      final List<Integer> positions = new ArrayList<>(length);
+      final int[] specificities = new int[length];
+      for (int i = 0; i < length; i++) {
+        final Configuration configuration = plan.configurations[i];
+        if (!this.excluded.contains(configuration)) {
+          positions.add(Integer.valueOf(i));
+          final Integer specificity = this.specificities.get(configuration);
+          specificities[i] = specificity == null ? Integer.MAX_VALUE : specificity.intValue();
+        }
+      }
+      switch (this.resolutionStrategy) {
+      case EXHAUSTIVE:
+        positions.sort((a, b) -> Integer.compare(specificities[b.intValue()], specificities[a.intValue()]));
+        break;
+      case RANKED_EARLY_EXIT:
+        positions.sort((a, b) -> {
+            int comparison = Integer.compare(plan.ranks[b.intValue()], plan.ranks[a.intValue()]);
+            if (comparison == 0) {
+              comparison = Integer.compare(specificities[b.intValue()], specificities[a.intValue()]);
+            }
+            return comparison;
+          });
+        break;
+      default:
+        // Adaptive plans keep the order they have learned.
+        break;
+      }
+      final int size = positions.size();
+      final Configuration[] configurations = new Configuration[size];
+      final int[] sources = new int[size];
+      final int[] prunedSpecificities = new int[size];
+      for (int i = 0; i < size; i++) {
+        final int position = positions.get(i).intValue();
+        configurations[i] = plan.configurations[position];
+        sources[i] = plan.sources[position];
+        prunedSpecificities[i] = specificities[position];
+      }
+      return new ResolutionPlan(configurations, sources, prunedSpecificities);
+    }
+
+  }
+
+  /**
+   * A strategy governing how the {@link Configurations#getValue(Map,
+   * String, Converter, String)} method consults its {@link
+   * Configuration}s.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#Configurations(Collection, Collection,
+   * Collection, ResolutionStrategy)
+   */
+  public static enum ResolutionStrategy {
+
+    /**
+     * Every {@link Configuration} is consulted on every request, in
+     * the order in which the {@link Configuration}s were supplied, so
+     * that all ambiguities are detected and {@linkplain
+     * Configurations#performArbitration(Map, String, Collection)
+     * arbitrated}.
+     *
+     * <p>The exceptions are {@link Configuration}s that {@linkplain
+     * Configuration#getCoordinateSets() declare their coordinate
+     * sets}.  They are consulted in descending order of the
+     * specificity of those sets, and are skipped when they could not
+     * supply a value as specific as one already found, since such a
+     * value could never be selected.</p>
+     */
+    EXHAUSTIVE,
+
+    /**
+     * {@link Configuration}s are consulted in descending order of
+     * their {@linkplain Ranked#getRank() rank}, with {@link
+     * Configuration}s that are not {@link Ranked} last, and a request
+     * ends as soon as a {@linkplain
+     * ConfigurationValue#isAuthoritative() authoritative} {@link
+     * ConfigurationValue} whose coordinates exactly match the
+     * requested coordinates is found.
+     *
+     * <p>Any other such value that a lower-ranked {@link
+     * Configuration} might have supplied is never seen, so this
+     * strategy is appropriate only where such ambiguities have been
+     * ruled out in advance.  Requests that do not find such a value
+     * behave exactly as they do under {@link #EXHAUSTIVE}.</p>
+     */
+    RANKED_EARLY_EXIT,
+
+    /**
+     * Like {@link #RANKED_EARLY_EXIT}, {@link Configuration}s are
+     * initially consulted in descending order of their {@linkplain
+     * Ranked#getRank() rank}, but the number of selected values each
+     * supplies is counted, and every so many requests those of equal
+     * rank are reordered so that those that supply the most selected
+     * values are consulted first.
+     *
+     * <p>A request ends at an authoritative {@link
+     * ConfigurationValue} whose coordinates exactly match the
+     * requested coordinates only if no {@link Configuration} yet to
+     * be consulted outranks the one that supplied it, so this
+     * strategy selects the same values as {@link
+     * #RANKED_EARLY_EXIT}; it merely tends to get to them sooner.</p>
+     */
+    ADAPTIVE_EARLY_EXIT;
+
+  }
+
+  /**
+   * An immutable key identifying an arbitration dispute: a name, the
+   * configuration coordinates of the request, and the contending
+   * {@link ConfigurationValue}s together with the identities of
+   * their {@linkplain ConfigurationValue#getSource() sources} and
+   * their {@linkplain ConfigurationValue#isAuthoritative()
+   * authoritativeness}, neither of which {@link
+   * ConfigurationValue#equals(Object)} considers.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#arbitrate(Map, String, Collection)
+   */
+  private static final class ArbitrationKey {
+
+    private final Map<String, String> coordinates;
+
+    private final String name;
+
+    private final ConfigurationValue[] values;
+
+    private final int hashCode;
+
+    private ArbitrationKey(final Map<String, String> coordinates, final String name, final Collection<ConfigurationValue> values) {
+      super();
+      this.coordinates = Collections.unmodifiableMap(new HashMap<>(coordinates));
+      this.name = name;
+      this.values = values.toArray(new ConfigurationValue[values.size()]);
+      int hashCode = 31 * this.coordinates.hashCode() + name.hashCode();
+      for (final ConfigurationValue value : this.values) {
+        hashCode = 31 * hashCode + System.identityHashCode(value.getSource());
+        hashCode = 31 * hashCode + value.hashCode();
+        hashCode = 31 * hashCode + (value.isAuthoritative() ? 1 : 0);
+      }
+      this.hashCode = hashCode;
+    }
+
+    private final boolean involves(final Configuration source) {
+      for (final ConfigurationValue value : this.values) {
+        if (value.getSource() == source) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public final int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override
+    public final boolean equals(final Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof ArbitrationKey) {
+        final ArbitrationKey her = (ArbitrationKey)other;
+        if (this.hashCode != her.hashCode ||
+            this.values.length != her.values.length ||
+            !this.name.equals(her.name) ||
+            !this.coordinates.equals(her.coordinates)) {
+          return false;
+        }
+        for (int i = 0; i < this.values.length; i++) {
+          final ConfigurationValue mine = this.values[i];
+          final ConfigurationValue hers = her.values[i];
+          if (mine.getSource() != hers.getSource() ||
+              mine.isAuthoritative() != hers.isAuthoritative() ||
+              !mine.equals(hers)) {
+            return false;
+          }
+        }
+        return true;
+      } else {
+        return false;
+      }
+    }
+
+  }
+
+  /**
+   * A view of a {@link Configurations} that selects values for a
+   * fixed set of configuration coordinates, consulting only those of
+   * its {@link Configuration}s that can supply values for them.
+   *
+   * <p>Instances of this class are safe for concurrent use by
+   * multiple threads.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#forCoordinates(Map)
+   */
+  public static final class Bound {
+
+    /**
+     * The {@link Configurations} this {@link Bound} is a view of.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Configurations configurations;
+
+    /**
+     * The immutable configuration coordinates for which values are
+     * selected.
+     *
+     * <p>This field is never {@code null}.</p>
+     */
+    private final Map<String, String> coordinates;
+
+    /**
+     * The {@link PrunedPlans} currently followed.
+     *
+     * <p>This field is never {@code null}.</p>
+     *
+     * @see #getPlans()
+     */
+    private volatile PrunedPlans plans;
+
+    private Bound(final Configurations configurations, final Map<String, String> coordinates) {
+      super();
+      this.configurations = configurations;
+      this.coordinates = coordinates;
+      this.plans = new PrunedPlans(configurations, configurations.getCoordinateIndex(), coordinates, true);
+    }
+
+    /**
+     * Returns the {@link Configurations} this {@link Bound} is a view
+     * of.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @return a non-{@code null} {@link Configurations}
+     */
+    public final Configurations getConfigurations() {
+      return this.configurations;
+    }
+
+    /**
+     * Returns the immutable configuration coordinates for which this
+     * {@link Bound} selects values.
+     *
+     * <p>This method never returns {@code null}.</p>
+     *
+     * @return a non-{@code null}, immutable {@link Map} of
+     * configuration coordinates
+     */
+    public final Map<String, String> getCoordinates() {
+      return this.coordinates;
+    }
+
+    /**
+     * Returns the value of the configuration property identified by
+     * the supplied {@code name}.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     *
+     * @exception NullPointerException if {@code name} is {@code null}
+     *
+     * @see #getValue(String, Converter, String)
+     */
+    public final String getValue(final String name) {
+      return this.getValue(name, String.class, null);
+    }
+
+    /**
+     * Returns the value of the configuration property identified by
+     * the supplied {@code name}, {@linkplain Converter#convert(String)
+     * converted} to the supplied {@link Type}.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param <T> the type to which the configuration value will be
+     * converted
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @param type the {@link Type} to which the configuration value
+     * will be converted; must not be {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     *
+     * @exception NullPointerException if {@code name} or {@code
+     * type} is {@code null}
+     *
+     * @exception NoSuchConverterException if there is no {@link
+     * Converter} for the supplied {@link Type}
+     *
+     * @see #getValue(String, Converter, String)
+     */
+    public final <T> T getValue(final String name, final Type type) {
+      return this.getValue(name, type, null);
+    }
+
+    /**
+     * Returns the value of the configuration property identified by
+     * the supplied {@code name}, or the supplied {@code
+     * defaultValue}, {@linkplain Converter#convert(String) converted}
+     * to the supplied {@link Type}.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param <T> the type to which the configuration value will be
+     * converted
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @param type the {@link Type} to which the configuration value
+     * will be converted; must not be {@code null}
+     *
+     * @param defaultValue the value that will be converted if {@code
+     * null} would otherwise be returned; may be {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     *
+     * @exception NullPointerException if {@code name} or {@code
+     * type} is {@code null}
+     *
+     * @exception NoSuchConverterException if there is no {@link
+     * Converter} for the supplied {@link Type}
+     *
+     * @see #getValue(String, Converter, String)
+     */
+    public final <T> T getValue(final String name, final Type type, final String defaultValue) {
+      return this.getValue(name, conversionType(Objects.requireNonNull(type)), this.configurations.<T>getRequiredConverter(type), defaultValue);
+    }
+
+    /**
+     * Returns the value of the configuration property identified by
+     * the supplied {@code name}, as {@linkplain
+     * Converter#convert(String) converted} by the supplied {@link
+     * Converter}.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param <T> the type to which the configuration value will be
+     * converted
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @param converter the {@link Converter} to use; must not be
+     * {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     *
+     * @exception NullPointerException if {@code name} or {@code
+     * converter} is {@code null}
+     *
+     * @see #getValue(String, Converter, String)
+     */
+    public final <T> T getValue(final String name, final Converter<T> converter) {
+      return this.getValue(name, converter, null);
+    }
+
+    /**
+     * Returns the value of the configuration property identified by
+     * the supplied {@code name}, or the supplied {@code
+     * defaultValue}, as {@linkplain Converter#convert(String)
+     * converted} by the supplied {@link Converter}.
+     *
+     * <p>This method may return {@code null}.</p>
+     *
+     * @param <T> the type to which the configuration value will be
+     * converted
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @param converter the {@link Converter} to use; must not be
+     * {@code null}
+     *
+     * @param defaultValue the value that will be converted if {@code
+     * null} would otherwise be returned; may be {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     *
+     * @exception NullPointerException if {@code name} or {@code
+     * converter} is {@code null}
+     *
+     * @exception ConversionException if type conversion could not
+     * occur for any reason
+     *
+     * @exception AmbiguousConfigurationValuesException if two or more
+     * values were found that could be suitable and arbitration could
+     * not resolve the dispute
+     *
+     * @see Configurations#getValue(Map, String, Converter, String)
+     */
+    public final <T> T getValue(final String name, final Converter<T> converter, final String defaultValue) {
+      return this.getValue(name, Objects.requireNonNull(converter).getType(), converter, defaultValue);
+    }
+
+    /**
+     * Implements {@link #getValue(String, Converter, String)} for a
+     * {@link Converter} that may be stored by the {@link
+     * Configurations} under the supplied {@link Type}.
+     *
+     * @param <T> the type to which the configuration value will be
+     * converted
+     *
+     * @param name the name of the configuration property; must not
+     * be {@code null}
+     *
+     * @param type the {@link Type} under which the supplied {@link
+     * Converter} may be stored; must not be {@code null}
+     *
+     * @param converter the {@link Converter} to use; must not be
+     * {@code null}
+     *
+     * @param defaultValue the value that will be converted if {@code
+     * null} would otherwise be returned; may be {@code null}
+     *
+     * @return the configuration value, or {@code null}
+     */
+    private final <T> T getValue(final String name, final Type type, final Converter<T> converter, final String defaultValue) {
+      Objects.requireNonNull(name);
+      Objects.requireNonNull(converter);
+      final PrunedPlans plans = this.getPlans();
+      return this.configurations.resolve(this.coordinates, name, type, converter, defaultValue, plans.overridePlans, plans.plan);
+    }
+
+    /**
+     * Returns the {@link PrunedPlans} to follow, pruning the {@link
+     * Configuration}s again if any of them has {@linkplain
+     * Configurations#invalidate(Configuration, Set) reported} that
+     * any of its values may have changed, and reordering them if the
+     * {@link Configurations} has {@linkplain Configurations#adapt()
+     * adapted} its own plan.
+     *
+     * @return the non-{@code null} {@link PrunedPlans} to follow
+     */
+    private final PrunedPlans getPlans() {
+      PrunedPlans returnValue = this.plans;
+      final CoordinateIndex coordinateIndex = this.configurations.getCoordinateIndex();
+      if (returnValue.coordinateIndex != coordinateIndex) {
+        returnValue = new PrunedPlans(this.configurations, coordinateIndex, this.coordinates, true);
+        this.plans = returnValue;
+      } else if (returnValue.basePlan != this.configurations.plan) {
+        returnValue = new PrunedPlans(returnValue, this.configurations.plan);
+        this.plans = returnValue;
+      }
+      return returnValue;
+    }
+
+    @Override
+    public final String toString() {
+      return this.coordinates.toString();
+    }
+
+  }
+
+  /**
+   * A listener notified when a {@link Configuration}'s values may
+   * have changed.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#invalidate(Configuration, Set)
+   *
+   * @see Configurations#addInvalidationListener(InvalidationListener)
+   */
+  @FunctionalInterface
+  public static interface InvalidationListener {
+
+    /**
+     * Called when values supplied by the supplied {@link
+     * Configuration} may have changed.
+     *
+     * @param source the {@link Configuration} whose values may have
+     * changed; may be {@code null}
+     *
+     * @param names the names of the configuration properties whose
+     * values may have changed; if {@code null}, then any value
+     * supplied by {@code source} may have changed
+     */
+    public void invalidated(final Configuration source, final Set<String> names);
+
+  }
+
+  /**
+   * An {@link InvalidationListener} registered with a {@link
+   * Configurations} on behalf of a {@link Configurations} {@linkplain
+   * Configurations#withOverrides(Collection) derived} from it, so
+   * that the derived {@link Configurations}' own {@link
+   * InvalidationListener}s are notified too.
+   *
+   * <p>A {@link ChainedInvalidationListener} is registered only
+   * while the derived {@link Configurations} has {@link
+   * InvalidationListener}s of its own, so a derived {@link
+   * Configurations} without any is never reachable from the {@link
+   * Configurations} it was derived from.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#addInvalidationListener(InvalidationListener)
+   */
+  private static final class ChainedInvalidationListener implements InvalidationListener {
+
+    private final Configurations child;
+
+    private ChainedInvalidationListener(final Configurations child) {
+      super();
+      this.child = child;
+    }
+
+    @Override
+    public final void invalidated(final Configuration source, final Set<String> names) {
+      this.child.fireInvalidated(source, names);
+    }
+
+  }
+
+  /**
+   * A {@link WeakReference} to an object returned by the {@link
+   * Configurations#bind(Class, String, Map)} method that records the
+   * {@link InvalidationListener} refreshing it, so that the listener
+   * can be unregistered once the object has been garbage collected.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#expungeBindings()
+   */
+  private static final class BoundReference extends WeakReference<Object> {
+
+    private final InvalidationListener listener;
+
+    private BoundReference(final Object referent, final ReferenceQueue<Object> queue, final InvalidationListener listener) {
+      super(referent, queue);
+      this.listener = listener;
+    }
+
+  }
+
+  /**
+   * An {@link InvalidationListener} that refreshes an object returned
+   * by the {@link Configurations#bind(Class, String, Map)} method
+   * whenever any of its bound properties may have changed.
+   *
+   * <p>The bound object is held only weakly, by a {@link
+   * BoundReference} registered with {@link Configurations#boundObjects},
+   * so that this {@link BindingInvalidationListener} is unregistered
+   * soon after the bound object has been garbage collected.</p>
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see Configurations#bind(Class, String, Map)
+   */
+  private final class BindingInvalidationListener implements InvalidationListener {
+
+    private final BoundReference live;
+
+    private final Bindings.Binder binder;
+
+    private final Class<?> type;
+
+    private final String prefix;
+
+    private final Map<String, String> configurationCoordinates;
+
+    private final String[] names;
+
+    private final Set<String> boundNames;
+
+    private BindingInvalidationListener(final Object live,
+                                        final Bindings.Binder binder,
+                                        final Class<?> type,
+                                        final String prefix,
+                                        final Map<String, String> configurationCoordinates,
+                                        final String[] names) {
+      super();
+      this.live = new BoundReference(live, boundObjects, this);
+      this.binder = binder;
+      this.type = type;
+      this.prefix = prefix;
+      this.configurationCoordinates = configurationCoordinates;
+      this.names = names;
+      this.boundNames = new HashSet<>(Arrays.asList(names));
+    }
+
+    @Override
+    public final void invalidated(final Configuration source, final Set<String> changedNames) {
+      final Object live = this.live.get();
+      if (live == null) {
+        removeInvalidationListener(this);
+      } else if (changedNames == null || !Collections.disjoint(this.boundNames, changedNames)) {
+        try {
+          this.binder.setSnapshot(live, newSnapshot(this.binder, this.configurationCoordinates, this.names));
+        } catch (final RuntimeException exception) {
+          if (logger.isLoggable(Level.WARNING)) {
+            logger.logp(Level.WARNING, this.getClass().getName(), "invalidated", "Could not rebind " + this.type.getName() + " to " + this.prefix + "; keeping previous values", exception);
+          }
+        }
+      }
+    }
+
+  }
+
   /**
    * An {@link ELResolver} that resolves a {@code configurations}
    * top-level object in the Expression Language and resolves its
@@ -0,0 +1,196 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A memo of the results produced by a {@linkplain Converter#isPure()
+ * pure} {@link Converter} so that converting the same {@link String}
+ * twice does the work only once.
+ *
+ * <p>A {@link ConversionMemo} is not itself a {@link Converter}; a
+ * {@link Configurations} keeps one next to each pure {@link
+ * Converter} it has registered, and consults it when converting.</p>
+ *
+ * <p>At most a fixed number of results are remembered.  When that
+ * number would be exceeded, every remembered result is forgotten and
+ * remembering starts afresh; this is crude, but cheap, and
+ * configuration values are drawn from a small set in practice.</p>
+ *
+ * @param <T> the type of {@link Object} to which {@link String}
+ * values may be converted
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Converter#isPure()
+ *
+ * @see Configurations#getValue(java.util.Map, String, Converter, String)
+ */
+final class ConversionMemo<T> {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The default maximum number of results a {@link ConversionMemo}
+   * will remember.
+   */
+  static final int DEFAULT_CAPACITY = 256;
+
+  /**
+   * An {@link Object} standing in for a {@code null} result, since
+   * {@link ConcurrentHashMap} does not permit {@code null} values.
+   */
+  private static final Object NULL = new Object();
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The {@link Converter} whose results are remembered.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Converter<T> converter;
+
+  /**
+   * The maximum number of results this {@link ConversionMemo} will
+   * remember.
+   */
+  private final int capacity;
+
+  /**
+   * The remembered results, indexed by the {@link String}s from which
+   * they were converted.
+   */
+  private final ConcurrentMap<String, Object> results;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConversionMemo} that remembers at most
+   * {@link #DEFAULT_CAPACITY} results.
+   *
+   * @param converter the {@link Converter} whose results will be
+   * remembered; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code converter} is {@code
+   * null}
+   */
+  ConversionMemo(final Converter<T> converter) {
+    this(converter, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a new {@link ConversionMemo}.
+   *
+   * @param converter the {@link Converter} whose results will be
+   * remembered; must not be {@code null}
+   *
+   * @param capacity the maximum number of results to remember; must
+   * be greater than zero
+   *
+   * @exception NullPointerException if {@code converter} is {@code
+   * null}
+   *
+   * @exception IllegalArgumentException if {@code capacity} is less
+   * than {@code 1}
+   */
+  ConversionMemo(final Converter<T> converter, final int capacity) {
+    super();
+    this.converter = Objects.requireNonNull(converter);
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity < 1: " + capacity);
+    }
+    this.capacity = capacity;
+    this.results = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the {@link Converter} whose results this {@link
+   * ConversionMemo} remembers.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the non-{@code null} {@link Converter}
+   */
+  final Converter<T> getConverter() {
+    return this.converter;
+  }
+
+  /**
+   * Converts the supplied {@code value} by returning the result the
+   * {@linkplain #getConverter() <code>Converter</code>} previously
+   * produced for it, or by invoking the {@link Converter} and
+   * remembering its result.
+   *
+   * <p>{@code null} values are never remembered; nor are the outcomes
+   * of conversions that throw exceptions.</p>
+   *
+   * @param value the value to convert; may be {@code null}
+   *
+   * @return the converted value, which may be {@code null}
+   */
+  final T convert(final String value) {
+    final T returnValue;
+    if (value == null) {
+      returnValue = this.converter.convert(null);
+    } else {
+      Object result = this.results.get(value);
+      if (result == null) {
+        final T converted = this.converter.convert(value);
+        result = converted == null ? NULL : converted;
+        if (this.results.size() >= this.capacity) {
+          this.results.clear();
+        }
+        this.results.putIfAbsent(value, result);
+      }
+      if (result == NULL) {
+        returnValue = null;
+      } else {
+        @SuppressWarnings("unchecked")
+        final T t = (T)result;
+        returnValue = t;
+      }
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,256 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import java.lang.reflect.Type;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.Set;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A record of the {@link Converter} classes listed in {@code
+ * META-INF/services/org.microbean.configuration.spi.Converter}
+ * resources, together with the {@link Type}s they convert to as
+ * recorded in {@code
+ * META-INF/microbean-configuration/converter-index.properties}
+ * resources, so that each {@link Converter} can be loaded and
+ * instantiated only when its {@link Type} is first requested.
+ *
+ * <p>Each {@code converter-index.properties} resource maps {@link
+ * Converter} class names to the {@linkplain Type#getTypeName() names
+ * of the <code>Type</code>s} they convert to.  A {@link Converter}
+ * class listed as a service but absent from every index cannot be
+ * deferred, and is reported by the {@link #getUnindexedClassNames()}
+ * method so that it can be instantiated eagerly instead.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Configurations#loadConverters()
+ */
+final class ConverterIndex {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The name of the resources listing {@link Converter} classes.
+   */
+  static final String SERVICES = "META-INF/services/" + Converter.class.getName();
+
+  /**
+   * The name of the resources recording the {@link Type}s {@link
+   * Converter} classes convert to.
+   */
+  static final String INDEX = "META-INF/microbean-configuration/converter-index.properties";
+
+  /**
+   * The most recently created {@link ConverterIndex}.
+   *
+   * <p>This field may be {@code null}.</p>
+   *
+   * @see #get()
+   */
+  private static volatile ConverterIndex instance;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final ClassLoader classLoader;
+
+  private final Map<String, String> classNamesByTypeName;
+
+  private final List<String> unindexedClassNames;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private ConverterIndex(final ClassLoader classLoader) throws IOException {
+    super();
+    this.classLoader = classLoader;
+    final Set<String> classNames = new LinkedHashSet<>();
+    Enumeration<URL> urls = this.classLoader.getResources(SERVICES);
+    while (urls.hasMoreElements()) {
+      try (final BufferedReader reader = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final int hash = line.indexOf('#');
+          final String className = (hash < 0 ? line : line.substring(0, hash)).trim();
+          if (!className.isEmpty()) {
+            classNames.add(className);
+          }
+        }
+      }
+    }
+    final Properties index = new Properties();
+    urls = this.classLoader.getResources(INDEX);
+    while (urls.hasMoreElements()) {
+      try (final InputStream stream = urls.nextElement().openStream()) {
+        index.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+      }
+    }
+    final Map<String, String> classNamesByTypeName = new LinkedHashMap<>();
+    final List<String> unindexedClassNames = new ArrayList<>();
+    for (final String className : classNames) {
+      final String typeName = index.getProperty(className);
+      if (typeName == null) {
+        unindexedClassNames.add(className);
+      } else {
+        // As when Converters are loaded eagerly, two Converters for
+        // the same Type are an error.
+        final String otherClassName = classNamesByTypeName.putIfAbsent(typeName.trim(), className);
+        if (otherClassName != null) {
+          throw new IllegalStateException("Duplicate Converters for " + typeName.trim() + ": " + otherClassName + ", " + className);
+        }
+      }
+    }
+    this.classNamesByTypeName = Collections.unmodifiableMap(classNamesByTypeName);
+    this.unindexedClassNames = Collections.unmodifiableList(unindexedClassNames);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the name of the {@link Converter} class recorded as
+   * converting to the supplied {@link Type}, or {@code null}.
+   *
+   * @param type the {@link Type} in question; must not be {@code
+   * null}
+   *
+   * @return a {@link Converter} class name, or {@code null}
+   *
+   * @exception NullPointerException if {@code type} is {@code null}
+   */
+  final String getClassName(final Type type) {
+    return this.classNamesByTypeName.get(type.getTypeName());
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableCollection(Collection)
+   * unmodifiable} {@link Collection} of the names of all
+   * indexed {@link Converter} classes.
+   *
+   * @return a non-{@code null} {@link Collection} of class
+   * names
+   */
+  final Collection<String> getIndexedClassNames() {
+    return this.classNamesByTypeName.values();
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableList(List)
+   * unmodifiable} {@link List} of the names of {@link Converter}
+   * classes listed as services but absent from every index.
+   *
+   * @return a non-{@code null} {@link List} of class names
+   */
+  final List<String> getUnindexedClassNames() {
+    return this.unindexedClassNames;
+  }
+
+  /**
+   * Loads, if necessary, the named {@link Converter} class and
+   * returns a new instance of it.
+   *
+   * @param className the name of a {@link Converter} class; must not
+   * be {@code null}
+   *
+   * @return a new {@link Converter}; never {@code null}
+   *
+   * @exception ServiceConfigurationError if the class cannot be
+   * loaded or instantiated, exactly as {@link java.util.ServiceLoader}
+   * would report it
+   */
+  final Converter<?> newConverter(final String className) {
+    try {
+      return Class.forName(className, true, this.classLoader).asSubclass(Converter.class).getDeclaredConstructor().newInstance();
+    } catch (final ReflectiveOperationException | ClassCastException | LinkageError exception) {
+      throw new ServiceConfigurationError(Converter.class.getName() + ": Provider " + className + " could not be instantiated", exception);
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the {@link ConverterIndex} describing the resources of
+   * the current {@link Thread}'s {@linkplain
+   * Thread#getContextClassLoader() context <code>ClassLoader</code>},
+   * which is the {@link ClassLoader} {@link
+   * java.util.ServiceLoader#load(Class)} uses.
+   *
+   * @return a non-{@code null} {@link ConverterIndex}
+   *
+   * @exception ServiceConfigurationError if the resources could not
+   * be read
+   */
+  static final ConverterIndex get() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (classLoader == null) {
+      // ServiceLoader#load(Class) treats a null context ClassLoader
+      // as the system ClassLoader.
+      classLoader = ClassLoader.getSystemClassLoader();
+    }
+    ConverterIndex returnValue = instance;
+    if (returnValue == null || returnValue.classLoader != classLoader) {
+      try {
+        returnValue = new ConverterIndex(classLoader);
+      } catch (final IOException ioException) {
+        throw new ServiceConfigurationError(Converter.class.getName() + ": " + ioException.getMessage(), ioException);
+      }
+      instance = returnValue;
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,476 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+
+import javax.lang.model.SourceVersion;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import javax.tools.Diagnostic;
+
+import org.microbean.configuration.ConfigurationBinding;
+
+/**
+ * An annotation processor that generates, for each interface
+ * annotated with {@link ConfigurationBinding}, a class that
+ * implements it by reading configuration properties from a {@link
+ * org.microbean.configuration.Configurations} instance.
+ *
+ * <p>Where one of the {@link org.microbean.configuration.spi.Converter}
+ * classes listed in {@code
+ * META-INF/services/org.microbean.configuration.spi.Converter}
+ * resources visible to this processor converts to exactly an
+ * accessor's return type, the generated class instantiates that
+ * {@link org.microbean.configuration.spi.Converter} directly, so no
+ * {@link org.microbean.configuration.spi.Converter} need be looked up
+ * at run time.  Otherwise the generated class asks the {@link
+ * org.microbean.configuration.Configurations} to convert to the
+ * accessor's generic return type as usual.</p>
+ *
+ * <p>This processor is not registered as a {@link
+ * java.util.ServiceLoader service}, so it does not run in every
+ * compilation that merely has this project on its classpath.  To use
+ * it, name it explicitly, either with {@code javac}'s {@code
+ * -processor} option:</p>
+ *
+ * <blockquote><pre>javac -processor org.microbean.configuration.processor.ConfigurationBindingProcessor ...</pre></blockquote>
+ *
+ * <p>or, with Maven, in the {@code maven-compiler-plugin}'s
+ * configuration:</p>
+ *
+ * <blockquote><pre>&lt;annotationProcessors&gt;
+ *   &lt;annotationProcessor&gt;org.microbean.configuration.processor.ConfigurationBindingProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;</pre></blockquote>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see ConfigurationBinding
+ */
+public final class ConfigurationBindingProcessor extends AbstractProcessor {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final String CONVERTER_SERVICES = "META-INF/services/org.microbean.configuration.spi.Converter";
+
+  private static final String CONVERTER = "org.microbean.configuration.spi.Converter";
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The names of {@link org.microbean.configuration.spi.Converter}
+   * classes indexed by the canonical names of the types they convert
+   * to.
+   *
+   * <p>This field is {@code null} until the first round of
+   * processing.</p>
+   */
+  private Map<String, String> converterClassNames;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfigurationBindingProcessor}.
+   */
+  public ConfigurationBindingProcessor() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override
+  public final Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(ConfigurationBinding.class.getName());
+  }
+
+  @Override
+  public final SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public final boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+    if (!annotations.isEmpty()) {
+      if (this.converterClassNames == null) {
+        this.converterClassNames = this.findConverterClassNames();
+      }
+      for (final Element element : roundEnvironment.getElementsAnnotatedWith(ConfigurationBinding.class)) {
+        if (element.getKind() != ElementKind.INTERFACE) {
+          this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@ConfigurationBinding may only be applied to interfaces", element);
+        } else if (element.getModifiers().contains(Modifier.PRIVATE)) {
+          this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@ConfigurationBinding may not be applied to private interfaces", element);
+        } else {
+          this.generate((TypeElement)element, element.getAnnotation(ConfigurationBinding.class).value());
+        }
+      }
+    }
+    return true;
+  }
+
+  private final void generate(final TypeElement type, final String prefix) {
+    final Elements elements = this.processingEnv.getElementUtils();
+    final Types types = this.processingEnv.getTypeUtils();
+    final Messager messager = this.processingEnv.getMessager();
+
+    final Map<String, ExecutableElement> accessors = new LinkedHashMap<>();
+    for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      final Set<Modifier> modifiers = method.getModifiers();
+      if (!modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.STATIC) || isObjectMethod(method, elements)) {
+        continue;
+      }
+      if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID ||
+          !method.getTypeParameters().isEmpty()) {
+        messager.printMessage(Diagnostic.Kind.ERROR, "Not an accessor: " + method, method);
+        return;
+      }
+      accessors.putIfAbsent(method.getSimpleName().toString(), method);
+    }
+
+    final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    final StringBuilder simpleName = new StringBuilder();
+    for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      if (simpleName.length() > 0) {
+        simpleName.insert(0, '_');
+      }
+      simpleName.insert(0, e.getSimpleName());
+    }
+    simpleName.append("Binder");
+    final String binderName = packageName.isEmpty() ? simpleName.toString() : packageName + "." + simpleName;
+
+    final List<String> names = new ArrayList<>();
+    final List<String> fieldNames = new ArrayList<>();
+    final List<String> fieldTypes = new ArrayList<>();
+    final Map<String, String> converterFields = new LinkedHashMap<>();
+    final List<String> initializers = new ArrayList<>();
+    for (final ExecutableElement accessor : accessors.values()) {
+      final String propertyName = propertyName(accessor);
+      final String name = prefix.isEmpty() ? propertyName : prefix + "." + propertyName;
+      names.add(name);
+      final String fieldName = accessor.getSimpleName().toString();
+      fieldNames.add(fieldName);
+      final TypeMirror returnType = accessor.getReturnType();
+      fieldTypes.add(returnType.toString());
+      final boolean primitive = returnType.getKind().isPrimitive();
+      final TypeMirror boxedType = primitive ? types.boxedClass((PrimitiveType)returnType).asType() : returnType;
+      final String boxedTypeName = boxedType.toString();
+      final String converterClassName = this.converterClassNames.get(boxedTypeName);
+      final String read;
+      if (converterClassName == null) {
+        read = "configurations.<" + boxedTypeName + ">getValue(configurationCoordinates, " + literal(name) +
+          ", new org.microbean.configuration.api.TypeLiteral<" + boxedTypeName + ">() {}.getType(), null)";
+      } else {
+        String converterField = converterFields.get(converterClassName);
+        if (converterField == null) {
+          converterField = "CONVERTER_" + converterFields.size();
+          converterFields.put(converterClassName, converterField);
+        }
+        read = "configurations.getValue(configurationCoordinates, " + literal(name) + ", " + converterField + ", null)";
+      }
+      if (primitive) {
+        initializers.add("    final " + boxedTypeName + " " + fieldName + " = " + read + ";\n" +
+                         "    this." + fieldName + " = " + fieldName + " == null ? " + defaultValue(returnType.getKind()) + " : " + fieldName + "." + returnType + "Value();\n");
+      } else {
+        initializers.add("    this." + fieldName + " = " + read + ";\n");
+      }
+    }
+
+    final Filer filer = this.processingEnv.getFiler();
+    try (final PrintWriter out = new PrintWriter(filer.createSourceFile(binderName, type).openWriter())) {
+      if (!packageName.isEmpty()) {
+        out.println("package " + packageName + ";");
+        out.println();
+      }
+      out.println("/**");
+      out.println(" * An implementation of {@link " + type.getQualifiedName() + "} whose");
+      out.println(" * values are read from a {@link org.microbean.configuration.Configurations}");
+      out.println(" * when it is constructed.");
+      out.println(" *");
+      out.println(" * <p>Generated by {@link " + this.getClass().getName() + "}; do not edit.</p>");
+      out.println(" */");
+      out.println("public final class " + simpleName + " implements " + type.getQualifiedName() + " {");
+      out.println();
+      out.println("  /**");
+      out.println("   * The names of the configuration properties this class reads.");
+      out.println("   */");
+      out.print("  public static final java.util.Set<java.lang.String> NAMES = java.util.Collections.unmodifiableSet(new java.util.LinkedHashSet<>(java.util.Arrays.asList(");
+      for (int i = 0; i < names.size(); i++) {
+        if (i > 0) {
+          out.print(", ");
+        }
+        out.print(literal(names.get(i)));
+      }
+      out.println(")));");
+      for (final Map.Entry<String, String> entry : converterFields.entrySet()) {
+        out.println();
+        out.println("  private static final " + entry.getKey() + " " + entry.getValue() + " = new " + entry.getKey() + "();");
+      }
+      for (int i = 0; i < fieldNames.size(); i++) {
+        out.println();
+        out.println("  private final " + fieldTypes.get(i) + " " + fieldNames.get(i) + ";");
+      }
+      out.println();
+      out.println("  /**");
+      out.println("   * Creates a new {@link " + simpleName + "}.");
+      out.println("   *");
+      out.println("   * @param configurations the {@link org.microbean.configuration.Configurations}");
+      out.println("   * to read values from; must not be {@code null}");
+      out.println("   *");
+      out.println("   * @param configurationCoordinates the configuration coordinates in");
+      out.println("   * effect; may be {@code null}");
+      out.println("   */");
+      out.println("  public " + simpleName + "(final org.microbean.configuration.Configurations configurations, final java.util.Map<java.lang.String, java.lang.String> configurationCoordinates) {");
+      out.println("    super();");
+      out.println("    java.util.Objects.requireNonNull(configurations);");
+      for (final String initializer : initializers) {
+        out.print(initializer);
+      }
+      out.println("  }");
+      int i = 0;
+      for (final ExecutableElement accessor : accessors.values()) {
+        out.println();
+        out.println("  @Override");
+        out.println("  public final " + fieldTypes.get(i) + " " + accessor.getSimpleName() + "() {");
+        out.println("    return this." + fieldNames.get(i) + ";");
+        out.println("  }");
+        i++;
+      }
+      out.println();
+      out.println("}");
+    } catch (final IOException ioException) {
+      messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + binderName + ": " + ioException, type);
+    }
+  }
+
+  /**
+   * Returns the names of the {@link
+   * org.microbean.configuration.spi.Converter} classes listed in
+   * service files visible to this processor, indexed by the canonical
+   * names of the types they convert to.
+   */
+  private final Map<String, String> findConverterClassNames() {
+    final Map<String, String> returnValue = new HashMap<>();
+    final Elements elements = this.processingEnv.getElementUtils();
+    final Types types = this.processingEnv.getTypeUtils();
+    final TypeElement converterElement = elements.getTypeElement(CONVERTER);
+    if (converterElement != null) {
+      final TypeMirror converterType = types.erasure(converterElement.asType());
+      try {
+        final Enumeration<URL> urls = this.getClass().getClassLoader().getResources(CONVERTER_SERVICES);
+        while (urls.hasMoreElements()) {
+          try (final BufferedReader reader = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+              final int hash = line.indexOf('#');
+              final String className = (hash < 0 ? line : line.substring(0, hash)).trim();
+              if (!className.isEmpty()) {
+                final TypeElement converterClass = elements.getTypeElement(className);
+                if (converterClass != null && converterClass.getModifiers().contains(Modifier.PUBLIC)) {
+                  final TypeMirror convertedType = convertedType(converterClass.asType(), converterType, types);
+                  if (convertedType != null) {
+                    returnValue.putIfAbsent(convertedType.toString(), className);
+                  }
+                }
+              }
+            }
+          }
+        }
+      } catch (final IOException ioException) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not read " + CONVERTER_SERVICES + ": " + ioException);
+      }
+    }
+    return returnValue;
+  }
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the type argument supplied to {@code
+   * org.microbean.configuration.spi.Converter} somewhere in the
+   * superclass hierarchy of the supplied type, or {@code null}.
+   */
+  private static final TypeMirror convertedType(final TypeMirror type, final TypeMirror converterType, final Types types) {
+    TypeMirror returnValue = null;
+    for (TypeMirror t = type; t.getKind() == TypeKind.DECLARED; ) {
+      if (types.isSameType(types.erasure(t), converterType)) {
+        final List<? extends TypeMirror> typeArguments = ((DeclaredType)t).getTypeArguments();
+        if (typeArguments.size() == 1 &&
+            (typeArguments.get(0).getKind() == TypeKind.DECLARED || typeArguments.get(0).getKind() == TypeKind.ARRAY)) {
+          returnValue = typeArguments.get(0);
+        }
+        break;
+      }
+      final List<? extends TypeMirror> supertypes = types.directSupertypes(t);
+      if (supertypes.isEmpty()) {
+        break;
+      }
+      t = supertypes.get(0);
+    }
+    return returnValue;
+  }
+
+  private static final boolean isObjectMethod(final ExecutableElement method, final Elements elements) {
+    if (method.getParameters().isEmpty()) {
+      final TypeElement object = elements.getTypeElement("java.lang.Object");
+      for (final ExecutableElement objectMethod : ElementFilter.methodsIn(object.getEnclosedElements())) {
+        if (objectMethod.getParameters().isEmpty() && objectMethod.getSimpleName().equals(method.getSimpleName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the name of the configuration property that the supplied
+   * accessor represents, following the same rules as {@link
+   * org.microbean.configuration.Configurations#bind(Class, String,
+   * Map)}.
+   */
+  private static final String propertyName(final ExecutableElement method) {
+    final String name = method.getSimpleName().toString();
+    final TypeMirror returnType = method.getReturnType();
+    final String returnValue;
+    if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+      returnValue = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+    } else if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2)) &&
+               (returnType.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(returnType.toString()))) {
+      returnValue = Character.toLowerCase(name.charAt(2)) + name.substring(3);
+    } else {
+      returnValue = name;
+    }
+    return returnValue;
+  }
+
+  private static final String defaultValue(final TypeKind kind) {
+    final String returnValue;
+    switch (kind) {
+    case BOOLEAN:
+      returnValue = "false";
+      break;
+    case CHAR:
+      returnValue = "'\\0'";
+      break;
+    case LONG:
+      returnValue = "0L";
+      break;
+    case FLOAT:
+      returnValue = "0F";
+      break;
+    case DOUBLE:
+      returnValue = "0D";
+      break;
+    case BYTE:
+      returnValue = "(byte)0";
+      break;
+    case SHORT:
+      returnValue = "(short)0";
+      break;
+    default:
+      returnValue = "0";
+      break;
+    }
+    return returnValue;
+  }
+
+  private static final String literal(final String s) {
+    final StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+      case '"':
+        sb.append("\\\"");
+        break;
+      case '\\':
+        sb.append("\\\\");
+        break;
+      case '\n':
+        sb.append("\\n");
+        break;
+      case '\r':
+        sb.append("\\r");
+        break;
+      case '\t':
+        sb.append("\\t");
+        break;
+      default:
+        if (c < 0x20 || c > 0x7E) {
+          sb.append(String.format("\\u%04x", (int)c));
+        } else {
+          sb.append(c);
+        }
+        break;
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+}
@@ -25,6 +25,8 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.microbean.configuration.Configurations;
+
 import org.microbean.configuration.api.ConfigurationValue;
 
 /**
@@ -49,6 +51,19 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
 
   private final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> resourceLoader;
 
+  /**
+   * A {@link DefaultResource} recording what the {@linkplain
+   * #AbstractResourceLoadingConfiguration(Function) resource loader}
+   * most recently returned when it was supplied with {@code null}
+   * coordinates, or {@code null} if it has not been consulted since
+   * construction or the last {@linkplain #reload() reload}.
+   *
+   * @see #loadDefaultResource()
+   *
+   * @see #reload()
+   */
+  private transient volatile DefaultResource<T> defaultResource;
+
 
   /*
    * Constructors.
@@ -83,20 +98,110 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
    */
 
 
+  /**
+   * Returns the rank of this {@link AbstractResourceLoadingConfiguration}.
+   *
+   * <p>This implementation returns the result of calling the {@link
+   * #getRank(Resource)} method with the {@link Resource} returned by
+   * the {@linkplain #AbstractResourceLoadingConfiguration(Function)
+   * resource loader} for {@code null} coordinates.  That {@link
+   * Resource} is loaded, and its rank computed, only once until the
+   * next {@linkplain #reload() reload}.</p>
+   *
+   * @return the rank of this {@link
+   * AbstractResourceLoadingConfiguration}
+   *
+   * @see #getRank(Resource)
+   *
+   * @see #reload()
+   */
   @Override
   public int getRank() {
     final int returnValue;
     if (this.resourceLoader == null) {
       returnValue = 100;
     } else {
-      returnValue = this.getRank(this.resourceLoader.apply(null));
+      final DefaultResource<T> defaultResource = this.loadDefaultResource();
+      assert defaultResource != null;
+      Integer rank = defaultResource.rank;
+      if (rank == null) {
+        rank = Integer.valueOf(this.getRank(defaultResource.resource));
+        defaultResource.rank = rank;
+      }
+      returnValue = rank.intValue();
     }
     return returnValue;
   }
 
+  /**
+   * Returns the rank that the supplied {@link Resource} confers on
+   * this {@link AbstractResourceLoadingConfiguration}.
+   *
+   * <p>This method is called at most once per loaded {@link
+   * Resource} by the {@link #getRank()} method, so overrides may
+   * perform comparatively expensive work, such as parsing a rank out
+   * of the resource.</p>
+   *
+   * <p>The default implementation returns {@code 100}.</p>
+   *
+   * @param resource the {@link Resource}; may be {@code null}
+   *
+   * @return a rank
+   */
   protected int getRank(final Resource<? extends T> resource) {
     return 100;
   }
+
+  /**
+   * Discards any {@link Resource}s cached by this {@link
+   * AbstractResourceLoadingConfiguration}, and by its {@linkplain
+   * #AbstractResourceLoadingConfiguration(Function) resource loader}
+   * if that is a {@link CachingResourceLoader}, together with the
+   * ranks computed from them, and then {@linkplain
+   * Configurations#invalidate(Configuration, Set) reports} that any
+   * of its values may have changed.
+   *
+   * @see CachingResourceLoader#clear()
+   *
+   * @see Configurations#invalidate(Configuration, Set)
+   */
+  public void reload() {
+    if (this.resourceLoader instanceof CachingResourceLoader) {
+      ((CachingResourceLoader<?>)this.resourceLoader).clear();
+    }
+    this.defaultResource = null;
+    final Configurations configurations = this.getConfigurations();
+    if (configurations != null) {
+      configurations.invalidate(this, null);
+    }
+  }
+
+  /**
+   * Returns a {@link DefaultResource} recording what the {@linkplain
+   * #AbstractResourceLoadingConfiguration(Function) resource loader}
+   * returns for {@code null} coordinates, consulting the loader only
+   * if it has not been consulted since construction or the last
+   * {@linkplain #reload() reload}.
+   *
+   * <p>A {@code null} result from the resource loader is remembered
+   * just like any other.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>This method must not be called if there is no resource
+   * loader.</p>
+   *
+   * @return a non-{@code null} {@link DefaultResource}
+   */
+  private final DefaultResource<T> loadDefaultResource() {
+    assert this.resourceLoader != null;
+    DefaultResource<T> returnValue = this.defaultResource;
+    if (returnValue == null) {
+      returnValue = new DefaultResource<>(this.resourceLoader.apply(null));
+      this.defaultResource = returnValue;
+    }
+    return returnValue;
+  }
   
   /**
    * {@inheritDoc}
@@ -127,6 +232,33 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
     return returnValue;
   }
 
+  /**
+   * Returns the {@link Resource} that the {@linkplain
+   * #AbstractResourceLoadingConfiguration(Function) resource loader}
+   * returns for the supplied configuration coordinates, and hence the
+   * one from which the {@link #getValue(Map, String)} method would
+   * draw values for them.
+   *
+   * <p>This method may return {@code null}, in which case no values
+   * are available for the supplied configuration coordinates.</p>
+   *
+   * @param coordinates the requested configuration coordinates; may
+   * be {@code null}
+   *
+   * @return a {@link Resource}, or {@code null}
+   *
+   * @see Resource#getCoordinates()
+   */
+  public final Resource<? extends T> getResource(final Map<String, String> coordinates) {
+    final Resource<? extends T> returnValue;
+    if (this.resourceLoader == null) {
+      returnValue = null;
+    } else {
+      returnValue = this.resourceLoader.apply(coordinates);
+    }
+    return returnValue;
+  }
+
   @Override
   public Set<String> getNames() {
     final Set<String> returnValue;
@@ -179,11 +311,41 @@ public abstract class AbstractResourceLoadingConfiguration<T> extends AbstractCo
 
   protected abstract Set<String> getNames(final Resource<? extends T> resource);
 
+
   /*
    * Inner and nested classes.
    */
 
 
+  /**
+   * The {@link Resource}, possibly {@code null}, that an {@link
+   * AbstractResourceLoadingConfiguration}'s resource loader returned
+   * for {@code null} coordinates, together with the rank computed
+   * from it.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see AbstractResourceLoadingConfiguration#getRank()
+   */
+  private static final class DefaultResource<T> {
+
+    private final Resource<? extends T> resource;
+
+    /**
+     * The rank computed from {@link #resource}, or {@code null} if it
+     * has not yet been computed.
+     */
+    private volatile Integer rank;
+
+    private DefaultResource(final Resource<? extends T> resource) {
+      super();
+      this.resource = resource;
+    }
+
+  }
+
+
   /**
    * A {@link Supplier} of a particular kind of resource from which
    * configuration property values may be retrieved.
@@ -26,9 +26,17 @@ import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Reso
 
 public class CachingResourceLoader<T> implements Function<Map<? extends String, ? extends String>, Resource<? extends T>> {
 
+  /**
+   * The key under which the {@link Resource} loaded for {@code null}
+   * configuration coordinates is cached, since {@link
+   * ConcurrentHashMap} does not permit {@code null} keys and {@code
+   * null} coordinates are not the same as empty ones.
+   */
+  private static final Object NULL_COORDINATES = new Object();
+
   private final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> delegate;
 
-  private final Map<Map<? extends String, ? extends String>, Resource<? extends T>> cache;
+  private final Map<Object, Resource<? extends T>> cache;
   
   public CachingResourceLoader(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends T>> delegate) {
     super();
@@ -37,7 +45,27 @@ public class CachingResourceLoader<T> implements Function<Map<? extends String,
   }
 
   public Resource<? extends T> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
-    return this.cache == null ? null : this.cache.computeIfAbsent(requestedConfigurationCoordinates, k -> this.delegate.apply(k));
+    final Resource<? extends T> returnValue;
+    if (this.cache == null) {
+      returnValue = null;
+    } else if (requestedConfigurationCoordinates == null) {
+      returnValue = this.cache.computeIfAbsent(NULL_COORDINATES, k -> this.delegate.apply(null));
+    } else {
+      returnValue = this.cache.computeIfAbsent(requestedConfigurationCoordinates, k -> this.delegate.apply(requestedConfigurationCoordinates));
+    }
+    return returnValue;
+  }
+
+  /**
+   * Discards every cached {@link Resource}, so that subsequent
+   * requests are satisfied by the delegate loader.
+   *
+   * @see AbstractResourceLoadingConfiguration#reload()
+   */
+  public void clear() {
+    if (this.cache != null) {
+      this.cache.clear();
+    }
   }
 
 }
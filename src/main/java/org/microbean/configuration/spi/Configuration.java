@@ -114,5 +114,40 @@ public interface Configuration {
    * @return a non-{@code null} {@link Set} of names
    */
   public Set<String> getNames();
+
+  /**
+   * Returns a {@link Set} of the sets of configuration coordinates
+   * with which the {@link ConfigurationValue}s returned by this
+   * {@link Configuration} may be {@linkplain
+   * ConfigurationValue#getCoordinates() qualified}, or {@code null}
+   * if they are not known in advance.
+   *
+   * <p>Implementations of this method may return {@code null}.</p>
+   *
+   * <p>If this method returns a non-{@code null} {@link Set}, then
+   * every {@link ConfigurationValue} returned by the {@link
+   * #getValue(Map, String)} method must have configuration
+   * coordinates equal to one of its elements, where an empty {@link
+   * Map} stands for {@code null} coordinates.  A {@link
+   * Configurations} may then skip this {@link Configuration}
+   * altogether for requests whose configuration coordinates do not
+   * contain any of them.</p>
+   *
+   * <p>The {@link Set} that is returned may change only after this
+   * {@link Configuration} has {@linkplain
+   * Configurations#invalidate(Configuration, Set) reported} that any
+   * of its values may have changed.</p>
+   *
+   * <p>The default implementation of this method returns {@code
+   * null}.</p>
+   *
+   * @return a {@link Set} of sets of configuration coordinates, or
+   * {@code null}
+   *
+   * @see Configurations#invalidate(Configuration, Set)
+   */
+  public default Set<Map<String, String>> getCoordinateSets() {
+    return null;
+  }
   
 }
@@ -104,6 +104,21 @@ public final class ConfigurationCoordinates extends AbstractConfiguration implem
     return returnValue;
   }
 
+  /**
+   * Returns a {@link Set} whose sole element is an empty {@link Map},
+   * since the configuration coordinates themselves are not
+   * qualified by any.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of sets of configuration
+   * coordinates
+   */
+  @Override
+  public final Set<Map<String, String>> getCoordinateSets() {
+    return Collections.singleton(Collections.emptyMap());
+  }
+
   /**
    * Returns a {@link Set} of the names of all {@link
    * ConfigurationValue}s that might be returned by this {@link
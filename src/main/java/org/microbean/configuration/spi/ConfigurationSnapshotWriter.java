@@ -0,0 +1,368 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.zip.CRC32;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+
+import org.microbean.configuration.spi.converter.StringToStringConverter;
+
+/**
+ * Writes the effective contents of a {@link Configurations} instance
+ * to a binary snapshot that a {@link SnapshotConfiguration} can
+ * later memory-map and search without parsing.
+ *
+ * <p>For each set of configuration coordinates supplied to the {@link
+ * #write(Collection, OutputStream)} method, and for each {@linkplain
+ * Configurations#getNames() name} known to the {@link
+ * Configurations}, the value that the {@link Configurations} would
+ * {@linkplain Configurations#getValue(Map, String, Converter) return
+ * as a <code>String</code>} is recorded.  Values are therefore
+ * recorded after arbitration and interpolation have taken place.</p>
+ *
+ * <h2>Format</h2>
+ *
+ * <p>All integers are big-endian, and all offsets are absolute
+ * offsets from the start of the snapshot.</p>
+ *
+ * <ol>
+ *
+ * <li>A 24-byte header: the magic number {@code 0x4D434653}, an
+ * unsigned 16-bit format version, 16 reserved bits, the string count,
+ * the coordinate set count, the entry count and the CRC-32 checksum
+ * of every byte following the header.</li>
+ *
+ * <li>The string offset table: one 32-bit offset per string, followed
+ * by the offset of the end of the string data.  Strings are unique
+ * and sorted by their UTF-8 bytes, compared as unsigned values, so a
+ * string's index orders the same way the string does.</li>
+ *
+ * <li>The coordinate set offset table: one 32-bit offset per
+ * coordinate set.  Coordinate sets are ordered from most to least
+ * {@linkplain org.microbean.configuration.api.ConfigurationValue#specificity()
+ * specific}.</li>
+ *
+ * <li>The entry table: one 12-byte entry per recorded value, holding
+ * the string index of the name, the index of the coordinate set and
+ * the string index of the value.  Entries are sorted by name index
+ * and then by coordinate set index.</li>
+ *
+ * <li>The coordinate sets: for each, a 32-bit pair count followed by
+ * that many pairs of string indices (key and value), sorted by
+ * key.</li>
+ *
+ * <li>The string data: the UTF-8 bytes of every string, back to
+ * back.</li>
+ *
+ * </ol>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see SnapshotConfiguration
+ */
+public class ConfigurationSnapshotWriter {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Configurations configurations;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfigurationSnapshotWriter}.
+   *
+   * @param configurations the {@link Configurations} whose effective
+   * contents will be written; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code configurations} is
+   * {@code null}
+   */
+  public ConfigurationSnapshotWriter(final Configurations configurations) {
+    super();
+    this.configurations = Objects.requireNonNull(configurations);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Writes a snapshot to the supplied {@link Path}, replacing any
+   * file already there atomically where the platform permits.
+   *
+   * @param coordinateSets the sets of configuration coordinates for
+   * which values should be recorded; if {@code null} or empty, then
+   * only the {@linkplain Configurations#getConfigurationCoordinates()
+   * default configuration coordinates} will be used
+   *
+   * @param path the {@link Path} to write to; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception IOException if the snapshot could not be written
+   *
+   * @see #write(Collection, OutputStream)
+   */
+  public void write(final Collection<? extends Map<String, String>> coordinateSets, final Path path) throws IOException {
+    final Path absolutePath = path.toAbsolutePath();
+    final Path temporaryFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+    try {
+      try (final OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+        this.write(coordinateSets, outputStream);
+      }
+      try {
+        Files.move(temporaryFile, absolutePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (final IOException atomicMoveFailed) {
+        Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Writes a snapshot to the supplied {@link OutputStream}.
+   *
+   * @param coordinateSets the sets of configuration coordinates for
+   * which values should be recorded; if {@code null} or empty, then
+   * only the {@linkplain Configurations#getConfigurationCoordinates()
+   * default configuration coordinates} will be used
+   *
+   * @param outputStream the {@link OutputStream} to write to; must
+   * not be {@code null}; will not be closed
+   *
+   * @exception NullPointerException if {@code outputStream} is {@code
+   * null}
+   *
+   * @exception IOException if the snapshot could not be written
+   *
+   * @exception ConfigurationException if the {@link Configurations}
+   * could not produce a value, or if a name, value or coordinate
+   * contains an unpaired surrogate and so cannot be encoded in UTF-8
+   */
+  public void write(Collection<? extends Map<String, String>> coordinateSets, final OutputStream outputStream) throws IOException {
+    Objects.requireNonNull(outputStream);
+    if (coordinateSets == null || coordinateSets.isEmpty()) {
+      coordinateSets = Collections.singleton(this.configurations.getConfigurationCoordinates());
+    }
+
+    // Normalize and deduplicate the coordinate sets, then order them
+    // from most to least specific, so that the first entry for a name
+    // whose coordinate set applies to a request is the best one;
+    // SnapshotConfiguration checks equally specific entries that
+    // follow it for disagreement.
+    final Set<Map<String, String>> uniqueCoordinateSets = new LinkedHashSet<>();
+    for (final Map<String, String> coordinateSet : coordinateSets) {
+      if (coordinateSet == null) {
+        uniqueCoordinateSets.add(Collections.emptyMap());
+      } else {
+        uniqueCoordinateSets.add(coordinateSet);
+      }
+    }
+    final List<Map<String, String>> sets = new ArrayList<>(uniqueCoordinateSets);
+    sets.sort((a, b) -> Integer.compare(b.size(), a.size()));
+
+    final Set<String> names = this.configurations.getNames();
+    final Converter<String> converter = new StringToStringConverter();
+    final Set<String> strings = new LinkedHashSet<>();
+    final List<String[]> entries = new ArrayList<>();
+    final List<Integer> entryCoordinateSetIndices = new ArrayList<>();
+    for (int i = 0; i < sets.size(); i++) {
+      final Map<String, String> set = sets.get(i);
+      for (final Map.Entry<String, String> pair : set.entrySet()) {
+        strings.add(pair.getKey());
+        strings.add(pair.getValue());
+      }
+      for (final String name : names) {
+        final String value = this.configurations.getValue(set, name, converter);
+        if (value != null) {
+          strings.add(name);
+          strings.add(value);
+          entries.add(new String[] { name, value });
+          entryCoordinateSetIndices.add(Integer.valueOf(i));
+        }
+      }
+    }
+
+    // Build the sorted string table.  Strings are indexed by
+    // themselves, not by what their encodings decode to.
+    final Map<String, byte[]> encodings = new HashMap<>();
+    for (final String string : strings) {
+      encodings.put(string, encode(string));
+    }
+    final List<String> sortedStrings = new ArrayList<>(strings);
+    sortedStrings.sort((a, b) -> SnapshotConfiguration.compareUnsigned(encodings.get(a), encodings.get(b)));
+    final List<byte[]> encodedStrings = new ArrayList<>(sortedStrings.size());
+    final Map<String, Integer> stringIndices = new HashMap<>();
+    for (int i = 0; i < sortedStrings.size(); i++) {
+      final String string = sortedStrings.get(i);
+      encodedStrings.add(encodings.get(string));
+      stringIndices.put(string, Integer.valueOf(i));
+    }
+
+    // Build the sorted entry table.
+    final int entryCount = entries.size();
+    final int[][] entryTable = new int[entryCount][];
+    for (int i = 0; i < entryCount; i++) {
+      final String[] entry = entries.get(i);
+      entryTable[i] = new int[] { stringIndices.get(entry[0]).intValue(), entryCoordinateSetIndices.get(i).intValue(), stringIndices.get(entry[1]).intValue() };
+    }
+    Arrays.sort(entryTable, (a, b) -> a[0] == b[0] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+
+    // Lay out the snapshot.
+    final int stringCount = encodedStrings.size();
+    final int coordinateSetCount = sets.size();
+    int offset = SnapshotConfiguration.HEADER_LENGTH;
+    offset += 4 * (stringCount + 1);
+    offset += 4 * coordinateSetCount;
+    offset += 12 * entryCount;
+    final int[] coordinateSetOffsets = new int[coordinateSetCount];
+    for (int i = 0; i < coordinateSetCount; i++) {
+      coordinateSetOffsets[i] = offset;
+      offset += 4 + 8 * sets.get(i).size();
+    }
+    final int stringDataOffset = offset;
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, stringDataOffset * 2));
+    final DataOutputStream data = new DataOutputStream(bytes);
+
+    data.writeInt(SnapshotConfiguration.MAGIC);
+    data.writeShort(SnapshotConfiguration.VERSION);
+    data.writeShort(0);
+    data.writeInt(stringCount);
+    data.writeInt(coordinateSetCount);
+    data.writeInt(entryCount);
+    data.writeInt(0); // checksum; patched below
+
+    offset = stringDataOffset;
+    for (final byte[] encodedString : encodedStrings) {
+      data.writeInt(offset);
+      offset += encodedString.length;
+    }
+    data.writeInt(offset);
+
+    for (final int coordinateSetOffset : coordinateSetOffsets) {
+      data.writeInt(coordinateSetOffset);
+    }
+
+    for (final int[] entry : entryTable) {
+      data.writeInt(entry[0]);
+      data.writeInt(entry[1]);
+      data.writeInt(entry[2]);
+    }
+
+    for (final Map<String, String> set : sets) {
+      final int[][] pairs = new int[set.size()][];
+      int i = 0;
+      for (final Map.Entry<String, String> pair : set.entrySet()) {
+        pairs[i++] = new int[] { stringIndices.get(pair.getKey()).intValue(), stringIndices.get(pair.getValue()).intValue() };
+      }
+      Arrays.sort(pairs, (a, b) -> Integer.compare(a[0], b[0]));
+      data.writeInt(pairs.length);
+      for (final int[] pair : pairs) {
+        data.writeInt(pair[0]);
+        data.writeInt(pair[1]);
+      }
+    }
+
+    for (final byte[] encodedString : encodedStrings) {
+      data.write(encodedString);
+    }
+    data.flush();
+
+    final byte[] snapshot = bytes.toByteArray();
+    final CRC32 crc = new CRC32();
+    crc.update(snapshot, SnapshotConfiguration.HEADER_LENGTH, snapshot.length - SnapshotConfiguration.HEADER_LENGTH);
+    final int checksum = (int)crc.getValue();
+    snapshot[SnapshotConfiguration.CHECKSUM_OFFSET] = (byte)(checksum >>> 24);
+    snapshot[SnapshotConfiguration.CHECKSUM_OFFSET + 1] = (byte)(checksum >>> 16);
+    snapshot[SnapshotConfiguration.CHECKSUM_OFFSET + 2] = (byte)(checksum >>> 8);
+    snapshot[SnapshotConfiguration.CHECKSUM_OFFSET + 3] = (byte)checksum;
+    outputStream.write(snapshot);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the UTF-8 encoding of the supplied {@link String}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @param string the {@link String} to encode; must not be {@code
+   * null}
+   *
+   * @return the UTF-8 encoding of {@code string}; never {@code null}
+   *
+   * @exception ConfigurationException if {@code string} contains an
+   * unpaired surrogate, which UTF-8 cannot represent, so that it
+   * would not survive being written and read back
+   */
+  private static final byte[] encode(final String string) {
+    final int length = string.length();
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        throw new ConfigurationException("Cannot write an unpaired surrogate (at index " + i + ") to a configuration snapshot");
+      }
+    }
+    return string.getBytes(StandardCharsets.UTF_8);
+  }
+
+}
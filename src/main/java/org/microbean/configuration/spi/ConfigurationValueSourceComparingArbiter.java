@@ -39,6 +39,20 @@ import org.microbean.configuration.api.ConfigurationValue;
 public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArbiter<ConfigurationValue> {
 
 
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * Whether the class of this {@link
+   * ConfigurationValueSourceComparingArbiter} overrides the {@link
+   * #canArbitrate(Collection)} method, in which case the {@link
+   * #arbitrate(Map, String, Collection)} method must consult it.
+   */
+  private final boolean canArbitrateOverridden;
+
+
   /*
    * Constructors.
    */
@@ -77,6 +91,7 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
           return returnValue;
         }
       });
+    this.canArbitrateOverridden = this.overridesCanArbitrate();
   }
 
 
@@ -93,6 +108,17 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
    * #ConfigurationValueSourceComparingArbiter(List) ranked} closer to
    * {@code 0}.
    *
+   * <p>The winner is selected in a single pass over the supplied
+   * {@link Collection}, which is not copied.  If any value's source
+   * is not ranked, or if the highest rank is shared by more than one
+   * value, this method declines to arbitrate by returning {@code
+   * null}, so that another {@link Arbiter} may be consulted.</p>
+   *
+   * <p>If a subclass overrides the {@link #canArbitrate(Collection)}
+   * method, then that method decides instead whether arbitration
+   * takes place, and the supplied values are sorted using the
+   * {@linkplain #getComparator() comparator} to find the winner.</p>
+   *
    * @param requestedCoordinates the ({@linkplain
    * Collections#unmodifiableMap(Map) immutable}) configuration
    * coordinates in effect for the request; may be {@code null}
@@ -115,21 +141,35 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
   public ConfigurationValue arbitrate(final Map<? extends String, ? extends String> requestedCoordinates,
                                       final String name,
                                       final Collection<? extends ConfigurationValue> ambiguousValues) {
-    final ConfigurationValue returnValue;
-    if (ambiguousValues == null || ambiguousValues.isEmpty() || !this.canArbitrate(ambiguousValues)) {
-      returnValue = null;
-    } else {
-      final int size = ambiguousValues.size();
-      assert size > 0;
-      switch (size) {
-      case 1: // pathological case
-        returnValue = ambiguousValues.iterator().next();
-        break;
-      default:
+    ConfigurationValue returnValue = null;
+    if (this.canArbitrateOverridden) {
+      if (ambiguousValues != null && !ambiguousValues.isEmpty() && this.canArbitrate(ambiguousValues)) {
         final List<? extends ConfigurationValue> list = new ArrayList<>(ambiguousValues);
         list.sort(this.getComparator());
         returnValue = list.get(0);
-        break;
+      }
+    } else if (ambiguousValues != null && !ambiguousValues.isEmpty()) {
+      final RankedComparator<ConfigurationValue> comparator = this.getComparator();
+      assert comparator != null;
+      int highestRank = -1;
+      boolean tied = false;
+      for (final ConfigurationValue value : ambiguousValues) {
+        final int rank = comparator.rankOf(value);
+        if (rank < 0) {
+          // Unranked (or null); we can't arbitrate this dispute.
+          returnValue = null;
+          tied = false;
+          break;
+        } else if (rank > highestRank) {
+          highestRank = rank;
+          returnValue = value;
+          tied = false;
+        } else if (rank == highestRank) {
+          tied = true;
+        }
+      }
+      if (tied) {
+        returnValue = null;
       }
     }
     return returnValue;
@@ -165,6 +205,8 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
    * arbitrate the conflict represented by the supplied {@link
    * Collection} of ambiguous {@link ConfigurationValue}s; {@code
    * false} otherwise
+   *
+   * @see #arbitrate(Map, String, Collection)
    */
   protected boolean canArbitrate(final Collection<? extends ConfigurationValue> ambiguousValues) {
     final boolean returnValue;
@@ -185,4 +227,26 @@ public class ConfigurationValueSourceComparingArbiter extends ComparatorBasedArb
     return returnValue;
   }
 
+  /**
+   * Returns {@code true} if the class of this {@link
+   * ConfigurationValueSourceComparingArbiter}, or any of its
+   * superclasses below {@link
+   * ConfigurationValueSourceComparingArbiter}, declares a {@link
+   * #canArbitrate(Collection)} method.
+   *
+   * @return {@code true} if {@link #canArbitrate(Collection)} is
+   * overridden; {@code false} otherwise
+   */
+  private final boolean overridesCanArbitrate() {
+    for (Class<?> c = this.getClass(); c != ConfigurationValueSourceComparingArbiter.class; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod("canArbitrate", Collection.class);
+        return true;
+      } catch (final NoSuchMethodException noSuchMethodException) {
+        // Keep looking.
+      }
+    }
+    return false;
+  }
+
 }
@@ -78,4 +78,72 @@ public abstract class Converter<T> extends TypeLiteral<T> {
    */
   public abstract T convert(final String value);
 
+  /**
+   * Converts the characters of the supplied {@link CharSequence}
+   * between the supplied indices into an {@link Object} of the
+   * appropriate type.
+   *
+   * <p>Implementations of this method are permitted to return {@code
+   * null}.</p>
+   *
+   * <p>The default implementation of this method materializes the
+   * region as a {@link String} and passes it to the {@link
+   * #convert(String)} method.  Overrides that can parse the region in
+   * place, and so avoid allocating that {@link String}, are
+   * encouraged, and must return what the {@link #convert(String)}
+   * method would return for the equivalent {@link String}.</p>
+   *
+   * <p>This method is an optional API for code that holds values as
+   * regions of larger character sequences, such as a parser's
+   * buffer.  {@link org.microbean.configuration.Configurations}
+   * always works with {@link String} values and never calls it.</p>
+   *
+   * @param value the {@link CharSequence} containing the value to
+   * convert; may be {@code null} in which case {@code start} and
+   * {@code end} are ignored and the result of invoking {@link
+   * #convert(String) convert(null)} is returned
+   *
+   * @param start the index of the first character of the value
+   *
+   * @param end the index after the last character of the value
+   *
+   * @return the converted value, which may be {@code null}
+   *
+   * @exception IndexOutOfBoundsException if {@code start} or {@code
+   * end} is out of bounds
+   */
+  public T convert(final CharSequence value, final int start, final int end) {
+    final T returnValue;
+    if (value == null) {
+      returnValue = this.convert(null);
+    } else {
+      returnValue = this.convert(value.subSequence(start, end).toString());
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns {@code true} if this {@link Converter} is <em>pure</em>:
+   * if its {@link #convert(String)} method, given equal arguments,
+   * always returns equal results, has no side effects, and returns
+   * {@link Object}s that cannot be modified, so that a result may
+   * safely be remembered and handed out again in place of a fresh
+   * conversion.
+   *
+   * <p>The default implementation of this method returns {@code
+   * false}.  Overrides must not return {@code true} if the {@link
+   * Object}s returned by the {@link #convert(String)} method are
+   * mutable (as arrays and {@link java.util.Date}s are, for
+   * example).</p>
+   *
+   * @return {@code true} if this {@link Converter} is pure; {@code
+   * false} otherwise
+   *
+   * @see org.microbean.configuration.Configurations#getValue(java.util.Map,
+   * String, Converter, String)
+   */
+  public boolean isPure() {
+    return false;
+  }
+
 }
@@ -0,0 +1,63 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.lang.reflect.Type;
+
+import java.util.function.Function;
+
+/**
+ * An object that can create {@link Converter}s for {@link Type}s,
+ * typically parameterized or array types, for which no {@link
+ * Converter} has been registered.
+ *
+ * <p>{@link ConverterFactory} instances are normally loaded by the
+ * {@link java.util.ServiceLoader} mechanism and consulted, in order,
+ * the first time a {@link Type} without a registered {@link
+ * Converter} is requested.  The {@link Converter} a {@link
+ * ConverterFactory} creates is remembered and reused for all
+ * subsequent requests for that {@link Type}.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see org.microbean.configuration.Configurations#loadConverterFactories()
+ */
+@FunctionalInterface
+public interface ConverterFactory {
+
+  /**
+   * Returns a new {@link Converter} capable of converting {@link
+   * String}s into objects of the supplied {@link Type}, or {@code
+   * null} if this {@link ConverterFactory} cannot do so.
+   *
+   * @param type the {@link Type} in question; must not be {@code
+   * null}
+   *
+   * @param converters a {@link Function} that returns a {@link
+   * Converter} for a given {@link Type}, or {@code null} if there is
+   * none, and which may be used to find {@link Converter}s for the
+   * components of {@code type}; must not be {@code null}
+   *
+   * @return a {@link Converter}, or {@code null}
+   *
+   * @exception NullPointerException if either parameter is {@code
+   * null}
+   */
+  public Converter<?> createConverter(final Type type, final Function<? super Type, ? extends Converter<?>> converters);
+
+}
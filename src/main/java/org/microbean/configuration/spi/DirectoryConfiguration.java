@@ -0,0 +1,273 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.nio.file.Path;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import org.microbean.configuration.spi.converter.StringToMapStringStringConverter;
+
+/**
+ * An {@link AbstractResourceLoadingConfiguration} that {@linkplain
+ * #getValue(Resource, Map, String) gets configuration property
+ * values} from {@link KeyPerFileDirectory} resources, such as
+ * Kubernetes {@code ConfigMap}s and {@code Secret}s mounted as
+ * volumes.
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see KeyPerFileDirectory
+ *
+ * @see #getValue(Resource, Map, String)
+ */
+public class DirectoryConfiguration extends AbstractResourceLoadingConfiguration<KeyPerFileDirectory> implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * Whether the {@linkplain
+   * #AbstractResourceLoadingConfiguration(Function) resource loader}
+   * returns the same {@link Resource} for all configuration
+   * coordinates.
+   *
+   * @see #getCoordinateSets()
+   */
+  private final boolean constant;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link DirectoryConfiguration} whose values come
+   * from the directory tree rooted at the supplied {@link Path}.
+   *
+   * <p>The configuration coordinates of the directory tree are taken
+   * from the contents of a file within it named {@value
+   * org.microbean.configuration.Configurations#CONFIGURATION_COORDINATES},
+   * if there is one.</p>
+   *
+   * @param root the root of the directory tree; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code root} is {@code null}
+   *
+   * @see #DirectoryConfiguration(Path, Map)
+   */
+  public DirectoryConfiguration(final Path root) {
+    this(root, null);
+  }
+
+  /**
+   * Creates a new {@link DirectoryConfiguration} whose values come
+   * from the directory tree rooted at the supplied {@link Path}.
+   *
+   * @param root the root of the directory tree; must not be {@code
+   * null}
+   *
+   * @param coordinates the configuration coordinates for which the
+   * directory tree supplies values; if {@code null} then they will be
+   * taken from the contents of a file within the directory tree named
+   * {@value
+   * org.microbean.configuration.Configurations#CONFIGURATION_COORDINATES},
+   * if there is one
+   *
+   * @exception NullPointerException if {@code root} is {@code null}
+   */
+  public DirectoryConfiguration(final Path root, final Map<String, String> coordinates) {
+    this(constantLoader(new KeyPerFileDirectory(root), coordinates), true);
+  }
+
+  /**
+   * Creates a new {@link DirectoryConfiguration}.
+   *
+   * @param resourceLoader a {@link Function} that accepts a {@link
+   * Map} of requested configuration coordinates and returns a {@link
+   * Resource} that can {@linkplain Resource#get() supply} a {@link
+   * KeyPerFileDirectory} to serve as a source of configuration values
+   * for use by the {@link #getValue(Resource, Map, String)} method;
+   * may be {@code null} in which case all invocations of the {@link
+   * #getValue(Map, String)} method will return {@code null}
+   *
+   * @see #getValue(Resource, Map, String)
+   *
+   * @see Resource
+   */
+  public DirectoryConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends KeyPerFileDirectory>> resourceLoader) {
+    this(resourceLoader, false);
+  }
+
+  private DirectoryConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends KeyPerFileDirectory>> resourceLoader,
+                                 final boolean constant) {
+    super(resourceLoader);
+    this.constant = constant;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation gets a {@link KeyPerFileDirectory}
+   * {@linkplain Resource#get() from the supplied
+   * <code>Resource</code>} and uses it, plus the {@linkplain
+   * Resource#getCoordinates() configuration coordinates supplied by
+   * the supplied <code>Resource</code>}, to construct and return a
+   * suitable {@link ConfigurationValue}.  The contents of the file
+   * corresponding to the supplied {@code name} are read only if they
+   * have not been read before.</p>
+   *
+   * @param directoryResource a {@link Resource} that can {@linkplain
+   * Resource#get() supply} a {@link KeyPerFileDirectory}; may be
+   * {@code null}
+   *
+   * @param requestedCoordinates the configuration coordinates for
+   * which a value is requested; not used by this implementation
+   *
+   * @param name the name of the configuration property for which a
+   * value is to be sought; must not be {@code null}
+   *
+   * @return a suitable {@link ConfigurationValue} or {@code null}
+   *
+   * @see KeyPerFileDirectory#get(String)
+   */
+  @Override
+  protected ConfigurationValue getValue(final Resource<? extends KeyPerFileDirectory> directoryResource, final Map<String, String> requestedCoordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (directoryResource != null) {
+      final KeyPerFileDirectory directory = directoryResource.get();
+      if (directory != null) {
+        final String value = directory.get(name);
+        if (value != null) {
+          returnValue = new ConfigurationValue(this, directoryResource.getCoordinates(), name, value, false);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Set} whose sole element is the {@linkplain
+   * Resource#getCoordinates() configuration coordinates} of the
+   * directory tree if this {@link DirectoryConfiguration} was
+   * {@linkplain #DirectoryConfiguration(Path, Map) created} from a
+   * {@link Path}, and the result of calling the superclass
+   * implementation otherwise.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * @return a {@link Set} of sets of configuration coordinates, or
+   * {@code null}
+   */
+  @Override
+  public Set<Map<String, String>> getCoordinateSets() {
+    final Set<Map<String, String>> returnValue;
+    if (this.constant) {
+      final Resource<? extends KeyPerFileDirectory> resource = this.getResource(null);
+      final Map<String, String> coordinates = resource == null ? null : resource.getCoordinates();
+      returnValue = Collections.singleton(coordinates == null ? Collections.emptyMap() : coordinates);
+    } else {
+      returnValue = super.getCoordinateSets();
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected Set<String> getNames(final Resource<? extends KeyPerFileDirectory> directoryResource) {
+    final Set<String> returnValue;
+    if (directoryResource == null) {
+      returnValue = Collections.emptySet();
+    } else {
+      final KeyPerFileDirectory directory = directoryResource.get();
+      if (directory == null) {
+        returnValue = Collections.emptySet();
+      } else {
+        returnValue = directory.keySet();
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected int getRank(final Resource<? extends KeyPerFileDirectory> resource) {
+    int returnValue = super.getRank(resource);
+    if (resource != null) {
+      final KeyPerFileDirectory directory = resource.get();
+      if (directory != null) {
+        final String rankString = directory.get("org.microbean.configuration.rank");
+        if (rankString != null) {
+          try {
+            returnValue = Integer.parseInt(rankString.trim());
+          } catch (final NumberFormatException ignoreMe) {
+
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final Function<Map<? extends String, ? extends String>, Resource<? extends KeyPerFileDirectory>> constantLoader(final KeyPerFileDirectory directory,
+                                                                                                                                   Map<String, String> coordinates) {
+    if (coordinates == null) {
+      coordinates = new StringToMapStringStringConverter().convert(directory.get(Configurations.CONFIGURATION_COORDINATES));
+    }
+    final Resource<KeyPerFileDirectory> resource = new Resource<>(directory, coordinates);
+    return ignoredCoordinates -> resource;
+  }
+
+}
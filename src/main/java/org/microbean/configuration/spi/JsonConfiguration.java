@@ -0,0 +1,180 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractResourceLoadingConfiguration} that {@linkplain
+ * #getValue(Resource, Map, String) gets configuration property
+ * values} from JSON resources that have been flattened into {@link
+ * Map}s by a {@link JsonLoader}.
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see JsonLoader
+ *
+ * @see #getValue(Resource, Map, String)
+ */
+public class JsonConfiguration extends AbstractResourceLoadingConfiguration<Map<String, String>> implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link JsonConfiguration} whose values come from
+   * the classpath resource with the supplied name.
+   *
+   * <p>The resource is read at most once per set of requested
+   * configuration coordinates.</p>
+   *
+   * @param resourceName the name of a classpath resource containing
+   * a JSON document; may be {@code null} in which case all
+   * invocations of the {@link #getValue(Map, String)} method will
+   * return {@code null}
+   *
+   * @see JsonLoader
+   *
+   * @see CachingResourceLoader
+   */
+  public JsonConfiguration(final String resourceName) {
+    this(new CachingResourceLoader<>(new JsonLoader(resourceName)));
+  }
+
+  /**
+   * Creates a new {@link JsonConfiguration}.
+   *
+   * @param resourceLoader a {@link Function} that accepts a {@link
+   * Map} of requested configuration coordinates and returns a {@link
+   * Resource} that can {@linkplain Resource#get() supply} a {@link
+   * Map} of flattened configuration property names and values for
+   * use by the {@link #getValue(Resource, Map, String)} method; may
+   * be {@code null} in which case all invocations of the {@link
+   * #getValue(Map, String)} method will return {@code null}
+   *
+   * @see #getValue(Resource, Map, String)
+   *
+   * @see Resource
+   */
+  public JsonConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends Map<String, String>>> resourceLoader) {
+    super(resourceLoader);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>This implementation gets a {@link Map} {@linkplain
+   * Resource#get() from the supplied <code>Resource</code>} and uses
+   * it, plus the {@linkplain Resource#getCoordinates() configuration
+   * coordinates supplied by the supplied <code>Resource</code>}, to
+   * construct and return a suitable {@link ConfigurationValue}.</p>
+   *
+   * @param jsonResource a {@link Resource} that can {@linkplain
+   * Resource#get() supply} a {@link Map} of flattened configuration
+   * property names and values; may be {@code null}
+   *
+   * @param requestedCoordinates the configuration coordinates for
+   * which a value is requested; not used by this implementation
+   *
+   * @param name the name of the configuration property for which a
+   * value is to be sought; must not be {@code null}
+   *
+   * @return a suitable {@link ConfigurationValue} or {@code null}
+   *
+   * @see JsonLoader#flatten(java.io.Reader)
+   */
+  @Override
+  protected ConfigurationValue getValue(final Resource<? extends Map<String, String>> jsonResource, final Map<String, String> requestedCoordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (jsonResource != null) {
+      final Map<String, String> values = jsonResource.get();
+      if (values != null) {
+        final String value = values.get(name);
+        if (value != null) {
+          returnValue = new ConfigurationValue(this, jsonResource.getCoordinates(), name, value, false);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected Set<String> getNames(final Resource<? extends Map<String, String>> jsonResource) {
+    final Set<String> returnValue;
+    if (jsonResource == null) {
+      returnValue = Collections.emptySet();
+    } else {
+      final Map<String, String> values = jsonResource.get();
+      if (values == null) {
+        returnValue = Collections.emptySet();
+      } else {
+        returnValue = Collections.unmodifiableSet(values.keySet());
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  protected int getRank(final Resource<? extends Map<String, String>> resource) {
+    int returnValue = super.getRank(resource);
+    if (resource != null) {
+      final Map<String, String> values = resource.get();
+      if (values != null) {
+        final String rankString = values.get("org.microbean.configuration.rank");
+        if (rankString != null) {
+          try {
+            returnValue = Integer.parseInt(rankString.trim());
+          } catch (final NumberFormatException ignoreMe) {
+
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,249 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import org.microbean.configuration.spi.converter.StringToMapStringStringConverter;
+
+/**
+ * A {@link Function} that loads a JSON classpath resource and
+ * flattens it into an {@linkplain Collections#unmodifiableMap(Map)
+ * immutable} {@link Map} of configuration property names and values.
+ *
+ * <p>Object members are flattened into dotted names and array
+ * elements into indexed names, so the document</p>
+ *
+ * <pre>{"db": {"hosts": ["a", "b"], "port": 5432}}</pre>
+ *
+ * <p>yields {@code db.hosts[0]=a}, {@code db.hosts[1]=b} and {@code
+ * db.port=5432}.  Numbers and booleans are recorded exactly as they
+ * appear in the document.  {@code null}s, empty objects and empty
+ * arrays yield nothing.</p>
+ *
+ * <p>The document is read in a single streaming pass; no tree is
+ * built.</p>
+ *
+ * <p>The configuration coordinates of the resulting {@link Resource}
+ * are taken from the document's {@value
+ * org.microbean.configuration.Configurations#CONFIGURATION_COORDINATES}
+ * member, which may be either a {@link String} suitable for {@link
+ * StringToMapStringStringConverter} or an object.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see JsonConfiguration
+ *
+ * @see PropertiesLoader
+ */
+public class JsonLoader implements Function<Map<? extends String, ? extends String>, Resource<? extends Map<String, String>>> {
+
+  private final ClassLoader resourceLoader;
+
+  protected final String name;
+
+  public JsonLoader(final String name) {
+    this(Thread.currentThread().getContextClassLoader(), name);
+  }
+
+  public JsonLoader(final ClassLoader resourceLoader, final String name) {
+    super();
+    this.name = name;
+    this.resourceLoader = resourceLoader;
+  }
+
+  @Override
+  public Resource<? extends Map<String, String>> apply(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    Resource<? extends Map<String, String>> returnValue = null;
+    if (this.name != null) {
+      ClassLoader resourceLoader = this.resourceLoader;
+      if (resourceLoader == null) {
+        resourceLoader = Thread.currentThread().getContextClassLoader();
+        if (resourceLoader == null) {
+          resourceLoader = this.getClass().getClassLoader();
+        }
+      }
+      assert resourceLoader != null;
+      final URL resource = resourceLoader.getResource(this.computeResourceName(requestedConfigurationCoordinates));
+      if (resource != null) {
+        final Map<String, String> values;
+        try (final InputStream inputStream = resource.openStream();
+             final Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+          values = flatten(reader);
+        } catch (final IOException ioException) {
+          throw new ConfigurationException(ioException.getMessage(), ioException);
+        }
+        returnValue = new Resource<>(values, getCoordinates(values));
+      }
+    }
+    return returnValue;
+  }
+
+  protected String computeResourceName(final Map<? extends String, ? extends String> requestedConfigurationCoordinates) {
+    return this.name;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Reads the JSON document available from the supplied {@link
+   * Reader} and returns an {@linkplain
+   * Collections#unmodifiableMap(Map) immutable} {@link Map} of its
+   * flattened names and values.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>Names in the returned {@link Map} are {@linkplain
+   * String#intern() interned}.</p>
+   *
+   * @param reader the {@link Reader} to read; must not be {@code
+   * null}; will not be closed
+   *
+   * @return a non-{@code null}, immutable {@link Map}
+   *
+   * @exception NullPointerException if {@code reader} is {@code null}
+   *
+   * @exception IOException if the supplied {@link Reader} could not
+   * be read
+   *
+   * @exception ConfigurationException if the document is not
+   * well-formed
+   */
+  public static final Map<String, String> flatten(final Reader reader) throws IOException {
+    final JsonPullParser parser = new JsonPullParser(reader);
+    final Map<String, String> map = new HashMap<>();
+
+    // The path of the value about to be read.  Rather than keeping a
+    // stack of Strings we truncate and append to one StringBuilder.
+    final StringBuilder path = new StringBuilder(64);
+
+    // For each open container: the length of path naming the
+    // container itself, and, for arrays, the index of the next
+    // element (-1 for objects).
+    int[] baseLengths = new int[16];
+    int[] nextIndices = new int[16];
+    int depth = 0;
+
+    JsonPullParser.Event event;
+    while ((event = parser.next()) != null) {
+      switch (event) {
+      case KEY_NAME:
+        path.setLength(baseLengths[depth - 1]);
+        if (path.length() > 0) {
+          path.append('.');
+        }
+        path.append(parser.getString());
+        break;
+      case END_OBJECT:
+      case END_ARRAY:
+        --depth;
+        break;
+      default:
+        if (depth > 0 && nextIndices[depth - 1] >= 0) {
+          path.setLength(baseLengths[depth - 1]);
+          path.append('[').append(nextIndices[depth - 1]++).append(']');
+        }
+        switch (event) {
+        case START_OBJECT:
+        case START_ARRAY:
+          if (depth == baseLengths.length) {
+            baseLengths = Arrays.copyOf(baseLengths, depth * 2);
+            nextIndices = Arrays.copyOf(nextIndices, depth * 2);
+          }
+          baseLengths[depth] = path.length();
+          nextIndices[depth] = event == JsonPullParser.Event.START_ARRAY ? 0 : -1;
+          depth++;
+          break;
+        case VALUE_NULL:
+          break;
+        case VALUE_TRUE:
+          put(map, path, "true");
+          break;
+        case VALUE_FALSE:
+          put(map, path, "false");
+          break;
+        default:
+          put(map, path, parser.getString());
+          break;
+        }
+        break;
+      }
+    }
+    final Map<String, String> returnValue;
+    if (map.isEmpty()) {
+      returnValue = Collections.emptyMap();
+    } else {
+      returnValue = Collections.unmodifiableMap(map);
+    }
+    return returnValue;
+  }
+
+  private static final void put(final Map<String, String> map, final CharSequence path, final String value) {
+    // A scalar at the root of the document has no name and so is not
+    // a configuration property.
+    if (path.length() > 0) {
+      map.put(path.toString().intern(), value);
+    }
+  }
+
+  private static final Map<String, String> getCoordinates(final Map<String, String> values) {
+    assert values != null;
+    Map<String, String> returnValue = null;
+    final String coordinatesString = values.get(Configurations.CONFIGURATION_COORDINATES);
+    if (coordinatesString != null) {
+      returnValue = new StringToMapStringStringConverter().convert(coordinatesString);
+    } else {
+      final String prefix = Configurations.CONFIGURATION_COORDINATES + ".";
+      for (final Map.Entry<String, String> entry : values.entrySet()) {
+        final String key = entry.getKey();
+        if (key.startsWith(prefix)) {
+          if (returnValue == null) {
+            returnValue = new HashMap<>();
+          }
+          returnValue.put(key.substring(prefix.length()), entry.getValue());
+        }
+      }
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,477 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.microbean.configuration.api.ConfigurationException;
+
+/**
+ * A minimal, allocation-conscious pull parser for <a
+ * href="https://tools.ietf.org/html/rfc8259">JSON</a> text.
+ *
+ * <p>Callers repeatedly invoke {@link #next()} to advance through
+ * the document one {@link Event} at a time; no tree is ever
+ * built.</p>
+ *
+ * <p>Instances of this class are not safe for concurrent use by
+ * multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #next()
+ */
+final class JsonPullParser {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final byte OBJECT = 1;
+
+  private static final byte ARRAY = 2;
+
+  /**
+   * A parser state indicating that a value must come next.
+   */
+  private static final int VALUE = 0;
+
+  /**
+   * A parser state indicating that an object has just been opened,
+   * so either a key or the end of the object must come next.
+   */
+  private static final int FIRST_KEY_OR_END = 1;
+
+  /**
+   * A parser state indicating that a comma has just been read inside
+   * an object, so a key must come next.
+   */
+  private static final int KEY = 2;
+
+  /**
+   * A parser state indicating that an array has just been opened, so
+   * either a value or the end of the array must come next.
+   */
+  private static final int FIRST_VALUE_OR_END = 3;
+
+  /**
+   * A parser state indicating that a value has just been read inside
+   * a container, so either a comma or the end of the container must
+   * come next.
+   */
+  private static final int SEPARATOR_OR_END = 4;
+
+  /**
+   * A parser state indicating that the document's root value has
+   * been read in its entirety.
+   */
+  private static final int DONE = 5;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Reader reader;
+
+  private final char[] buffer;
+
+  private int position;
+
+  private int limit;
+
+  private int line;
+
+  private int column;
+
+  /**
+   * The values of {@link #line} and {@link #column} before the most
+   * recent {@linkplain #read() read}, restored by {@link #unread()}.
+   */
+  private int previousLine;
+
+  private int previousColumn;
+
+  private final StringBuilder text;
+
+  private byte[] containers;
+
+  private int depth;
+
+  private int state;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link JsonPullParser}.
+   *
+   * @param reader the {@link Reader} from which JSON text will be
+   * read; must not be {@code null}; will not be closed
+   *
+   * @exception NullPointerException if {@code reader} is {@code null}
+   */
+  JsonPullParser(final Reader reader) {
+    super();
+    this.reader = Objects.requireNonNull(reader);
+    this.buffer = new char[8192];
+    this.text = new StringBuilder(64);
+    this.containers = new byte[16];
+    this.line = 1;
+    this.state = VALUE;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Advances to the next {@link Event} in the document and returns
+   * it, or returns {@code null} if the document has ended.
+   *
+   * @return the next {@link Event}, or {@code null}
+   *
+   * @exception IOException if the underlying {@link Reader} could
+   * not be read
+   *
+   * @exception ConfigurationException if the document is not
+   * well-formed
+   */
+  final Event next() throws IOException {
+    int c = this.skipWhitespace();
+    while (true) {
+      switch (this.state) {
+      case DONE:
+        if (c >= 0) {
+          throw this.unexpected(c);
+        }
+        return null;
+      case FIRST_KEY_OR_END:
+      case KEY:
+        if (c == '}' && this.state == FIRST_KEY_OR_END) {
+          return this.endContainer();
+        } else if (c != '"') {
+          throw this.unexpected(c);
+        }
+        return this.readKey();
+      case FIRST_VALUE_OR_END:
+      case VALUE:
+        if (c == ']' && this.state == FIRST_VALUE_OR_END) {
+          return this.endContainer();
+        }
+        return this.readValue(c);
+      case SEPARATOR_OR_END:
+        final byte container = this.containers[this.depth - 1];
+        if (c == ',') {
+          this.state = container == OBJECT ? KEY : VALUE;
+          c = this.skipWhitespace();
+          continue;
+        } else if ((c == '}' && container == OBJECT) || (c == ']' && container == ARRAY)) {
+          return this.endContainer();
+        }
+        throw this.unexpected(c);
+      default:
+        throw new IllegalStateException();
+      }
+    }
+  }
+
+  /**
+   * Returns the text of the current {@link Event#KEY_NAME}, {@link
+   * Event#VALUE_STRING} or {@link Event#VALUE_NUMBER} event.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the text of the current event; never {@code null}
+   */
+  final String getString() {
+    return this.text.toString();
+  }
+
+  private final Event readKey() throws IOException {
+    this.readString();
+    final int c = this.skipWhitespace();
+    if (c != ':') {
+      throw this.unexpected(c);
+    }
+    this.state = VALUE;
+    return Event.KEY_NAME;
+  }
+
+  private final Event readValue(final int c) throws IOException {
+    final Event returnValue;
+    switch (c) {
+    case '{':
+      this.push(OBJECT);
+      this.state = FIRST_KEY_OR_END;
+      return Event.START_OBJECT;
+    case '[':
+      this.push(ARRAY);
+      this.state = FIRST_VALUE_OR_END;
+      return Event.START_ARRAY;
+    case '"':
+      this.readString();
+      returnValue = Event.VALUE_STRING;
+      break;
+    case 't':
+      this.readLiteral("rue");
+      returnValue = Event.VALUE_TRUE;
+      break;
+    case 'f':
+      this.readLiteral("alse");
+      returnValue = Event.VALUE_FALSE;
+      break;
+    case 'n':
+      this.readLiteral("ull");
+      returnValue = Event.VALUE_NULL;
+      break;
+    default:
+      if (c == '-' || (c >= '0' && c <= '9')) {
+        this.readNumber(c);
+        returnValue = Event.VALUE_NUMBER;
+      } else {
+        throw this.unexpected(c);
+      }
+      break;
+    }
+    this.valueCompleted();
+    return returnValue;
+  }
+
+  private final Event endContainer() {
+    final byte container = this.containers[--this.depth];
+    this.valueCompleted();
+    return container == OBJECT ? Event.END_OBJECT : Event.END_ARRAY;
+  }
+
+  private final void valueCompleted() {
+    this.state = this.depth == 0 ? DONE : SEPARATOR_OR_END;
+  }
+
+  private final void push(final byte container) {
+    if (this.depth == this.containers.length) {
+      this.containers = Arrays.copyOf(this.containers, this.depth * 2);
+    }
+    this.containers[this.depth++] = container;
+  }
+
+  private final void readString() throws IOException {
+    final StringBuilder text = this.text;
+    text.setLength(0);
+    while (true) {
+      int c = this.read();
+      switch (c) {
+      case -1:
+        throw new ConfigurationException("Unterminated JSON string at line " + this.line + ", column " + this.column);
+      case '"':
+        return;
+      case '\\':
+        c = this.read();
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+          text.append((char)c);
+          break;
+        case 'b':
+          text.append('\b');
+          break;
+        case 'f':
+          text.append('\f');
+          break;
+        case 'n':
+          text.append('\n');
+          break;
+        case 'r':
+          text.append('\r');
+          break;
+        case 't':
+          text.append('\t');
+          break;
+        case 'u':
+          int codeUnit = 0;
+          for (int i = 0; i < 4; i++) {
+            c = this.read();
+            final int digit = Character.digit(c, 16);
+            if (c < 0 || digit < 0) {
+              throw this.unexpected(c);
+            }
+            codeUnit = (codeUnit << 4) | digit;
+          }
+          text.append((char)codeUnit);
+          break;
+        default:
+          throw this.unexpected(c);
+        }
+        break;
+      default:
+        if (c < 0x20) {
+          throw this.unexpected(c);
+        }
+        text.append((char)c);
+        break;
+      }
+    }
+  }
+
+  private final void readNumber(int c) throws IOException {
+    final StringBuilder text = this.text;
+    text.setLength(0);
+    if (c == '-') {
+      text.append('-');
+      c = this.read();
+    }
+    if (c == '0') {
+      text.append('0');
+      c = this.read();
+    } else if (c >= '1' && c <= '9') {
+      c = this.readDigits(c);
+    } else {
+      throw this.unexpected(c);
+    }
+    if (c == '.') {
+      text.append('.');
+      c = this.read();
+      if (c < '0' || c > '9') {
+        throw this.unexpected(c);
+      }
+      c = this.readDigits(c);
+    }
+    if (c == 'e' || c == 'E') {
+      text.append((char)c);
+      c = this.read();
+      if (c == '+' || c == '-') {
+        text.append((char)c);
+        c = this.read();
+      }
+      if (c < '0' || c > '9') {
+        throw this.unexpected(c);
+      }
+      c = this.readDigits(c);
+    }
+    if (c >= 0) {
+      this.unread();
+    }
+  }
+
+  private final int readDigits(int c) throws IOException {
+    while (c >= '0' && c <= '9') {
+      this.text.append((char)c);
+      c = this.read();
+    }
+    return c;
+  }
+
+  private final void readLiteral(final String rest) throws IOException {
+    final int length = rest.length();
+    for (int i = 0; i < length; i++) {
+      final int c = this.read();
+      if (c != rest.charAt(i)) {
+        throw this.unexpected(c);
+      }
+    }
+  }
+
+  private final int skipWhitespace() throws IOException {
+    int c;
+    do {
+      c = this.read();
+    } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+    return c;
+  }
+
+  private final int read() throws IOException {
+    if (this.position == this.limit) {
+      final int read = this.reader.read(this.buffer, 0, this.buffer.length);
+      if (read <= 0) {
+        return -1;
+      }
+      this.position = 0;
+      this.limit = read;
+    }
+    final char c = this.buffer[this.position++];
+    this.previousLine = this.line;
+    this.previousColumn = this.column;
+    if (c == '\n') {
+      this.line++;
+      this.column = 0;
+    } else {
+      this.column++;
+    }
+    return c;
+  }
+
+  /**
+   * Steps back over the character most recently returned by {@link
+   * #read()}, which must not have been {@code -1}, restoring the
+   * line and column that preceded it.
+   */
+  private final void unread() {
+    assert this.position > 0;
+    this.position--;
+    this.line = this.previousLine;
+    this.column = this.previousColumn;
+  }
+
+  private final ConfigurationException unexpected(final int c) {
+    if (c < 0) {
+      return new ConfigurationException("Unexpected end of JSON input at line " + this.line + ", column " + this.column);
+    }
+    return new ConfigurationException("Unexpected character '" + (char)c + "' in JSON input at line " + this.line + ", column " + this.column);
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * A parsing event.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   *
+   * @see JsonPullParser#next()
+   */
+  enum Event {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    KEY_NAME,
+    VALUE_STRING,
+    VALUE_NUMBER,
+    VALUE_TRUE,
+    VALUE_FALSE,
+    VALUE_NULL;
+  }
+
+}
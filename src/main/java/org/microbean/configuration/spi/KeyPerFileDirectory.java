@@ -0,0 +1,419 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.microbean.configuration.api.ConfigurationException;
+
+/**
+ * A directory tree in which each regular file represents a single
+ * configuration property: the file's path relative to the directory
+ * root, with name separators replaced by {@code .} characters, is
+ * the property's name, and the file's contents, decoded as UTF-8, are
+ * its value.
+ *
+ * <p>This is the layout produced by Kubernetes when a {@code
+ * ConfigMap} or {@code Secret} is mounted as a volume.</p>
+ *
+ * <p>The directory tree is indexed once, but no file is read until
+ * its value is first {@linkplain #get(String) requested}; contents
+ * are cached thereafter.</p>
+ *
+ * <p>Kubernetes updates such a volume atomically by writing a new
+ * timestamped directory and then swapping the target of a {@code
+ * ..data} symbolic link.  Before each access, a {@link
+ * KeyPerFileDirectory} reads that link (or, if there is no such
+ * link, the last modified time of the root directory itself) and, if
+ * it has changed, discards its index and every cached value in one
+ * step.  No file is ever {@linkplain Files#getLastModifiedTime(Path,
+ * java.nio.file.LinkOption...) checked} individually.</p>
+ *
+ * <p>Files and directories whose names begin with {@code ..} are
+ * Kubernetes bookkeeping entries and are never indexed.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see DirectoryConfiguration
+ */
+public class KeyPerFileDirectory {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The name of the symbolic link that Kubernetes atomically swaps
+   * when the contents of a mounted volume change.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  public static final String DATA_LINK_NAME = "..data";
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The root of the directory tree.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #getRoot()
+   */
+  private final Path root;
+
+  /**
+   * The current {@link Snapshot} of the directory tree.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #snapshot()
+   */
+  private volatile Snapshot snapshot;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link KeyPerFileDirectory} and indexes the
+   * directory tree rooted at the supplied {@link Path}.
+   *
+   * @param root the root of the directory tree; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code root} is {@code null}
+   *
+   * @exception ConfigurationException if the directory tree could not
+   * be indexed
+   */
+  public KeyPerFileDirectory(final Path root) {
+    super();
+    this.root = Objects.requireNonNull(root);
+    this.snapshot = this.index(this.readVersion());
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the root of the directory tree this {@link
+   * KeyPerFileDirectory} indexes.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the root of the directory tree; never {@code null}
+   */
+  public final Path getRoot() {
+    return this.root;
+  }
+
+  /**
+   * Returns the contents of the file corresponding to the supplied
+   * {@code key}, or {@code null} if there is no such file.
+   *
+   * <p>The file is read at most once per version of the directory
+   * tree.</p>
+   *
+   * @param key the key; may be {@code null} in which case {@code
+   * null} will be returned
+   *
+   * @return the contents of the file corresponding to the supplied
+   * {@code key}, or {@code null}
+   *
+   * @exception ConfigurationException if the file could not be read
+   */
+  public final String get(final String key) {
+    String returnValue = null;
+    if (key != null) {
+      final Snapshot snapshot = this.snapshot();
+      final Path file = snapshot.index.get(key);
+      if (file != null) {
+        try {
+          returnValue = snapshot.contents.computeIfAbsent(key, k -> read(file));
+        } catch (final UncheckedIOException ioException) {
+          throw new ConfigurationException(ioException.getCause().getMessage(), ioException.getCause());
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableSet(Set)
+   * immutable} {@link Set} of the keys currently present in the
+   * directory tree.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null}, immutable {@link Set} of keys
+   */
+  public final Set<String> keySet() {
+    return this.snapshot().index.keySet();
+  }
+
+  /**
+   * Returns the current {@link Snapshot}, re-indexing the directory
+   * tree first if its version has changed since the last time it
+   * was indexed.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the current {@link Snapshot}; never {@code null}
+   */
+  private final Snapshot snapshot() {
+    Snapshot snapshot = this.snapshot;
+    final Object version = this.readVersion();
+    if (!Objects.equals(version, snapshot.version)) {
+      synchronized (this) {
+        snapshot = this.snapshot;
+        if (!Objects.equals(version, snapshot.version)) {
+          snapshot = this.index(version);
+          this.snapshot = snapshot;
+        }
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Returns an {@link Object} whose {@linkplain Object#equals(Object)
+   * equality} with a prior return value indicates that the directory
+   * tree has not changed.
+   *
+   * <p>This method may return {@code null}.</p>
+   *
+   * <p>This implementation returns the target of the {@value
+   * #DATA_LINK_NAME} symbolic link if there is one, and the last
+   * modified time of the root directory otherwise.</p>
+   *
+   * @return the current version of the directory tree, or {@code
+   * null} if it could not be determined
+   */
+  private final Object readVersion() {
+    Object returnValue;
+    try {
+      returnValue = Files.readSymbolicLink(this.root.resolve(DATA_LINK_NAME));
+    } catch (final IOException | UnsupportedOperationException noSuchLink) {
+      // Either there is no such file, or it isn't a symbolic link
+      // (NotLinkException), or the platform doesn't support them.
+      returnValue = null;
+    }
+    if (returnValue == null) {
+      try {
+        returnValue = Files.getLastModifiedTime(this.root);
+      } catch (final IOException ioException) {
+        returnValue = null;
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Walks the directory tree and returns a new {@link Snapshot}
+   * indexing its regular files.
+   *
+   * @param version the version of the directory tree; may be {@code
+   * null}
+   *
+   * @return a new {@link Snapshot}; never {@code null}
+   *
+   * @exception ConfigurationException if the directory tree could not
+   * be walked
+   */
+  private final Snapshot index(final Object version) {
+    final Map<String, Path> index = new HashMap<>();
+    if (Files.isDirectory(this.root)) {
+      try {
+        Files.walkFileTree(this.root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public final FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) {
+              final FileVisitResult returnValue;
+              if (!directory.equals(root) && isBookkeeping(directory)) {
+                returnValue = FileVisitResult.SKIP_SUBTREE;
+              } else {
+                returnValue = FileVisitResult.CONTINUE;
+              }
+              return returnValue;
+            }
+
+            @Override
+            public final FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+              if (attributes.isRegularFile() && !isBookkeeping(file)) {
+                index.put(toKey(root.relativize(file)), file);
+              }
+              return FileVisitResult.CONTINUE;
+            }
+          });
+      } catch (final IOException ioException) {
+        throw new ConfigurationException(ioException.getMessage(), ioException);
+      }
+    }
+    return new Snapshot(version, index);
+  }
+
+  /**
+   * Returns a hashcode for this {@link KeyPerFileDirectory}.
+   *
+   * @return a hashcode for this {@link KeyPerFileDirectory}
+   *
+   * @see #equals(Object)
+   */
+  @Override
+  public int hashCode() {
+    return this.root.hashCode();
+  }
+
+  /**
+   * Returns {@code true} if the supplied {@link Object} is a {@link
+   * KeyPerFileDirectory} {@linkplain #getRoot() rooted} at the same
+   * {@link Path}.
+   *
+   * @param other the {@link Object} to test; may be {@code null}
+   *
+   * @return {@code true} if the supplied {@link Object} is equal to
+   * this {@link KeyPerFileDirectory}; {@code false} otherwise
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof KeyPerFileDirectory) {
+      return this.root.equals(((KeyPerFileDirectory)other).root);
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a {@link String} representation of this {@link
+   * KeyPerFileDirectory}.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link String}
+   */
+  @Override
+  public String toString() {
+    return this.root.toString();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final boolean isBookkeeping(final Path path) {
+    final Path fileName = path.getFileName();
+    return fileName != null && fileName.toString().startsWith("..");
+  }
+
+  private static final String toKey(final Path relativePath) {
+    final int nameCount = relativePath.getNameCount();
+    final String returnValue;
+    if (nameCount == 1) {
+      returnValue = relativePath.toString();
+    } else {
+      final StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < nameCount; i++) {
+        if (i > 0) {
+          sb.append('.');
+        }
+        sb.append(relativePath.getName(i).toString());
+      }
+      returnValue = sb.toString();
+    }
+    return returnValue;
+  }
+
+  private static final String read(final Path file) {
+    try {
+      return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    } catch (final IOException ioException) {
+      throw new UncheckedIOException(ioException);
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable index of a {@link KeyPerFileDirectory} at a
+   * particular version, together with the values read from it so
+   * far.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Snapshot {
+
+    private final Object version;
+
+    private final Map<String, Path> index;
+
+    private final ConcurrentMap<String, String> contents;
+
+    private Snapshot(final Object version, final Map<String, Path> index) {
+      super();
+      this.version = version;
+      if (index == null || index.isEmpty()) {
+        this.index = Collections.emptyMap();
+      } else {
+        this.index = Collections.unmodifiableMap(index);
+      }
+      this.contents = new ConcurrentHashMap<>();
+    }
+
+  }
+
+}
@@ -0,0 +1,158 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} that serves {@linkplain
+ * ConfigurationValue#isAuthoritative() authoritative} {@link
+ * ConfigurationValue}s from an in-memory {@link Map}, regardless of
+ * the configuration coordinates in effect.
+ *
+ * <p>A name mapped to {@code null} yields a {@link
+ * ConfigurationValue} whose {@linkplain ConfigurationValue#getValue()
+ * value} is {@code null}, so a {@link MapConfiguration} used as an
+ * {@linkplain
+ * org.microbean.configuration.Configurations#withOverrides(java.util.Collection)
+ * override} can hide a value as well as replace it.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see org.microbean.configuration.Configurations#withOverrides(Map)
+ */
+public class MapConfiguration extends AbstractConfiguration implements Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * An {@linkplain Collections#unmodifiableMap(Map) immutable} copy
+   * of the {@link Map} supplied at construction time.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> values;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link MapConfiguration}.
+   *
+   * @param values the {@link Map} of configuration property names
+   * and values to serve; may be {@code null}; copied
+   */
+  public MapConfiguration(final Map<String, String> values) {
+    super();
+    if (values == null || values.isEmpty()) {
+      this.values = Collections.emptyMap();
+    } else {
+      this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns an authoritative {@link ConfigurationValue} for the
+   * supplied {@code name}, with no configuration coordinates, if it
+   * is a key of the {@link Map} supplied at construction time, or
+   * {@code null} otherwise.
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; ignored
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null && this.values.containsKey(name)) {
+      returnValue = new ConfigurationValue(this, null, name, this.values.get(name), true);
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Set} whose sole element is an empty {@link Map},
+   * since the {@link ConfigurationValue}s returned by this {@link
+   * MapConfiguration} have {@code null} coordinates.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of sets of configuration
+   * coordinates
+   */
+  @Override
+  public Set<Map<String, String>> getCoordinateSets() {
+    return Collections.singleton(Collections.emptyMap());
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableSet(Set)
+   * immutable} {@link Set} of the names of the configuration
+   * properties this {@link MapConfiguration} serves.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of names
+   */
+  @Override
+  public Set<String> getNames() {
+    return this.values.keySet();
+  }
+
+  @Override
+  public String toString() {
+    return this.values.toString();
+  }
+
+}
@@ -16,12 +16,16 @@
  */
 package org.microbean.configuration.spi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -43,7 +47,9 @@ import java.util.Objects;
  * RankedComparator} compares are not instances of {@link Ranked}.  In
  * such a case, the {@linkplain List#indexOf(Object) index of} an
  * object in a {@linkplain Collections#reverse(List) reversed} copy of
- * the supplied {@link List} is used as its rank.</p>
+ * the supplied {@link List} is used as its rank.  These ranks are
+ * computed once, at construction time, and kept in a hash-keyed
+ * table, so determining a rank does not scan the {@link List}.</p>
  *
  * @param <T> the type of object to {@linkplain #compare(Object,
  * Object) compare}
@@ -87,6 +93,19 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
    */
   private final List<?> items;
 
+  /**
+   * An {@linkplain Collections#unmodifiableMap(Map) unmodifiable}
+   * {@link Map} from each {@linkplain Object#equals(Object) distinct}
+   * element of {@link #items} to its rank, which is the index of its
+   * first occurrence in {@link #items}.
+   *
+   * <p>This field is never {@code null} after construction or
+   * deserialization.</p>
+   *
+   * @see #rankTable(List)
+   */
+  private transient Map<Object, Integer> ranks;
+
 
   /*
    * Constructors.
@@ -120,6 +139,7 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
       Collections.reverse(copy);
       this.items = Collections.unmodifiableList(copy);
     }
+    this.ranks = rankTable(this.items);
   }
 
 
@@ -141,7 +161,27 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
    */
   public final boolean ranks(final T object) {
     final Object comparisonObject = this.getComparisonObject(object);
-    return comparisonObject != null && (comparisonObject instanceof Ranked || this.items.contains(comparisonObject));
+    return comparisonObject != null && (comparisonObject instanceof Ranked || this.ranks.containsKey(comparisonObject));
+  }
+
+  /**
+   * Returns the rank of the supplied object, or a negative integer if
+   * its rank could not be determined.
+   *
+   * <p>This method permits callers to select the highest-ranked of
+   * several objects in a single pass, without sorting.</p>
+   *
+   * @param object the object whose rank should be returned; may be
+   * {@code null} in which case a negative integer will be returned
+   *
+   * @return the rank of the supplied object, or a negative integer
+   *
+   * @see #getComparisonObject(Object)
+   *
+   * @see #compare(Object, Object)
+   */
+  public final int rankOf(final T object) {
+    return object == null ? -1 : this.getRank(this.getComparisonObject(object));
   }
 
   private final int getRank(final Object object) {
@@ -151,7 +191,8 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
     } else if (object instanceof Ranked) {
       rank = ((Ranked)object).getRank();
     } else {
-      rank = this.items.indexOf(object);
+      final Integer index = this.ranks.get(object);
+      rank = index == null ? -1 : index.intValue();
     }
     return rank;
   }
@@ -193,8 +234,8 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
       assert one != null;
       returnValue = -1; // nulls sort "right"; non-nulls win
     } else {
-      final int oneRank = this.getRank(this.getComparisonObject(one));
-      final int twoRank = this.getRank(this.getComparisonObject(two));
+      final int oneRank = this.rankOf(one);
+      final int twoRank = this.rankOf(two);
       if (oneRank < 0) {
         if (twoRank < 0) {
           returnValue = 0; // a negative rank means "no idea"
@@ -240,5 +281,40 @@ public class RankedComparator<T> implements Comparator<T>, Serializable {
   protected Object getComparisonObject(final T realObject) {
     return realObject;
   }
+
+  private final void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    this.ranks = rankTable(this.items);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns a {@link Map} from each distinct element of the supplied
+   * {@link List} to the index of its first occurrence, which is what
+   * {@link List#indexOf(Object)} would return for it.
+   *
+   * @param items the {@link List}; must not be {@code null}
+   *
+   * @return a non-{@code null}, unmodifiable {@link Map}
+   */
+  private static final Map<Object, Integer> rankTable(final List<?> items) {
+    final Map<Object, Integer> returnValue;
+    if (items.isEmpty()) {
+      returnValue = Collections.emptyMap();
+    } else {
+      final Map<Object, Integer> ranks = new HashMap<>();
+      final int size = items.size();
+      for (int i = 0; i < size; i++) {
+        ranks.putIfAbsent(items.get(i), Integer.valueOf(i));
+      }
+      returnValue = Collections.unmodifiableMap(ranks);
+    }
+    return returnValue;
+  }
   
 }
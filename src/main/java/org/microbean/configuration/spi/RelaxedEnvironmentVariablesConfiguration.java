@@ -0,0 +1,315 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} providing access to a snapshot of
+ * {@linkplain System#getenv() environment variables} taken at
+ * construction time, matching names <em>relaxedly</em>: {@code .},
+ * {@code -} and {@code _} are interchangeable and case is ignored,
+ * so a request for {@code db.url} finds an environment variable named
+ * {@code DB_URL}.
+ *
+ * <p>The snapshot is indexed once into an open-addressing hash table
+ * whose hash and equality functions perform this folding as they go,
+ * so a lookup is a single probe sequence that neither allocates nor
+ * rewrites the requested name.</p>
+ *
+ * <p>If several environment variables match a requested name, one
+ * that matches it exactly is preferred, then one spelled in the
+ * conventional upper-case-and-underscores form, then any other.</p>
+ *
+ * <p>This class is not registered as a {@link java.util.ServiceLoader
+ * service}; use it in place of {@link
+ * EnvironmentVariablesConfiguration} where relaxed matching is
+ * desired.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see EnvironmentVariablesConfiguration
+ *
+ * @see #getValue(Map, String)
+ */
+public final class RelaxedEnvironmentVariablesConfiguration extends AbstractConfiguration implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization} purposes.
+   */
+  private static final long serialVersionUID = 1L;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * An {@linkplain Collections#unmodifiableMap(Map) immutable}
+   * snapshot of the environment variables this {@link
+   * RelaxedEnvironmentVariablesConfiguration} serves.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final Map<String, String> environment;
+
+  /**
+   * The names in the open-addressing hash table; a {@code null}
+   * element denotes an empty slot.
+   *
+   * <p>The length of this array is always a power of two.</p>
+   */
+  private final transient String[] keys;
+
+  /**
+   * The values in the open-addressing hash table, parallel to {@link
+   * #keys}.
+   */
+  private final transient String[] values;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link RelaxedEnvironmentVariablesConfiguration}
+   * over a snapshot of {@link System#getenv()}.
+   */
+  public RelaxedEnvironmentVariablesConfiguration() {
+    this(System.getenv());
+  }
+
+  /**
+   * Creates a new {@link RelaxedEnvironmentVariablesConfiguration}
+   * over a snapshot of the supplied {@link Map} of environment
+   * variables.
+   *
+   * @param environment the environment variables; may be {@code null}
+   */
+  public RelaxedEnvironmentVariablesConfiguration(final Map<? extends String, ? extends String> environment) {
+    super();
+    if (environment == null || environment.isEmpty()) {
+      this.environment = Collections.emptyMap();
+    } else {
+      this.environment = Collections.unmodifiableMap(new HashMap<>(environment));
+    }
+    int capacity = 16;
+    while (capacity < this.environment.size() * 2) {
+      capacity <<= 1;
+    }
+    this.keys = new String[capacity];
+    this.values = new String[capacity];
+    final int mask = capacity - 1;
+    for (final Map.Entry<String, String> entry : this.environment.entrySet()) {
+      final String key = entry.getKey();
+      final String value = entry.getValue();
+      if (key != null && value != null) {
+        int slot = relaxedHash(key) & mask;
+        while (this.keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+      }
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override
+  public final int getRank() {
+    return 200;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} representing the environment
+   * variable whose name relaxedly matches the supplied {@code name},
+   * or {@code null}.
+   *
+   * <p>The {@link ConfigurationValue} returned bears the supplied
+   * {@code name}, not the environment variable's own spelling.</p>
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; may be {@code null}
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   */
+  @Override
+  public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null) {
+      final String[] keys = this.keys;
+      final int mask = keys.length - 1;
+      int slot = relaxedHash(name) & mask;
+      int match = -1;
+      boolean matchIsCanonical = false;
+      String key;
+      while ((key = keys[slot]) != null) {
+        if (relaxedEquals(key, name)) {
+          if (key.equals(name)) {
+            match = slot;
+            break;
+          } else if (match < 0) {
+            match = slot;
+            matchIsCanonical = isCanonical(key);
+          } else if (!matchIsCanonical && isCanonical(key)) {
+            match = slot;
+            matchIsCanonical = true;
+          }
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (match >= 0) {
+        returnValue = new ConfigurationValue(this, null /* deliberately null coordinates */, name, this.values[match], false);
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns a {@link Set} whose sole element is an empty {@link Map},
+   * since environment variables do not vary by configuration
+   * coordinates.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of sets of configuration
+   * coordinates
+   */
+  @Override
+  public final Set<Map<String, String>> getCoordinateSets() {
+    return Collections.singleton(Collections.emptyMap());
+  }
+
+  /**
+   * Returns a {@link Set} of the names of all the environment
+   * variables in this {@link RelaxedEnvironmentVariablesConfiguration}'s
+   * snapshot, spelled as they appear in the environment.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null}, immutable {@link Set} of names
+   */
+  @Override
+  public final Set<String> getNames() {
+    return this.environment.keySet();
+  }
+
+  private final Object readResolve() {
+    return new RelaxedEnvironmentVariablesConfiguration(this.environment);
+  }
+
+  @Override
+  public final int hashCode() {
+    return this.environment.hashCode();
+  }
+
+  @Override
+  public final boolean equals(final Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof RelaxedEnvironmentVariablesConfiguration) {
+      return this.environment.equals(((RelaxedEnvironmentVariablesConfiguration)other).environment);
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public final String toString() {
+    return this.environment.toString();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final char fold(final char c) {
+    final char returnValue;
+    if (c == '.' || c == '-') {
+      returnValue = '_';
+    } else if (c >= 'a' && c <= 'z') {
+      returnValue = (char)(c - ('a' - 'A'));
+    } else if (c < 0x80) {
+      returnValue = c;
+    } else {
+      returnValue = Character.toUpperCase(c);
+    }
+    return returnValue;
+  }
+
+  private static final int relaxedHash(final String s) {
+    int h = 0;
+    final int length = s.length();
+    for (int i = 0; i < length; i++) {
+      h = 31 * h + fold(s.charAt(i));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static final boolean relaxedEquals(final String a, final String b) {
+    final int length = a.length();
+    if (length != b.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (fold(a.charAt(i)) != fold(b.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final boolean isCanonical(final String s) {
+    final int length = s.length();
+    for (int i = 0; i < length; i++) {
+      final char c = s.charAt(i);
+      if (c != fold(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,506 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import java.net.URI;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import java.util.zip.CRC32;
+
+import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+/**
+ * An {@link AbstractConfiguration} that serves {@link
+ * ConfigurationValue}s from a binary snapshot written by a {@link
+ * ConfigurationSnapshotWriter}.
+ *
+ * <p>The snapshot is memory-mapped, and its header and checksum are
+ * verified, at construction time.  Nothing else is decoded until it
+ * is needed: each {@linkplain #getValue(Map, String) request} performs
+ * a binary search of the string table to find the requested name and
+ * a second binary search of the entry table to find its values, and
+ * decodes only the strings it returns.</p>
+ *
+ * <p>The {@link ConfigurationValue} returned for a name is the one
+ * recorded for the most {@linkplain ConfigurationValue#specificity()
+ * specific} set of configuration coordinates that is wholly contained
+ * by the requested configuration coordinates.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see ConfigurationSnapshotWriter
+ */
+public class SnapshotConfiguration extends AbstractConfiguration implements Ranked, Serializable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The version of this class for {@linkplain Serializable
+   * serialization purposes}.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The magic number that begins every snapshot ({@code MCFS}).
+   */
+  static final int MAGIC = 0x4D434653;
+
+  /**
+   * The version of the snapshot format written and understood by
+   * this class.
+   */
+  static final int VERSION = 1;
+
+  /**
+   * The length, in bytes, of a snapshot's header.
+   */
+  static final int HEADER_LENGTH = 24;
+
+  /**
+   * The offset, in bytes, of the checksum within a snapshot's header.
+   */
+  static final int CHECKSUM_OFFSET = 20;
+
+  private static final int ENTRY_LENGTH = 12;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * The location of the snapshot file.
+   *
+   * <p>This field is never {@code null}.</p>
+   */
+  private final URI location;
+
+  /**
+   * The rank of this {@link SnapshotConfiguration}.
+   *
+   * @see #getRank()
+   */
+  private final int rank;
+
+  private transient ByteBuffer buffer;
+
+  private transient int stringCount;
+
+  private transient int coordinateSetCount;
+
+  private transient int entryCount;
+
+  private transient int coordinateSetOffsetsStart;
+
+  private transient int entriesStart;
+
+  private transient AtomicReferenceArray<Map<String, String>> coordinateSets;
+
+  private transient volatile Set<String> names;
+
+  private transient volatile Set<Map<String, String>> allCoordinateSets;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link SnapshotConfiguration} with a {@linkplain
+   * #getRank() rank} of {@code 100}.
+   *
+   * @param path the {@link Path} of a snapshot written by a {@link
+   * ConfigurationSnapshotWriter}; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception ConfigurationException if the snapshot could not be
+   * read or is not valid
+   *
+   * @see #SnapshotConfiguration(Path, int)
+   */
+  public SnapshotConfiguration(final Path path) {
+    this(path, 100);
+  }
+
+  /**
+   * Creates a new {@link SnapshotConfiguration}.
+   *
+   * @param path the {@link Path} of a snapshot written by a {@link
+   * ConfigurationSnapshotWriter}; must not be {@code null}
+   *
+   * @param rank the {@linkplain #getRank() rank} of this {@link
+   * SnapshotConfiguration}
+   *
+   * @exception NullPointerException if {@code path} is {@code null}
+   *
+   * @exception ConfigurationException if the snapshot could not be
+   * read or is not valid
+   */
+  public SnapshotConfiguration(final Path path, final int rank) {
+    super();
+    this.location = path.toAbsolutePath().toUri();
+    this.rank = rank;
+    this.map(path);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  private final void map(final Path path) {
+    final ByteBuffer buffer;
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+        throw new ConfigurationException("Not a configuration snapshot: " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+    } catch (final IOException ioException) {
+      throw new ConfigurationException(ioException.getMessage(), ioException);
+    }
+    if (buffer.getInt(0) != MAGIC) {
+      throw new ConfigurationException("Not a configuration snapshot: " + path);
+    }
+    final int version = buffer.getShort(4) & 0xFFFF;
+    if (version != VERSION) {
+      throw new ConfigurationException("Unsupported configuration snapshot version " + version + ": " + path);
+    }
+    final int stringCount = buffer.getInt(8);
+    final int coordinateSetCount = buffer.getInt(12);
+    final int entryCount = buffer.getInt(16);
+    final long tablesEnd = HEADER_LENGTH + 4L * (stringCount + 1L) + 4L * coordinateSetCount + (long)ENTRY_LENGTH * entryCount;
+    if (stringCount < 0 || coordinateSetCount < 0 || entryCount < 0 || tablesEnd > buffer.limit()) {
+      throw new ConfigurationException("Corrupt configuration snapshot: " + path);
+    }
+    final ByteBuffer body = buffer.duplicate();
+    body.position(HEADER_LENGTH);
+    final CRC32 crc = new CRC32();
+    crc.update(body);
+    if ((int)crc.getValue() != buffer.getInt(CHECKSUM_OFFSET)) {
+      throw new ConfigurationException("Configuration snapshot checksum mismatch: " + path);
+    }
+    this.buffer = buffer;
+    this.stringCount = stringCount;
+    this.coordinateSetCount = coordinateSetCount;
+    this.entryCount = entryCount;
+    this.coordinateSetOffsetsStart = HEADER_LENGTH + 4 * (stringCount + 1);
+    this.entriesStart = this.coordinateSetOffsetsStart + 4 * coordinateSetCount;
+    this.coordinateSets = new AtomicReferenceArray<>(coordinateSetCount);
+  }
+
+  /**
+   * Returns the rank of this {@link SnapshotConfiguration} as
+   * supplied at construction time.
+   *
+   * @return the rank of this {@link SnapshotConfiguration}
+   */
+  @Override
+  public final int getRank() {
+    return this.rank;
+  }
+
+  /**
+   * Returns a {@link ConfigurationValue} for the supplied {@code
+   * name} recorded under the most specific set of configuration
+   * coordinates that is contained by the supplied {@code
+   * coordinates}, or {@code null} if there is no such value.
+   *
+   * <p>If several equally specific sets of configuration coordinates
+   * are contained by the supplied {@code coordinates}, and different
+   * values are recorded for the supplied {@code name} under them,
+   * then, just as a {@link org.microbean.configuration.Configurations}
+   * would, this method reports them as ambiguous.</p>
+   *
+   * @param coordinates the configuration coordinates in effect for
+   * the current request; may be {@code null}
+   *
+   * @param name the name of the configuration property for which to
+   * return a {@link ConfigurationValue}; may be {@code null}
+   *
+   * @return a {@link ConfigurationValue}, or {@code null}
+   *
+   * @exception AmbiguousConfigurationValuesException if equally
+   * specific, different values apply
+   */
+  @Override
+  public ConfigurationValue getValue(Map<String, String> coordinates, final String name) {
+    ConfigurationValue returnValue = null;
+    if (name != null) {
+      final int nameIndex = this.indexOf(name.getBytes(StandardCharsets.UTF_8));
+      if (nameIndex >= 0) {
+        if (coordinates == null) {
+          coordinates = Collections.emptyMap();
+        }
+        final ByteBuffer buffer = this.buffer;
+        Collection<ConfigurationValue> ambiguousValues = null;
+        // Entries for a name are ordered from the most to the least
+        // specific coordinate set, so the first applicable one wins
+        // unless an equally specific one that follows it disagrees.
+        for (int entry = this.firstEntryFor(nameIndex); entry < this.entryCount; entry++) {
+          final int entryOffset = this.entriesStart + entry * ENTRY_LENGTH;
+          if (buffer.getInt(entryOffset) != nameIndex) {
+            break;
+          }
+          final Map<String, String> coordinateSet = this.getCoordinateSet(buffer.getInt(entryOffset + 4));
+          if (returnValue != null && coordinateSet.size() < returnValue.specificity()) {
+            break;
+          }
+          if (coordinates.entrySet().containsAll(coordinateSet.entrySet())) {
+            final ConfigurationValue value = new ConfigurationValue(this, coordinateSet, name, this.getString(buffer.getInt(entryOffset + 8)), false);
+            if (returnValue == null) {
+              returnValue = value;
+            } else if (!returnValue.getValue().equals(value.getValue())) {
+              if (ambiguousValues == null) {
+                ambiguousValues = new ArrayList<>();
+                ambiguousValues.add(returnValue);
+              }
+              ambiguousValues.add(value);
+            }
+          }
+        }
+        if (ambiguousValues != null) {
+          throw new AmbiguousConfigurationValuesException(null, null, coordinates, name, ambiguousValues);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableSet(Set)
+   * immutable} {@link Set} of the names recorded in the snapshot.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of names
+   */
+  @Override
+  public Set<String> getNames() {
+    Set<String> returnValue = this.names;
+    if (returnValue == null) {
+      final Set<String> names = new LinkedHashSet<>();
+      int previousNameIndex = -1;
+      for (int entry = 0; entry < this.entryCount; entry++) {
+        final int nameIndex = this.buffer.getInt(this.entriesStart + entry * ENTRY_LENGTH);
+        if (nameIndex != previousNameIndex) {
+          names.add(this.getString(nameIndex));
+          previousNameIndex = nameIndex;
+        }
+      }
+      returnValue = Collections.unmodifiableSet(names);
+      this.names = returnValue;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns an {@linkplain Collections#unmodifiableSet(Set)
+   * immutable} {@link Set} of the sets of configuration coordinates
+   * recorded in the snapshot.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of sets of configuration
+   * coordinates
+   */
+  @Override
+  public Set<Map<String, String>> getCoordinateSets() {
+    Set<Map<String, String>> returnValue = this.allCoordinateSets;
+    if (returnValue == null) {
+      final Set<Map<String, String>> coordinateSets = new LinkedHashSet<>();
+      for (int i = 0; i < this.coordinateSetCount; i++) {
+        coordinateSets.add(this.getCoordinateSet(i));
+      }
+      returnValue = Collections.unmodifiableSet(coordinateSets);
+      this.allCoordinateSets = returnValue;
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the index of the supplied UTF-8-encoded string in the
+   * string table, or {@code -1} if it is not present.
+   */
+  private final int indexOf(final byte[] key) {
+    int low = 0;
+    int high = this.stringCount - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int comparison = this.compareString(middle, key);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the first entry whose name index is not
+   * less than the supplied {@code nameIndex}.
+   */
+  private final int firstEntryFor(final int nameIndex) {
+    int low = 0;
+    int high = this.entryCount;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (this.buffer.getInt(this.entriesStart + middle * ENTRY_LENGTH) < nameIndex) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private final int compareString(final int index, final byte[] key) {
+    final ByteBuffer buffer = this.buffer;
+    final int start = buffer.getInt(HEADER_LENGTH + 4 * index);
+    final int length = buffer.getInt(HEADER_LENGTH + 4 * (index + 1)) - start;
+    final int commonLength = Math.min(length, key.length);
+    for (int i = 0; i < commonLength; i++) {
+      final int comparison = (buffer.get(start + i) & 0xFF) - (key[i] & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return length - key.length;
+  }
+
+  private final String getString(final int index) {
+    final ByteBuffer buffer = this.buffer;
+    final int start = buffer.getInt(HEADER_LENGTH + 4 * index);
+    final int length = buffer.getInt(HEADER_LENGTH + 4 * (index + 1)) - start;
+    final byte[] bytes = new byte[length];
+    final ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(start);
+    duplicate.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private final Map<String, String> getCoordinateSet(final int index) {
+    Map<String, String> returnValue = this.coordinateSets.get(index);
+    if (returnValue == null) {
+      final ByteBuffer buffer = this.buffer;
+      int offset = buffer.getInt(this.coordinateSetOffsetsStart + 4 * index);
+      final int pairCount = buffer.getInt(offset);
+      if (pairCount == 0) {
+        returnValue = Collections.emptyMap();
+      } else {
+        final Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < pairCount; i++) {
+          offset += 4;
+          final String key = this.getString(buffer.getInt(offset));
+          offset += 4;
+          map.put(key, this.getString(buffer.getInt(offset)));
+        }
+        returnValue = Collections.unmodifiableMap(map);
+      }
+      if (!this.coordinateSets.compareAndSet(index, null, returnValue)) {
+        returnValue = this.coordinateSets.get(index);
+      }
+    }
+    return returnValue;
+  }
+
+  private final Object readResolve() {
+    return new SnapshotConfiguration(Paths.get(this.location), this.rank);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.location.hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (other == this) {
+      return true;
+    } else if (other instanceof SnapshotConfiguration) {
+      final SnapshotConfiguration her = (SnapshotConfiguration)other;
+      return this.rank == her.rank && Objects.equals(this.location, her.location);
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.location.toString();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Compares two byte arrays lexicographically, treating their
+   * elements as unsigned values; this is the order in which a
+   * snapshot's string table is sorted.
+   */
+  static final int compareUnsigned(final byte[] a, final byte[] b) {
+    final int commonLength = Math.min(a.length, b.length);
+    for (int i = 0; i < commonLength; i++) {
+      final int comparison = (a[i] & 0xFF) - (b[i] & 0xFF);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return a.length - b.length;
+  }
+
+}
@@ -19,11 +19,14 @@ package org.microbean.configuration.spi;
 import java.io.Serializable;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
 
+import org.microbean.configuration.Configurations;
+
 import org.microbean.configuration.api.ConfigurationValue;
 
 /**
@@ -32,6 +35,25 @@ import org.microbean.configuration.api.ConfigurationValue;
  * minimally {@linkplain ConfigurationValue#specificity() specific}
  * {@link ConfigurationValue}s representing them.
  *
+ * <p>By default every request consults {@link System#getProperties()}
+ * directly.  In <em>snapshot mode</em> (see {@link
+ * #SystemPropertiesConfiguration(boolean)}) an immutable snapshot of
+ * the System properties, taken on first use, is consulted instead,
+ * so that no request ever acquires the monitor of the {@link
+ * Properties} object.</p>
+ *
+ * <p><strong>Snapshot mode is refresh-only.</strong> Changes made
+ * by {@link System#setProperty(String, String)}, {@link
+ * System#clearProperty(String)} or {@link
+ * System#setProperties(Properties)} are not seen until {@link
+ * #refresh()} is called, which also {@linkplain
+ * Configurations#invalidate(Configuration, Set) reports} the changed
+ * names to the {@link Configurations} in effect.</p>
+ *
+ * <p>An instance created by {@link java.util.ServiceLoader}, using
+ * the zero-argument constructor, is in snapshot mode if the {@link
+ * #SNAPSHOT_MODE_PROPERTY} System property is {@code true}.</p>
+ *
  * @author <a href="https://about.me/lairdnelson"
  * target="_parent">Laird Nelson</a>
  */
@@ -49,6 +71,18 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
    */
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The name of the System property that, if {@code true}, places
+   * {@link SystemPropertiesConfiguration}s created with the
+   * {@linkplain #SystemPropertiesConfiguration() zero-argument
+   * constructor} in snapshot mode.
+   *
+   * <p>This field is never {@code null}.</p>
+   *
+   * @see #SystemPropertiesConfiguration()
+   */
+  public static final String SNAPSHOT_MODE_PROPERTY = "org.microbean.configuration.spi.SystemPropertiesConfiguration.snapshotMode";
+
   /**
    * A {@link Set} of {@linkplain System#getProperties() System
    * properties} that the Java Language Specification guarantees will
@@ -93,16 +127,60 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
   }
 
 
+  /*
+   * Instance fields.
+   */
+
+
+  /**
+   * Whether this {@link SystemPropertiesConfiguration} is in snapshot
+   * mode.
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
+   */
+  private final boolean snapshotMode;
+
+  /**
+   * The current {@link Snapshot}, or {@code null} if one has not yet
+   * been taken or this {@link SystemPropertiesConfiguration} is not
+   * in snapshot mode.
+   *
+   * @see #snapshot()
+   */
+  private transient volatile Snapshot snapshot;
+
+
   /*
    * Constructors.
    */
   
 
   /**
-   * Creates a new {@link SystemPropertiesConfiguration}.
+   * Creates a new {@link SystemPropertiesConfiguration} that is in
+   * snapshot mode if the {@link #SNAPSHOT_MODE_PROPERTY} System
+   * property is {@code true}, and that otherwise consults {@link
+   * System#getProperties()} on every request.
+   *
+   * @see #SNAPSHOT_MODE_PROPERTY
+   *
+   * @see #SystemPropertiesConfiguration(boolean)
    */
   public SystemPropertiesConfiguration() {
+    this(Boolean.getBoolean(SNAPSHOT_MODE_PROPERTY));
+  }
+
+  /**
+   * Creates a new {@link SystemPropertiesConfiguration}.
+   *
+   * @param snapshotMode whether an immutable snapshot of the System
+   * properties should be consulted instead of {@link
+   * System#getProperties()} itself
+   *
+   * @see #refresh()
+   */
+  public SystemPropertiesConfiguration(final boolean snapshotMode) {
     super();
+    this.snapshotMode = snapshotMode;
   }
 
 
@@ -139,7 +217,7 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
   public final ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
     ConfigurationValue returnValue = null;
     if (name != null) {
-      final String propertyValue = System.getProperty(name);
+      final String propertyValue = this.snapshotMode ? this.snapshot().values.get(name) : System.getProperty(name);
       if (propertyValue != null) {
         returnValue = new ConfigurationValue(this, null /* deliberately null coordinates */, name, propertyValue, this.isAuthoritative(name));
       }
@@ -147,6 +225,21 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
     return returnValue;
   }
 
+  /**
+   * Returns a {@link Set} whose sole element is an empty {@link Map},
+   * since System properties do not vary by configuration
+   * coordinates.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return a non-{@code null} {@link Set} of sets of configuration
+   * coordinates
+   */
+  @Override
+  public final Set<Map<String, String>> getCoordinateSets() {
+    return Collections.singleton(Collections.emptyMap());
+  }
+
   /**
    * Returns a {@link Set} of the names of all {@link
    * ConfigurationValue}s that might be returned by this {@link
@@ -164,10 +257,103 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
    */
   @Override
   public final Set<String> getNames() {
-    final Properties properties = System.getProperties();
-    assert properties != null; // by contract
-    assert !properties.isEmpty(); // by contract
-    final Set<String> returnValue = Collections.unmodifiableSet(properties.stringPropertyNames());
+    final Set<String> returnValue;
+    if (this.snapshotMode) {
+      returnValue = this.snapshot().values.keySet();
+    } else {
+      final Properties properties = System.getProperties();
+      assert properties != null; // by contract
+      assert !properties.isEmpty(); // by contract
+      returnValue = Collections.unmodifiableSet(properties.stringPropertyNames());
+    }
+    return returnValue;
+  }
+
+  /**
+   * If this {@link SystemPropertiesConfiguration} is in snapshot
+   * mode, takes a new snapshot of the System properties, {@linkplain
+   * Configurations#invalidate(Configuration, Set) reports} the names
+   * of any properties that were added, removed or changed since the
+   * last snapshot to the {@linkplain #getConfigurations()
+   * <code>Configurations</code> in effect}, and returns those names.
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * <p>In snapshot mode this is the only way that changes to the
+   * System properties are ever seen.</p>
+   *
+   * @return a non-{@code null}, immutable {@link Set} of the names of
+   * properties that changed; always empty if this {@link
+   * SystemPropertiesConfiguration} is not in snapshot mode
+   */
+  public final Set<String> refresh() {
+    final Set<String> returnValue;
+    if (this.snapshotMode) {
+      final Snapshot newSnapshot = new Snapshot(System.getProperties());
+      final Snapshot oldSnapshot;
+      synchronized (this) {
+        oldSnapshot = this.snapshot;
+        this.snapshot = newSnapshot;
+      }
+      returnValue = this.publishChanges(oldSnapshot, newSnapshot);
+    } else {
+      returnValue = Collections.emptySet();
+    }
+    return returnValue;
+  }
+
+  /**
+   * Returns the current {@link Snapshot}, taking the first one if
+   * necessary.
+   *
+   * <p>This method never {@linkplain
+   * Configurations#invalidate(Configuration, Set) reports} changes;
+   * only {@link #refresh()} does.</p>
+   *
+   * <p>This method never returns {@code null}.</p>
+   *
+   * @return the current {@link Snapshot}; never {@code null}
+   */
+  private final Snapshot snapshot() {
+    Snapshot returnValue = this.snapshot;
+    if (returnValue == null) {
+      synchronized (this) {
+        returnValue = this.snapshot;
+        if (returnValue == null) {
+          returnValue = new Snapshot(System.getProperties());
+          this.snapshot = returnValue;
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  private final Set<String> publishChanges(final Snapshot oldSnapshot, final Snapshot newSnapshot) {
+    final Set<String> returnValue;
+    if (oldSnapshot == null) {
+      returnValue = Collections.emptySet();
+    } else {
+      final Set<String> changedNames = new HashSet<>();
+      for (final Map.Entry<String, String> entry : newSnapshot.values.entrySet()) {
+        if (!entry.getValue().equals(oldSnapshot.values.get(entry.getKey()))) {
+          changedNames.add(entry.getKey());
+        }
+      }
+      for (final String oldName : oldSnapshot.values.keySet()) {
+        if (!newSnapshot.values.containsKey(oldName)) {
+          changedNames.add(oldName);
+        }
+      }
+      if (changedNames.isEmpty()) {
+        returnValue = Collections.emptySet();
+      } else {
+        returnValue = Collections.unmodifiableSet(changedNames);
+        final Configurations configurations = this.getConfigurations();
+        if (configurations != null) {
+          configurations.invalidate(this, returnValue);
+        }
+      }
+    }
     return returnValue;
   }
   
@@ -190,19 +376,87 @@ public final class SystemPropertiesConfiguration extends AbstractConfiguration i
     return name != null && systemPropertiesGuaranteedToExist.contains(name);
   }
 
+  /**
+   * Returns a hash code for this {@link SystemPropertiesConfiguration}
+   * that depends only on whether it is in snapshot mode.
+   *
+   * <p>The hash code never changes, so a {@link
+   * SystemPropertiesConfiguration} cannot be stranded in a hash-based
+   * collection when the System properties change, and computing it
+   * never walks the System properties.</p>
+   *
+   * @return a hash code
+   */
   @Override
   public final int hashCode() {
-    return System.getProperties().hashCode();
+    return 31 * SystemPropertiesConfiguration.class.getName().hashCode() + (this.snapshotMode ? 1 : 0);
   }
 
+  /**
+   * Returns {@code true} if the supplied {@link Object} is a {@link
+   * SystemPropertiesConfiguration} in the same mode as this one.
+   *
+   * @param other the {@link Object} to test; may be {@code null}
+   *
+   * @return {@code true} if {@code other} is equal to this {@link
+   * SystemPropertiesConfiguration}
+   */
   @Override
   public final boolean equals(final Object other) {
-    return other instanceof SystemPropertiesConfiguration;
+    return other instanceof SystemPropertiesConfiguration && ((SystemPropertiesConfiguration)other).snapshotMode == this.snapshotMode;
   }
 
   @Override
   public String toString() {
-    return System.getProperties().toString();
+    final String returnValue;
+    if (this.snapshotMode) {
+      returnValue = this.snapshot().toString();
+    } else {
+      returnValue = System.getProperties().toString();
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable snapshot of the System properties.
+   *
+   * @author <a href="https://about.me/lairdnelson"
+   * target="_parent">Laird Nelson</a>
+   */
+  private static final class Snapshot {
+
+    private final Map<String, String> values;
+
+    private volatile String toString;
+
+    private Snapshot(final Properties properties) {
+      super();
+      final Map<String, String> values = new HashMap<>();
+      for (final String name : properties.stringPropertyNames()) {
+        final String value = properties.getProperty(name);
+        if (value != null) {
+          values.put(name, value);
+        }
+      }
+      this.values = Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public final String toString() {
+      String returnValue = this.toString;
+      if (returnValue == null) {
+        returnValue = this.values.toString();
+        this.toString = returnValue;
+      }
+      return returnValue;
+    }
+
   }
   
 }
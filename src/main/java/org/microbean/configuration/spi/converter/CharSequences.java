@@ -0,0 +1,142 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+/**
+ * Utility methods for parsing regions of {@link CharSequence}s
+ * without first copying them into {@link String}s.
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see org.microbean.configuration.spi.Converter#convert(CharSequence,
+ * int, int)
+ */
+final class CharSequences {
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private CharSequences() {
+    super();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Parses the characters of the supplied {@link CharSequence}
+   * between the supplied indices as a signed decimal integer, exactly
+   * as {@link Long#parseLong(String)} would parse the equivalent
+   * {@link String}, and returns the result if it lies between the
+   * supplied bounds.
+   *
+   * @param value the {@link CharSequence} to parse; must not be
+   * {@code null}
+   *
+   * @param start the index of the first character to parse
+   *
+   * @param end the index after the last character to parse
+   *
+   * @param min the smallest acceptable result
+   *
+   * @param max the largest acceptable result
+   *
+   * @return the parsed value
+   *
+   * @exception NumberFormatException if the region does not contain
+   * a parsable integer between {@code min} and {@code max}
+   */
+  static final long parseLong(final CharSequence value, final int start, final int end, final long min, final long max) {
+    int i = start;
+    boolean negative = false;
+    if (i < end) {
+      final char first = value.charAt(i);
+      if (first == '-') {
+        negative = true;
+        i++;
+      } else if (first == '+') {
+        i++;
+      }
+    }
+    if (i == end) {
+      throw numberFormatException(value, start, end);
+    }
+    // Accumulate negatively, since the magnitude of Long.MIN_VALUE
+    // exceeds that of Long.MAX_VALUE.
+    final long limit = negative ? min : -max;
+    final long multiplicationLimit = limit / 10;
+    long result = 0L;
+    while (i < end) {
+      final int digit = Character.digit(value.charAt(i++), 10);
+      if (digit < 0 || result < multiplicationLimit) {
+        throw numberFormatException(value, start, end);
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        throw numberFormatException(value, start, end);
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Returns {@code true} if the characters of the supplied {@link
+   * CharSequence} between the supplied indices equal the supplied
+   * {@link String}, ignoring case, as {@link
+   * String#equalsIgnoreCase(String)} would.
+   *
+   * @param value the {@link CharSequence} to examine; must not be
+   * {@code null}
+   *
+   * @param start the index of the first character to examine
+   *
+   * @param end the index after the last character to examine
+   *
+   * @param s the {@link String} to compare against; must not be
+   * {@code null}
+   *
+   * @return {@code true} if the region equals {@code s}, ignoring
+   * case
+   */
+  static final boolean equalsIgnoreCase(final CharSequence value, final int start, final int end, final String s) {
+    final int length = s.length();
+    if (end - start != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      final char a = value.charAt(start + i);
+      final char b = s.charAt(i);
+      if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b) && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final NumberFormatException numberFormatException(final CharSequence value, final int start, final int end) {
+    return new NumberFormatException("For input string: \"" + value.subSequence(start, end) + "\"");
+  }
+
+}
@@ -0,0 +1,122 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017 MicroBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.Objects;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache of objects, such as compiled regular
+ * expressions, that are expensive to produce from the {@link String}s
+ * that describe them, shared by every {@link
+ * org.microbean.configuration.spi.Converter} of a given kind.
+ *
+ * <p>Like the memo a {@link org.microbean.configuration.Configurations}
+ * keeps for each {@linkplain
+ * org.microbean.configuration.spi.Converter#isPure() pure} {@link
+ * org.microbean.configuration.spi.Converter}, a {@link CompiledCache}
+ * forgets everything it has remembered when it is full rather than
+ * tracking which entries are least recently used.</p>
+ *
+ * @param <T> the type of the cached objects
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ */
+final class CompiledCache<T> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final int capacity;
+
+  private final Function<? super String, ? extends T> compiler;
+
+  private final ConcurrentMap<String, T> cache;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link CompiledCache}.
+   *
+   * @param capacity the maximum number of objects to remember; must
+   * be greater than zero
+   *
+   * @param compiler a {@link Function} that produces an object from
+   * a {@link String}; must not be {@code null} and must not return
+   * {@code null}
+   *
+   * @exception NullPointerException if {@code compiler} is {@code
+   * null}
+   *
+   * @exception IllegalArgumentException if {@code capacity} is less
+   * than {@code 1}
+   */
+  CompiledCache(final int capacity, final Function<? super String, ? extends T> compiler) {
+    super();
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity < 1: " + capacity);
+    }
+    this.capacity = capacity;
+    this.compiler = Objects.requireNonNull(compiler);
+    this.cache = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the object previously produced for the supplied {@link
+   * String}, or produces and remembers a new one.
+   *
+   * @param value the {@link String} to compile; must not be {@code
+   * null}
+   *
+   * @return a non-{@code null} object
+   *
+   * @exception NullPointerException if {@code value} is {@code null}
+   */
+  final T get(final String value) {
+    T returnValue = this.cache.get(value);
+    if (returnValue == null) {
+      returnValue = this.compiler.apply(value);
+      if (this.cache.size() >= this.capacity) {
+        this.cache.clear();
+      }
+      final T existing = this.cache.putIfAbsent(value, returnValue);
+      if (existing != null) {
+        returnValue = existing;
+      }
+    }
+    return returnValue;
+  }
+
+}
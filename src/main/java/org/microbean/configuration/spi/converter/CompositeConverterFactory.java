@@ -0,0 +1,347 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.api.ConversionException;
+
+import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.ConverterFactory;
+
+/**
+ * A {@link ConverterFactory} that creates {@link Converter}s for
+ * {@link List}, {@link Set}, {@link Collection}, {@link Map}, {@link
+ * Optional} and array types out of the {@link Converter}s for their
+ * element types.
+ *
+ * <p>Elements are separated by commas and trimmed of surrounding
+ * whitespace; empty elements are skipped, and double quotes and
+ * backslashes may be used to include commas and whitespace in an
+ * element.  {@link Map} entries take the form {@code key=value}, and
+ * the whole {@link Map} may be enclosed in braces, so {@code {a=1,
+ * b=2}} converts to a {@code Map<String, Integer>} with two entries.
+ * {@link List}s, {@link Set}s and {@link Map}s preserve the order of
+ * their elements and are unmodifiable.</p>
+ *
+ * <p>Element types may themselves be any {@link Type} for which a
+ * {@link Converter} can be found, including types that this {@link
+ * ConverterFactory} synthesizes, though since the comma is the only
+ * separator nesting one collection within another is rarely
+ * useful.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see ConverterFactory
+ */
+public final class CompositeConverterFactory implements ConverterFactory {
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link CompositeConverterFactory}.
+   */
+  public CompositeConverterFactory() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override
+  public final Converter<?> createConverter(final Type type, final Function<? super Type, ? extends Converter<?>> converters) {
+    Objects.requireNonNull(converters);
+    Converter<?> returnValue = null;
+    if (type instanceof Class) {
+      final Class<?> c = (Class<?>)type;
+      if (c.isArray()) {
+        final Converter<?> elementConverter = converters.apply(wrap(c.getComponentType()));
+        if (elementConverter != null) {
+          returnValue = new ArrayConverter(c.getComponentType(), elementConverter);
+        }
+      }
+    } else if (type instanceof GenericArrayType) {
+      final Type componentType = ((GenericArrayType)type).getGenericComponentType();
+      final Converter<?> elementConverter = converters.apply(componentType);
+      if (elementConverter != null) {
+        returnValue = new ArrayConverter(erase(componentType), elementConverter);
+      }
+    } else if (type instanceof ParameterizedType) {
+      final ParameterizedType parameterizedType = (ParameterizedType)type;
+      final Type rawType = parameterizedType.getRawType();
+      final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+      if (rawType == List.class || rawType == Collection.class || rawType == Set.class || rawType == Optional.class) {
+        final Converter<?> elementConverter = converters.apply(upperBound(typeArguments[0]));
+        if (elementConverter != null) {
+          if (rawType == Optional.class) {
+            returnValue = new OptionalConverter(elementConverter);
+          } else {
+            returnValue = new CollectionConverter(rawType == Set.class, elementConverter);
+          }
+        }
+      } else if (rawType == Map.class) {
+        final Converter<?> keyConverter = converters.apply(upperBound(typeArguments[0]));
+        if (keyConverter != null) {
+          final Converter<?> valueConverter = converters.apply(upperBound(typeArguments[1]));
+          if (valueConverter != null) {
+            returnValue = new MapConverter(keyConverter, valueConverter);
+          }
+        }
+      }
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final Type upperBound(final Type type) {
+    final Type returnValue;
+    if (type instanceof WildcardType) {
+      returnValue = ((WildcardType)type).getUpperBounds()[0];
+    } else {
+      returnValue = type;
+    }
+    return returnValue;
+  }
+
+  private static final Type wrap(final Class<?> c) {
+    final Type returnValue;
+    if (c == int.class) {
+      returnValue = Integer.class;
+    } else if (c == long.class) {
+      returnValue = Long.class;
+    } else if (c == boolean.class) {
+      returnValue = Boolean.class;
+    } else if (c == double.class) {
+      returnValue = Double.class;
+    } else if (c == float.class) {
+      returnValue = Float.class;
+    } else if (c == short.class) {
+      returnValue = Short.class;
+    } else if (c == byte.class) {
+      returnValue = Byte.class;
+    } else if (c == char.class) {
+      returnValue = Character.class;
+    } else {
+      returnValue = c;
+    }
+    return returnValue;
+  }
+
+  private static final Class<?> erase(final Type type) {
+    final Class<?> returnValue;
+    if (type instanceof Class) {
+      returnValue = (Class<?>)type;
+    } else if (type instanceof ParameterizedType) {
+      returnValue = erase(((ParameterizedType)type).getRawType());
+    } else if (type instanceof GenericArrayType) {
+      returnValue = Array.newInstance(erase(((GenericArrayType)type).getGenericComponentType()), 0).getClass();
+    } else {
+      returnValue = Object.class;
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class CollectionConverter extends Converter<Collection<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean set;
+
+    private final Converter<?> elementConverter;
+
+    private CollectionConverter(final boolean set, final Converter<?> elementConverter) {
+      super();
+      this.set = set;
+      this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public final Collection<?> convert(final String value) {
+      Collection<?> returnValue = null;
+      if (value != null) {
+        final List<String> elements = Tokenizer.tokenize(value, new ArrayList<>());
+        if (this.set) {
+          final Set<Object> set = new LinkedHashSet<>();
+          for (final String element : elements) {
+            set.add(this.elementConverter.convert(element));
+          }
+          returnValue = Collections.unmodifiableSet(set);
+        } else {
+          final List<Object> list = new ArrayList<>(elements.size());
+          for (final String element : elements) {
+            list.add(this.elementConverter.convert(element));
+          }
+          returnValue = Collections.unmodifiableList(list);
+        }
+      }
+      return returnValue;
+    }
+
+    @Override
+    public final boolean isPure() {
+      return this.elementConverter.isPure();
+    }
+
+  }
+
+  private static final class MapConverter extends Converter<Map<?, ?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Converter<?> keyConverter;
+
+    private final Converter<?> valueConverter;
+
+    private MapConverter(final Converter<?> keyConverter, final Converter<?> valueConverter) {
+      super();
+      this.keyConverter = keyConverter;
+      this.valueConverter = valueConverter;
+    }
+
+    @Override
+    public final Map<?, ?> convert(final String value) {
+      Map<?, ?> returnValue = null;
+      if (value != null) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+          start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+          end--;
+        }
+        if (end - start >= 2 && value.charAt(start) == '{' && value.charAt(end - 1) == '}') {
+          start++;
+          end--;
+        }
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        final Tokenizer tokenizer = new Tokenizer(value, start, end);
+        while (tokenizer.hasNext()) {
+          final String key = tokenizer.next('=');
+          if (tokenizer.delimiter() == '=') {
+            final String entryValue = tokenizer.next(',');
+            map.put(this.keyConverter.convert(key == null ? "" : key), this.valueConverter.convert(entryValue == null ? "" : entryValue));
+          } else if (key != null) {
+            throw new ConversionException("Missing '=' in map entry: " + key);
+          }
+        }
+        returnValue = Collections.unmodifiableMap(map);
+      }
+      return returnValue;
+    }
+
+    @Override
+    public final boolean isPure() {
+      return this.keyConverter.isPure() && this.valueConverter.isPure();
+    }
+
+  }
+
+  private static final class OptionalConverter extends Converter<Optional<?>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Converter<?> elementConverter;
+
+    private OptionalConverter(final Converter<?> elementConverter) {
+      super();
+      this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public final Optional<?> convert(final String value) {
+      return Optional.ofNullable(this.elementConverter.convert(value));
+    }
+
+    @Override
+    public final boolean isPure() {
+      return this.elementConverter.isPure();
+    }
+
+  }
+
+  private static final class ArrayConverter extends Converter<Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Class<?> componentType;
+
+    private final Converter<?> elementConverter;
+
+    private ArrayConverter(final Class<?> componentType, final Converter<?> elementConverter) {
+      super();
+      this.componentType = componentType;
+      this.elementConverter = elementConverter;
+    }
+
+    @Override
+    public final Object convert(final String value) {
+      Object returnValue = null;
+      if (value != null) {
+        final List<String> elements = Tokenizer.tokenize(value, new ArrayList<>());
+        final int size = elements.size();
+        returnValue = Array.newInstance(this.componentType, size);
+        for (int i = 0; i < size; i++) {
+          final Object element = this.elementConverter.convert(elements.get(i));
+          if (element == null && this.componentType.isPrimitive()) {
+            throw new ConversionException("Cannot store null in " + this.componentType + " array: " + elements.get(i));
+          }
+          Array.set(returnValue, i, element);
+        }
+      }
+      return returnValue;
+    }
+
+  }
+
+}
@@ -0,0 +1,280 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.lang.reflect.Type;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import java.util.function.Function;
+
+import org.microbean.configuration.api.ConversionException;
+
+import org.microbean.configuration.spi.Converter;
+import org.microbean.configuration.spi.ConverterFactory;
+
+/**
+ * A {@link ConverterFactory} that creates {@link Converter}s for
+ * {@code enum} types.
+ *
+ * <p>A value converts to the constant whose {@linkplain Enum#name()
+ * name} or {@linkplain Enum#toString() string representation} it
+ * matches, ignoring case, surrounding whitespace and the difference
+ * between hyphens and underscores, so {@code read-only}, {@code
+ * Read_Only} and {@code READ_ONLY} all convert to a constant named
+ * {@code READ_ONLY}.  If two constants match a value in this relaxed
+ * way, only a value matching one of their names exactly converts.
+ * Empty values convert to {@code null}.</p>
+ *
+ * <p>Each {@link Converter} precomputes a perfect hash table of the
+ * names and string representations of its constants when it is
+ * created, so converting a value examines exactly one table entry,
+ * and converting a {@linkplain Converter#convert(CharSequence, int,
+ * int) region} of a {@link CharSequence} allocates nothing.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see ConverterFactory
+ */
+public final class EnumConverterFactory implements ConverterFactory {
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link EnumConverterFactory}.
+   */
+  public EnumConverterFactory() {
+    super();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override
+  public final Converter<?> createConverter(final Type type, final Function<? super Type, ? extends Converter<?>> converters) {
+    Objects.requireNonNull(converters);
+    Converter<?> returnValue = null;
+    if (type instanceof Class && ((Class<?>)type).isEnum()) {
+      @SuppressWarnings({ "unchecked", "rawtypes" })
+      final Converter<?> converter = new EnumConverter((Class<? extends Enum>)type);
+      returnValue = converter;
+    }
+    return returnValue;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the supplied character in the form in which it is stored
+   * in, and compared against, a lookup table.
+   */
+  private static final char fold(final char c) {
+    return c == '-' ? '_' : Character.toUpperCase(c);
+  }
+
+  private static final int hash(final CharSequence value, final int start, final int end, final int seed) {
+    int h = seed;
+    for (int i = start; i < end; i++) {
+      h = (h ^ fold(value.charAt(i))) * 0x01000193;
+    }
+    return h ^ (h >>> 16);
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final class EnumConverter<E extends Enum<E>> extends Converter<E> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The largest table that will be tried before giving up on
+     * finding a perfect hash.
+     */
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 16;
+
+    /**
+     * The number of seeds tried for each table size.
+     */
+    private static final int SEEDS = 32;
+
+    /**
+     * Stands in, in {@link #values}, for a key that more than one
+     * constant matches.
+     */
+    private static final Object AMBIGUOUS = new Object();
+
+    private final Class<E> enumType;
+
+    private final transient E[] constants;
+
+    private final transient String[] keys;
+
+    private final transient Object[] values;
+
+    private final transient int seed;
+
+    private EnumConverter(final Class<E> enumType) {
+      super();
+      this.enumType = enumType;
+      this.constants = enumType.getEnumConstants();
+      final Map<String, Object> table = new LinkedHashMap<>();
+      for (final E constant : this.constants) {
+        put(table, constant.name(), constant);
+        put(table, constant.toString(), constant);
+      }
+      final String[] keys = table.keySet().toArray(new String[table.size()]);
+      int size = Math.max(2, Integer.highestOneBit(Math.max(1, keys.length) * 2 - 1) << 1);
+      String[] slots = null;
+      int seed = 0;
+      search:
+      while (size <= MAXIMUM_TABLE_SIZE) {
+        for (seed = 0x811C9DC5; seed < 0x811C9DC5 + SEEDS; seed++) {
+          slots = new String[size];
+          boolean collision = false;
+          for (final String key : keys) {
+            final int slot = hash(key, 0, key.length(), seed) & (size - 1);
+            if (slots[slot] != null) {
+              collision = true;
+              break;
+            }
+            slots[slot] = key;
+          }
+          if (!collision) {
+            break search;
+          }
+        }
+        size <<= 1;
+      }
+      if (size > MAXIMUM_TABLE_SIZE) {
+        throw new IllegalStateException("Could not build a lookup table for " + enumType);
+      }
+      this.keys = slots;
+      this.seed = seed;
+      this.values = new Object[size];
+      for (int i = 0; i < size; i++) {
+        if (slots[i] != null) {
+          this.values[i] = table.get(slots[i]);
+        }
+      }
+    }
+
+    @Override
+    public final E convert(final String value) {
+      E returnValue = null;
+      if (value != null) {
+        returnValue = this.convert(value, 0, value.length());
+      }
+      return returnValue;
+    }
+
+    @Override
+    public final E convert(final CharSequence value, int start, int end) {
+      E returnValue = null;
+      if (value != null) {
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+          start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+          end--;
+        }
+        if (start < end) {
+          final int slot = hash(value, start, end, this.seed) & (this.keys.length - 1);
+          final String key = this.keys[slot];
+          Object match = null;
+          if (key != null && key.length() == end - start) {
+            match = this.values[slot];
+            for (int i = 0; i < key.length(); i++) {
+              if (fold(value.charAt(start + i)) != key.charAt(i)) {
+                match = null;
+                break;
+              }
+            }
+          }
+          if (match == AMBIGUOUS) {
+            match = null;
+            for (final E constant : this.constants) {
+              if (regionEquals(value, start, end, constant.name())) {
+                match = constant;
+                break;
+              }
+            }
+          }
+          if (match == null) {
+            throw new ConversionException("No constant of " + this.enumType.getName() + " matches \"" + value.subSequence(start, end) + "\"");
+          }
+          returnValue = this.enumType.cast(match);
+        }
+      }
+      return returnValue;
+    }
+
+    /**
+     * Returns {@code true} when invoked, since {@code enum} constants
+     * are singletons.
+     *
+     * @return {@code true} when invoked
+     */
+    @Override
+    public final boolean isPure() {
+      return true;
+    }
+
+    private final Object readResolve() {
+      return new EnumConverter<>(this.enumType);
+    }
+
+    private static final void put(final Map<String, Object> table, final String s, final Object constant) {
+      final StringBuilder key = new StringBuilder(s.length());
+      for (int i = 0; i < s.length(); i++) {
+        key.append(fold(s.charAt(i)));
+      }
+      table.merge(key.toString(), constant, (a, b) -> a == b ? a : AMBIGUOUS);
+    }
+
+    private static final boolean regionEquals(final CharSequence value, final int start, final int end, final String s) {
+      if (end - start != s.length()) {
+        return false;
+      }
+      for (int i = 0; i < s.length(); i++) {
+        if (value.charAt(start + i) != s.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
@@ -32,5 +32,10 @@ public final class StringToBigDecimalConverter extends Converter<BigDecimal> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -32,5 +32,10 @@ public final class StringToBigIntegerConverter extends Converter<BigInteger> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -30,5 +30,14 @@ public final class StringToBooleanConverter extends Converter<Boolean> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final Boolean convert(final CharSequence value, final int start, final int end) {
+    Boolean returnValue = null;
+    if (value != null) {
+      returnValue = Boolean.valueOf(CharSequences.equalsIgnoreCase(value, start, end, "true"));
+    }
+    return returnValue;
+  }
+
 }
@@ -0,0 +1,109 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.Base64;
+
+import org.microbean.configuration.api.ConversionException;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A {@link Converter} that decodes a {@link String} into a {@code
+ * byte} array.
+ *
+ * <p>A value beginning with {@code hex:}, {@code 0x} or {@code 0X}
+ * is decoded as hexadecimal digits, two per byte.  Any other value,
+ * optionally beginning with {@code base64:}, is decoded as <a
+ * href="https://tools.ietf.org/html/rfc4648">Base64</a>, in either
+ * its basic or its URL- and filename-safe alphabet.  Surrounding
+ * whitespace is ignored.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see StringToByteBufferConverter
+ */
+public final class StringToByteArrayConverter extends Converter<byte[]> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+
+  @Override
+  public final byte[] convert(final String value) {
+    byte[] returnValue = null;
+    if (value != null) {
+      returnValue = decode(value);
+    }
+    return returnValue;
+  }
+
+  static final byte[] decode(final String value) {
+    int start = 0;
+    int end = value.length();
+    while (start < end && Character.isWhitespace(value.charAt(start))) {
+      start++;
+    }
+    while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+      end--;
+    }
+    final byte[] returnValue;
+    if (value.startsWith("hex:", start)) {
+      returnValue = decodeHex(value, start + 4, end);
+    } else if (value.startsWith("0x", start) || value.startsWith("0X", start)) {
+      returnValue = decodeHex(value, start + 2, end);
+    } else {
+      if (value.startsWith("base64:", start)) {
+        start += 7;
+      }
+      if (start == end) {
+        returnValue = EMPTY_BYTE_ARRAY;
+      } else {
+        final String base64 = value.substring(start, end);
+        try {
+          if (base64.indexOf('-') >= 0 || base64.indexOf('_') >= 0) {
+            returnValue = Base64.getUrlDecoder().decode(base64);
+          } else {
+            returnValue = Base64.getDecoder().decode(base64);
+          }
+        } catch (final IllegalArgumentException illegalArgumentException) {
+          throw new ConversionException(illegalArgumentException);
+        }
+      }
+    }
+    return returnValue;
+  }
+
+  private static final byte[] decodeHex(final String value, final int start, final int end) {
+    final int length = end - start;
+    if (length % 2 != 0) {
+      throw new ConversionException("Odd number of hexadecimal digits: " + value);
+    }
+    final byte[] returnValue = length == 0 ? EMPTY_BYTE_ARRAY : new byte[length / 2];
+    for (int i = 0; i < returnValue.length; i++) {
+      final int high = Character.digit(value.charAt(start + 2 * i), 16);
+      final int low = Character.digit(value.charAt(start + 2 * i + 1), 16);
+      if (high < 0 || low < 0) {
+        throw new ConversionException("Invalid hexadecimal digit: " + value);
+      }
+      returnValue[i] = (byte)((high << 4) | low);
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,55 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.nio.ByteBuffer;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A {@link Converter} that decodes a {@link String} into a
+ * {@linkplain ByteBuffer#allocateDirect(int) direct} {@link
+ * ByteBuffer}, following the rules of {@link
+ * StringToByteArrayConverter}.
+ *
+ * <p>The {@link ByteBuffer} returned is positioned at zero, with its
+ * limit and capacity equal to the number of bytes decoded.  Since
+ * {@link ByteBuffer}s are mutable each conversion returns a new
+ * one.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see StringToByteArrayConverter
+ */
+public final class StringToByteBufferConverter extends Converter<ByteBuffer> {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public final ByteBuffer convert(final String value) {
+    ByteBuffer returnValue = null;
+    if (value != null) {
+      final byte[] bytes = StringToByteArrayConverter.decode(value);
+      returnValue = ByteBuffer.allocateDirect(bytes.length);
+      returnValue.put(bytes);
+      returnValue.flip();
+    }
+    return returnValue;
+  }
+
+}
@@ -0,0 +1,88 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017 MicroBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.time.format.DateTimeFormatter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A {@link Converter} that converts {@link String}s into {@link
+ * DateTimeFormatter}s.
+ *
+ * <p>A value that is the name of one of the predefined {@link
+ * DateTimeFormatter} constants, such as {@code ISO_LOCAL_DATE},
+ * converts to that constant.  Any other value is treated as a
+ * {@linkplain DateTimeFormatter#ofPattern(String) pattern}.  Formatters
+ * built from patterns are remembered, up to a limit, and shared by
+ * all instances of this class, so a given pattern is normally parsed
+ * only once per JVM.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see DateTimeFormatter#ofPattern(String)
+ */
+public final class StringToDateTimeFormatterConverter extends Converter<DateTimeFormatter> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Map<String, DateTimeFormatter> predefinedFormatters;
+
+  static {
+    final Map<String, DateTimeFormatter> map = new HashMap<>();
+    map.put("BASIC_ISO_DATE", DateTimeFormatter.BASIC_ISO_DATE);
+    map.put("ISO_DATE", DateTimeFormatter.ISO_DATE);
+    map.put("ISO_DATE_TIME", DateTimeFormatter.ISO_DATE_TIME);
+    map.put("ISO_INSTANT", DateTimeFormatter.ISO_INSTANT);
+    map.put("ISO_LOCAL_DATE", DateTimeFormatter.ISO_LOCAL_DATE);
+    map.put("ISO_LOCAL_DATE_TIME", DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    map.put("ISO_LOCAL_TIME", DateTimeFormatter.ISO_LOCAL_TIME);
+    map.put("ISO_OFFSET_DATE", DateTimeFormatter.ISO_OFFSET_DATE);
+    map.put("ISO_OFFSET_DATE_TIME", DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    map.put("ISO_OFFSET_TIME", DateTimeFormatter.ISO_OFFSET_TIME);
+    map.put("ISO_ORDINAL_DATE", DateTimeFormatter.ISO_ORDINAL_DATE);
+    map.put("ISO_TIME", DateTimeFormatter.ISO_TIME);
+    map.put("ISO_WEEK_DATE", DateTimeFormatter.ISO_WEEK_DATE);
+    map.put("ISO_ZONED_DATE_TIME", DateTimeFormatter.ISO_ZONED_DATE_TIME);
+    map.put("RFC_1123_DATE_TIME", DateTimeFormatter.RFC_1123_DATE_TIME);
+    predefinedFormatters = map;
+  }
+
+  private static final CompiledCache<DateTimeFormatter> formatters = new CompiledCache<>(256, DateTimeFormatter::ofPattern);
+
+  @Override
+  public final DateTimeFormatter convert(final String value) {
+    DateTimeFormatter returnValue = null;
+    if (value != null) {
+      returnValue = predefinedFormatters.get(value);
+      if (returnValue == null) {
+        returnValue = formatters.get(value);
+      }
+    }
+    return returnValue;
+  }
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
+}
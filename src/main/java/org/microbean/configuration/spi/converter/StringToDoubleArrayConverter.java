@@ -0,0 +1,56 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.Arrays;
+
+import org.microbean.configuration.api.ConversionException;
+
+import org.microbean.configuration.spi.Converter;
+
+public final class StringToDoubleArrayConverter extends Converter<double[]> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final double[] EMPTY_DOUBLE_ARRAY = new double[0];
+
+  @Override
+  public final double[] convert(final String value) {
+    double[] returnValue = null;
+    if (value != null) {
+      double[] doubles = EMPTY_DOUBLE_ARRAY;
+      int size = 0;
+      final Tokenizer tokenizer = new Tokenizer(value);
+      while (tokenizer.hasNext()) {
+        final String token = tokenizer.next(',');
+        if (token != null) {
+          if (size == doubles.length) {
+            doubles = Arrays.copyOf(doubles, Math.max(8, size * 2));
+          }
+          try {
+            doubles[size++] = Double.parseDouble(token);
+          } catch (final NumberFormatException numberFormatException) {
+            throw new ConversionException(numberFormatException);
+          }
+        }
+      }
+      returnValue = size == doubles.length ? doubles : Arrays.copyOf(doubles, size);
+    }
+    return returnValue;
+  }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.microbean.configuration.spi.converter;
 
+import java.nio.CharBuffer;
+
 import java.time.Duration;
 
 import org.microbean.configuration.spi.Converter;
@@ -32,5 +34,21 @@ public final class StringToDurationConverter extends Converter<Duration> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
+  @Override
+  public final Duration convert(final CharSequence value, final int start, final int end) {
+    Duration returnValue = null;
+    if (value != null) {
+      // CharBuffer.wrap(CharSequence, int, int) is a view; nothing is
+      // copied.
+      returnValue = Duration.parse(CharBuffer.wrap(value, start, end));
+    }
+    return returnValue;
+  }
+
 }
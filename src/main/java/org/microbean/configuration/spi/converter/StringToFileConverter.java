@@ -34,5 +34,10 @@ public final class StringToFileConverter extends Converter<File> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -32,5 +32,10 @@ public final class StringToInstantConverter extends Converter<Instant> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -18,6 +18,8 @@ package org.microbean.configuration.spi.converter;
 
 import java.util.Arrays;
 
+import org.microbean.configuration.api.ConversionException;
+
 import org.microbean.configuration.spi.Converter;
 
 public final class StringToIntArrayConverter extends Converter<int[]> {
@@ -26,8 +28,6 @@ public final class StringToIntArrayConverter extends Converter<int[]> {
 
   private static final int[] EMPTY_INT_ARRAY = new int[0];
 
-  private static final StringToIntegerConverter scalarConverter = new StringToIntegerConverter();
-  
   @Override
   public final int[] convert(final String value) {
     int[] returnValue = null;
@@ -35,11 +35,23 @@ public final class StringToIntArrayConverter extends Converter<int[]> {
       if (value.isEmpty()) {
         returnValue = EMPTY_INT_ARRAY;
       } else {
-        returnValue = Arrays.stream(value.split(","))
-          .map(String::trim)
-          .filter(s -> !s.isEmpty())
-          .mapToInt(scalarConverter::convert)
-          .toArray();
+        int[] ints = new int[8];
+        int size = 0;
+        final Tokenizer tokenizer = new Tokenizer(value);
+        while (tokenizer.hasNext()) {
+          final String token = tokenizer.next(',');
+          if (token != null) {
+            if (size == ints.length) {
+              ints = Arrays.copyOf(ints, size * 2);
+            }
+            try {
+              ints[size++] = Integer.parseInt(token);
+            } catch (final NumberFormatException numberFormatException) {
+              throw new ConversionException(numberFormatException);
+            }
+          }
+        }
+        returnValue = size == 0 ? EMPTY_INT_ARRAY : Arrays.copyOf(ints, size);
       }
     }
     return returnValue;
@@ -30,5 +30,14 @@ public final class StringToIntegerConverter extends Converter<Integer> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final Integer convert(final CharSequence value, final int start, final int end) {
+    Integer returnValue = null;
+    if (value != null) {
+      returnValue = Integer.valueOf((int)CharSequences.parseLong(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+    return returnValue;
+  }
+
 }
@@ -32,5 +32,10 @@ public final class StringToLocalDateConverter extends Converter<LocalDate> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -30,5 +30,14 @@ public final class StringToLongConverter extends Converter<Long> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final Long convert(final CharSequence value, final int start, final int end) {
+    Long returnValue = null;
+    if (value != null) {
+      returnValue = Long.valueOf(CharSequences.parseLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+    return returnValue;
+  }
+
 }
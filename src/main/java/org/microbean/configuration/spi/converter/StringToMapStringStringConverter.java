@@ -16,12 +16,10 @@
  */
 package org.microbean.configuration.spi.converter;
 
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
-import java.util.stream.Collectors;
-
 import org.microbean.configuration.api.ConversionException;
 
 import org.microbean.configuration.spi.Converter;
@@ -31,26 +29,46 @@ public final class StringToMapStringStringConverter extends Converter<Map<String
   private static final long serialVersionUID = 1L;
   
   @Override
-  public final Map<String, String> convert(String value) {
+  public final Map<String, String> convert(final String value) {
     Map<String, String> returnValue = null;
     if (value != null) {
-      value = value.trim();
-      if (value.isEmpty()) {
-        returnValue = Collections.emptyMap();
-      } else if (value.startsWith("{") && value.endsWith("}")) {
-        value = value.substring(1, value.length() - 1).trim(); // chops off the { and the }
+      int start = 0;
+      int end = value.length();
+      while (start < end && Character.isWhitespace(value.charAt(start))) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+        end--;
+      }
+      if (end - start >= 2 && value.charAt(start) == '{' && value.charAt(end - 1) == '}') {
+        // Chop off the { and the }.
+        start++;
+        end--;
+      }
+      final Map<String, String> map = new HashMap<>();
+      final Tokenizer tokenizer = new Tokenizer(value, start, end);
+      while (tokenizer.hasNext()) {
+        final String key = tokenizer.next('=');
+        if (tokenizer.delimiter() == '=') {
+          // Only the first = separates the key from the value.
+          final String entryValue = tokenizer.next(',');
+          map.put(key == null ? "" : key, entryValue == null ? "" : entryValue);
+        } else if (key != null) {
+          throw new ConversionException("Missing '=' in map entry: " + key);
+        }
       }
-      if (value.isEmpty()) {
+      if (map.isEmpty()) {
         returnValue = Collections.emptyMap();
       } else {
-        returnValue = Arrays.stream(value.split(","))
-          .map(String::trim)
-          .filter(s -> !s.isEmpty())
-          .map(s -> s.split("="))
-          .collect(Collectors.toMap(a -> a[0].trim(), a -> a[1].trim()));
+        returnValue = Collections.unmodifiableMap(map);
       }
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
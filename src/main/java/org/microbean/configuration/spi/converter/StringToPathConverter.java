@@ -45,5 +45,10 @@ public final class StringToPathConverter extends Converter<Path> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -0,0 +1,56 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017 MicroBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.regex.Pattern;
+
+import org.microbean.configuration.spi.Converter;
+
+/**
+ * A {@link Converter} that compiles {@link String}s into {@link
+ * Pattern}s.
+ *
+ * <p>Compiled {@link Pattern}s are remembered, up to a limit, and
+ * shared by all instances of this class, so a given regular
+ * expression is normally compiled only once per JVM.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see Pattern#compile(String)
+ */
+public final class StringToPatternConverter extends Converter<Pattern> {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final CompiledCache<Pattern> patterns = new CompiledCache<>(256, Pattern::compile);
+
+  @Override
+  public final Pattern convert(final String value) {
+    Pattern returnValue = null;
+    if (value != null) {
+      returnValue = patterns.get(value);
+    }
+    return returnValue;
+  }
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
+}
@@ -30,5 +30,14 @@ public final class StringToShortConverter extends Converter<Short> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final Short convert(final CharSequence value, final int start, final int end) {
+    Short returnValue = null;
+    if (value != null) {
+      returnValue = Short.valueOf((short)CharSequences.parseLong(value, start, end, Short.MIN_VALUE, Short.MAX_VALUE));
+    }
+    return returnValue;
+  }
+
 }
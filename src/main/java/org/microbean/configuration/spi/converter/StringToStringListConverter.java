@@ -16,11 +16,9 @@
  */
 package org.microbean.configuration.spi.converter;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
-import java.util.stream.Collectors;
-
 import org.microbean.configuration.spi.Converter;
 
 public final class StringToStringListConverter extends Converter<List<String>> {
@@ -31,10 +29,7 @@ public final class StringToStringListConverter extends Converter<List<String>> {
   public final List<String> convert(final String value) {
     List<String> returnValue = null;
     if (value != null) {
-      returnValue = Arrays.stream(value.split(","))
-        .map(String::trim)
-        .filter(s -> !s.isEmpty())
-        .collect(Collectors.toList());
+      returnValue = Tokenizer.tokenize(value, new ArrayList<>());
     }
     return returnValue;
   }
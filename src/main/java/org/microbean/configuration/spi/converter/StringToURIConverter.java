@@ -32,5 +32,10 @@ public final class StringToURIConverter extends Converter<URI> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
@@ -39,5 +39,10 @@ public final class StringToURLConverter extends Converter<URL> {
     }
     return returnValue;
   }
-  
+
+  @Override
+  public final boolean isPure() {
+    return true;
+  }
+
 }
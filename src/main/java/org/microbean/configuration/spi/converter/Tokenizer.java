@@ -0,0 +1,284 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import org.microbean.configuration.api.ConversionException;
+
+/**
+ * A single-pass scanner that splits a {@link String} into
+ * comma-separated tokens, for use by the {@link
+ * org.microbean.configuration.spi.Converter}s in this package that
+ * produce collections, arrays and maps.
+ *
+ * <p>Whitespace surrounding a token is ignored.  A backslash causes
+ * the character following it to be taken literally, and text enclosed
+ * in double quotes is taken literally apart from backslash escapes,
+ * so {@code "a, b", c\,d} yields the two tokens {@code a, b} and
+ * {@code c,d}.  Tokens that are empty and were not quoted are
+ * skipped.</p>
+ *
+ * <p>Instances of this class are not safe for concurrent use by
+ * multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson"
+ * target="_parent">Laird Nelson</a>
+ *
+ * @see #next(char)
+ */
+final class Tokenizer {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  /**
+   * The value returned by the {@link #delimiter()} method when the
+   * most recent token ended at the end of the input.
+   */
+  static final int END = -1;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final String value;
+
+  private final int limit;
+
+  private int position;
+
+  private int delimiter;
+
+  private StringBuilder text;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link Tokenizer}.
+   *
+   * @param value the {@link String} to tokenize; must not be {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code value} is {@code null}
+   */
+  Tokenizer(final String value) {
+    this(value, 0, value.length());
+  }
+
+  /**
+   * Creates a new {@link Tokenizer} that tokenizes only the
+   * characters of the supplied {@link String} between the supplied
+   * indices.
+   *
+   * @param value the {@link String} to tokenize; must not be {@code
+   * null}
+   *
+   * @param start the index of the first character to tokenize
+   *
+   * @param end the index after the last character to tokenize
+   *
+   * @exception NullPointerException if {@code value} is {@code null}
+   */
+  Tokenizer(final String value, final int start, final int end) {
+    super();
+    this.value = Objects.requireNonNull(value);
+    this.position = start;
+    this.limit = end;
+    this.delimiter = END;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns {@code true} if there is input left to be scanned.
+   *
+   * @return {@code true} if there is input left to be scanned
+   */
+  final boolean hasNext() {
+    return this.position < this.limit;
+  }
+
+  /**
+   * Returns the character that ended the token most recently
+   * returned by the {@link #next(char)} method, or {@link #END}.
+   *
+   * @return the character that ended the most recent token, or
+   * {@link #END}
+   */
+  final int delimiter() {
+    return this.delimiter;
+  }
+
+  /**
+   * Scans the next token, which ends at the first comma or supplied
+   * {@code stop} character that is neither escaped nor quoted, or at
+   * the end of the input, and returns it, or returns {@code null} if
+   * it is empty and was not quoted.
+   *
+   * @param stop a character other than the comma that should also
+   * end the token; pass {@code ','} if there is none
+   *
+   * @return the token, or {@code null}
+   *
+   * @exception ConversionException if a quotation is not closed or a
+   * backslash ends the input
+   *
+   * @see #delimiter()
+   */
+  final String next(final char stop) {
+    final String value = this.value;
+    final int limit = this.limit;
+    int i = this.position;
+    while (i < limit && Character.isWhitespace(value.charAt(i))) {
+      i++;
+    }
+    final int start = i;
+    int end = i; // just past the last non-whitespace character
+    boolean plain = true; // true while value.substring(start, end) is the token
+    boolean quoted = false;
+    StringBuilder text = null;
+    this.delimiter = END;
+    SCAN:
+    while (i < limit) {
+      char c = value.charAt(i++);
+      switch (c) {
+      case '\\':
+        if (i == limit) {
+          throw new ConversionException("Trailing backslash: " + value);
+        }
+        text = this.text(text);
+        text.append(value, plain ? start : end, i - 1);
+        plain = false;
+        text.append(value.charAt(i++));
+        end = i;
+        break;
+      case '"':
+        text = this.text(text);
+        text.append(value, plain ? start : end, i - 1);
+        plain = false;
+        quoted = true;
+        while (true) {
+          if (i == limit) {
+            throw new ConversionException("Unterminated quotation: " + value);
+          }
+          c = value.charAt(i++);
+          if (c == '"') {
+            break;
+          } else if (c == '\\') {
+            if (i == limit) {
+              throw new ConversionException("Trailing backslash: " + value);
+            }
+            c = value.charAt(i++);
+          }
+          text.append(c);
+        }
+        end = i;
+        break;
+      default:
+        if (c == ',' || c == stop) {
+          this.delimiter = c;
+          break SCAN;
+        } else if (!Character.isWhitespace(c)) {
+          if (!plain) {
+            // Any whitespace between the last escaped or quoted
+            // character and this one is part of the token.
+            text.append(value, end, i);
+          }
+          end = i;
+        }
+        break;
+      }
+    }
+    this.position = i;
+    final String returnValue;
+    if (plain) {
+      returnValue = start == end ? null : value.substring(start, end);
+    } else if (text.length() == 0 && !quoted) {
+      returnValue = null;
+    } else {
+      returnValue = text.toString();
+    }
+    return returnValue;
+  }
+
+  private final StringBuilder text(StringBuilder text) {
+    if (text == null) {
+      text = this.text;
+      if (text == null) {
+        text = new StringBuilder(32);
+        this.text = text;
+      } else {
+        text.setLength(0);
+      }
+    }
+    return text;
+  }
+
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Adds every token in the supplied {@link String} to the supplied
+   * {@link Collection} and returns it.
+   *
+   * @param <C> the type of {@link Collection}
+   *
+   * @param value the {@link String} to tokenize; must not be {@code
+   * null}
+   *
+   * @param collection the {@link Collection} to add tokens to; must
+   * not be {@code null}
+   *
+   * @return {@code collection}
+   *
+   * @exception NullPointerException if either parameter is {@code
+   * null}
+   *
+   * @exception ConversionException if {@code value} could not be
+   * tokenized
+   */
+  static final <C extends Collection<? super String>> C tokenize(final String value, final C collection) {
+    final Tokenizer tokenizer = new Tokenizer(value);
+    while (tokenizer.hasNext()) {
+      final String token = tokenizer.next(',');
+      if (token != null) {
+        collection.add(token);
+      }
+    }
+    return collection;
+  }
+
+}
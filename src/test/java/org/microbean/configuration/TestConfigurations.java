@@ -18,28 +18,53 @@ package org.microbean.configuration;
 
 import java.io.Serializable;
 
+import java.lang.reflect.Type;
+
+import java.math.BigDecimal;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import java.util.function.Function;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import org.microbean.configuration.Configurations.InvalidationListener;
+
 import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
 import org.microbean.configuration.api.ConfigurationValue;
 import org.microbean.configuration.api.TypeLiteral;
 
 import org.microbean.configuration.spi.AbstractConfiguration;
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+import org.microbean.configuration.spi.Arbiter;
 import org.microbean.configuration.spi.Configuration;
 import org.microbean.configuration.spi.ConfigurationCoordinates;
+import org.microbean.configuration.spi.Ranked;
 import org.microbean.configuration.spi.SystemPropertiesConfiguration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import static org.junit.Assume.assumeNotNull;
 
@@ -180,12 +205,575 @@ public class TestConfigurations {
     assertEquals("me first", value);
   }
 
+  @Test
+  public void testSystemPropertiesSnapshotInvalidation() {
+    final SystemPropertiesConfiguration systemProperties = new SystemPropertiesConfiguration(true);
+    final Configurations configurations = new Configurations(Collections.singleton(systemProperties), null, null);
+    final Set<String> invalidatedNames = new HashSet<>();
+    configurations.addInvalidationListener((source, names) -> {
+        assertEquals(systemProperties, source);
+        invalidatedNames.addAll(names);
+      });
+    final String name = "org.microbean.configuration.test.snapshot";
+    assertNull(configurations.getValue(name));
+    try {
+      // Snapshot mode is refresh-only.
+      System.setProperty(name, "a");
+      assertNull(configurations.getValue(name));
+      systemProperties.hashCode();
+      systemProperties.toString();
+      assertTrue(invalidatedNames.isEmpty());
+      assertEquals(Collections.singleton(name), systemProperties.refresh());
+      assertEquals(Collections.singleton(name), invalidatedNames);
+      assertEquals("a", configurations.getValue(name));
+      invalidatedNames.clear();
+
+      System.setProperty(name, "b");
+      assertEquals("a", configurations.getValue(name));
+      assertEquals(Collections.singleton(name), systemProperties.refresh());
+      assertEquals(Collections.singleton(name), invalidatedNames);
+      assertEquals("b", configurations.getValue(name));
+    } finally {
+      System.clearProperty(name);
+    }
+  }
+
+  @Test
+  public void testSystemPropertiesConfigurationEquality() {
+    final SystemPropertiesConfiguration live = new SystemPropertiesConfiguration(false);
+    final SystemPropertiesConfiguration snapshot = new SystemPropertiesConfiguration(true);
+    assertEquals(live, new SystemPropertiesConfiguration(false));
+    assertEquals(live.hashCode(), new SystemPropertiesConfiguration(false).hashCode());
+    assertEquals(snapshot, new SystemPropertiesConfiguration(true));
+    assertEquals(snapshot.hashCode(), new SystemPropertiesConfiguration(true).hashCode());
+    assertFalse(live.equals(snapshot));
+    final int hashCode = live.hashCode();
+    final String name = "org.microbean.configuration.test.equality";
+    System.setProperty(name, "x");
+    try {
+      assertEquals(hashCode, live.hashCode());
+    } finally {
+      System.clearProperty(name);
+    }
+  }
+
+  @Test
+  public void testArbitrationOutcomesAreRemembered() {
+    final Properties oneProperties = new Properties();
+    oneProperties.put("contested", "one");
+    final Configuration one = new PropertiesConfiguration(null, oneProperties);
+    final Properties twoProperties = new Properties();
+    twoProperties.put("contested", "two");
+    final Configuration two = new PropertiesConfiguration(null, twoProperties);
+    final AtomicInteger arbitrations = new AtomicInteger();
+    final Arbiter arbiter = (coordinates, name, values) -> {
+      if (!values.isEmpty()) {
+        arbitrations.incrementAndGet();
+      }
+      for (final ConfigurationValue value : values) {
+        if (value.getSource() == two) {
+          return value;
+        }
+      }
+      return null;
+    };
+    final Configurations configurations = new Configurations(Arrays.asList(one, two), null, Collections.singleton(arbiter));
+    assertEquals("two", configurations.getValue("contested"));
+    assertEquals("two", configurations.getValue("contested"));
+    assertEquals(1, arbitrations.get());
+    configurations.invalidate(one, Collections.singleton("contested"));
+    assertEquals("two", configurations.getValue("contested"));
+    assertEquals(2, arbitrations.get());
+    oneProperties.put("contested", "changed");
+    assertEquals("two", configurations.getValue("contested"));
+    assertEquals(3, arbitrations.get());
+  }
+
+  @Test
+  public void testWithOverrides() {
+    final Properties oneProperties = new Properties();
+    oneProperties.setProperty("contested", "one");
+    oneProperties.setProperty("plain", "plain");
+    final Properties twoProperties = new Properties();
+    twoProperties.setProperty("contested", "two");
+    final PropertiesConfiguration one = new PropertiesConfiguration(null, oneProperties);
+    final PropertiesConfiguration two = new PropertiesConfiguration(null, twoProperties);
+    final AtomicInteger arbitrations = new AtomicInteger();
+    final Arbiter arbiter = (coordinates, name, values) -> {
+      if (!values.isEmpty()) {
+        arbitrations.incrementAndGet();
+      }
+      for (final ConfigurationValue value : values) {
+        if (value.getSource() == two) {
+          return value;
+        }
+      }
+      return null;
+    };
+    final Configurations configurations = new Configurations(Arrays.asList(one, two), null, Collections.singleton(arbiter));
+    assertEquals("two", configurations.getValue("contested"));
+    assertEquals(1, arbitrations.get());
+
+    final Configurations overridden = configurations.withOverrides(Collections.singletonMap("contested", "override"));
+    assertEquals("override", overridden.getValue("contested"));
+    assertEquals("plain", overridden.getValue("plain"));
+    assertEquals(1, arbitrations.get());
+    // The parent is unaffected.
+    assertEquals("two", configurations.getValue("contested"));
+
+    // Arbitration outcomes for names that are not overridden are
+    // shared.
+    final Configurations unrelated = configurations.withOverrides(Collections.singletonMap("other", "other"));
+    assertEquals("two", unrelated.getValue("contested"));
+    assertEquals(1, arbitrations.get());
+
+    // Later layers win, and a null override hides a value.
+    final Map<String, String> layer = new HashMap<>();
+    layer.put("contested", "layered");
+    layer.put("plain", null);
+    final Configurations layered = overridden.withOverrides(layer);
+    assertEquals("layered", layered.getValue("contested"));
+    assertNull(layered.getValue("plain"));
+    assertEquals("override", overridden.getValue("contested"));
+    assertEquals("plain", overridden.getValue("plain"));
+  }
+
+  @Test
+  public void testDerivedInvalidationListeners() {
+    final Configurations configurations = new Configurations(Collections.emptySet(), null, null);
+    final Configurations derived = configurations.withOverrides(Collections.singletonMap("a", "b"));
+    final Configurations grandchild = derived.withOverrides(Collections.singletonMap("c", "d"));
+    final AtomicInteger parentNotifications = new AtomicInteger();
+    final AtomicInteger grandchildNotifications = new AtomicInteger();
+    final InvalidationListener parentListener = (source, names) -> parentNotifications.incrementAndGet();
+    final InvalidationListener grandchildListener = (source, names) -> grandchildNotifications.incrementAndGet();
+    configurations.addInvalidationListener(parentListener);
+    grandchild.addInvalidationListener(grandchildListener);
+
+    // Invalidations reported to a parent reach its descendants.
+    configurations.invalidate(null, Collections.singleton("a"));
+    assertEquals(1, parentNotifications.get());
+    assertEquals(1, grandchildNotifications.get());
+
+    // Invalidations reported to a descendant do not reach its
+    // ancestors' listeners.
+    grandchild.invalidate(null, Collections.singleton("c"));
+    assertEquals(1, parentNotifications.get());
+    assertEquals(2, grandchildNotifications.get());
+
+    grandchild.removeInvalidationListener(grandchildListener);
+    configurations.invalidate(null, Collections.singleton("a"));
+    assertEquals(2, parentNotifications.get());
+    assertEquals(2, grandchildNotifications.get());
+  }
+
+  @Test
+  public void testRankedEarlyExit() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final Configuration counting = new AbstractConfiguration() {
+        @Override
+        public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+          lookups.incrementAndGet();
+          return null;
+        }
+        @Override
+        public Set<String> getNames() {
+          return Collections.emptySet();
+        }
+      };
+    // The unranked Configuration is supplied first but will be
+    // consulted last.
+    final Configurations configurations =
+      new Configurations(Arrays.asList(counting, new SystemPropertiesConfiguration()), null, null, Configurations.ResolutionStrategy.RANKED_EARLY_EXIT);
+    final int lookupsBefore = lookups.get();
+    // java.version is authoritative, so the search stops there.
+    assertEquals(System.getProperty("java.version"), configurations.getValue("java.version"));
+    assertEquals(lookupsBefore, lookups.get());
+    // Anything else still consults every source.
+    configurations.getValue("org.microbean.configuration.test.bogus");
+    assertEquals(lookupsBefore + 1, lookups.get());
+  }
+
+  @Test
+  public void testAdaptiveEarlyExit() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final Configuration counting = new AbstractConfiguration() {
+        @Override
+        public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+          lookups.incrementAndGet();
+          return null;
+        }
+        @Override
+        public Set<String> getNames() {
+          return Collections.emptySet();
+        }
+      };
+    final class Answering extends AbstractConfiguration implements Serializable {
+      private static final long serialVersionUID = 1L;
+      @Override
+      public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+        return "hot".equals(name) ? new ConfigurationValue(this, null, name, "yes", true) : null;
+      }
+      @Override
+      public Set<String> getNames() {
+        return Collections.singleton("hot");
+      }
+    }
+    // Neither Configuration is ranked, so once the answering one is
+    // moved to the front nothing behind it can outrank it.
+    final Configurations configurations =
+      new Configurations(Arrays.asList(counting, new Answering()), null, null, Configurations.ResolutionStrategy.ADAPTIVE_EARLY_EXIT);
+    assertEquals(Configurations.ResolutionStrategy.ADAPTIVE_EARLY_EXIT, configurations.getResolutionStrategy());
+    // Reordering happens every 1024 requests.
+    for (int i = 0; i < 1024; i++) {
+      assertEquals("yes", configurations.getValue("hot"));
+    }
+    int lookupsBefore = lookups.get();
+    assertEquals("yes", configurations.getValue("hot"));
+    assertEquals(lookupsBefore, lookups.get());
+
+    // A Configuration is never moved ahead of one that outranks it,
+    // however many selected values it supplies.
+    final class RankedCounting extends AbstractConfiguration implements Ranked {
+      @Override
+      public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+        return counting.getValue(coordinates, name);
+      }
+      @Override
+      public Set<String> getNames() {
+        return Collections.emptySet();
+      }
+      @Override
+      public int getRank() {
+        return 1;
+      }
+    }
+    final Configurations ranked =
+      new Configurations(Arrays.asList(new RankedCounting(), new Answering()), null, null, Configurations.ResolutionStrategy.ADAPTIVE_EARLY_EXIT);
+    for (int i = 0; i < 1024; i++) {
+      assertEquals("yes", ranked.getValue("hot"));
+    }
+    lookupsBefore = lookups.get();
+    assertEquals("yes", ranked.getValue("hot"));
+    assertEquals(lookupsBefore + 1, lookups.get());
+  }
+
+  @Test
+  public void testForCoordinates() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final Properties prodProperties = new Properties();
+    prodProperties.setProperty("db.url", "jdbc:prod");
+    prodProperties.setProperty("db.pool", "10");
+    final Resource<Properties> prodResource = new Resource<>(prodProperties, Collections.singletonMap("env", "prod"));
+    final Properties devProperties = new Properties();
+    devProperties.setProperty("db.url", "jdbc:dev");
+    final Resource<Properties> devResource = new Resource<>(devProperties, Collections.singletonMap("env", "dev"));
+    final AtomicReference<Resource<Properties>> lateResource = new AtomicReference<>();
+    final CountingPropertiesConfiguration late = new CountingPropertiesConfiguration(coordinates -> lateResource.get(), lookups);
+    final Configurations configurations =
+      new Configurations(Arrays.asList(new CountingPropertiesConfiguration(coordinates -> prodResource, lookups),
+                                       new CountingPropertiesConfiguration(coordinates -> devResource, lookups),
+                                       late),
+                         null,
+                         null);
+
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("region", "west");
+    coordinates.put("env", "prod");
+    final Configurations.Bound bound = configurations.forCoordinates(coordinates);
+    assertEquals(coordinates, bound.getCoordinates());
+    coordinates.clear();
+    assertEquals("prod", bound.getCoordinates().get("env"));
+
+    // Only the source whose resource has compatible coordinates is
+    // consulted.
+    lookups.set(0);
+    assertEquals("jdbc:prod", bound.getValue("db.url"));
+    assertEquals(Integer.valueOf(10), bound.<Integer>getValue("db.pool", int.class));
+    assertNull(bound.getValue("db.timeout"));
+    assertEquals(3, lookups.get());
+
+    // Sources are pruned again once one reports that its values may
+    // have changed.
+    final Properties lateProperties = new Properties();
+    lateProperties.setProperty("db.timeout", "30");
+    final Map<String, String> lateCoordinates = new HashMap<>();
+    lateCoordinates.put("region", "west");
+    lateCoordinates.put("env", "prod");
+    lateResource.set(new Resource<>(lateProperties, lateCoordinates));
+    assertNull(bound.getValue("db.timeout"));
+    late.reload();
+    assertEquals("30", bound.getValue("db.timeout"));
+  }
+
+  @Test
+  public void testDeclaredCoordinateSetsPruneSources() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final class DeclaringConfiguration extends AbstractConfiguration implements Serializable {
+      private static final long serialVersionUID = 1L;
+      private final Map<String, String> coordinates;
+      private DeclaringConfiguration(final String environment) {
+        super();
+        this.coordinates = Collections.singletonMap("environment", environment);
+      }
+      @Override
+      public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+        lookups.incrementAndGet();
+        return "db.url".equals(name) ? new ConfigurationValue(this, this.coordinates, name, "jdbc:" + this.coordinates.get("environment"), false) : null;
+      }
+      @Override
+      public Set<String> getNames() {
+        return Collections.singleton("db.url");
+      }
+      @Override
+      public Set<Map<String, String>> getCoordinateSets() {
+        return Collections.singleton(this.coordinates);
+      }
+    }
+    final Configurations configurations =
+      new Configurations(Arrays.asList(new DeclaringConfiguration("test"), new DeclaringConfiguration("prod"), new DeclaringConfiguration("dev")), null, null);
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("environment", "prod");
+    coordinates.put("region", "west");
+    lookups.set(0);
+    assertEquals("jdbc:prod", configurations.getValue(coordinates, "db.url"));
+    assertEquals(1, lookups.get());
+    assertNull(configurations.getValue(Collections.singletonMap("region", "west"), "db.url"));
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  public void testSpecificityLattice() {
+    final AtomicInteger lookups = new AtomicInteger();
+    final List<Configuration> layers = new ArrayList<>();
+    layers.add(new LayerConfiguration(Collections.emptyMap(), lookups, "global"));
+    for (int region = 0; region < 50; region++) {
+      layers.add(new LayerConfiguration(Collections.singletonMap("region", "r" + region), lookups));
+      for (int zone = 0; zone < 3; zone++) {
+        final Map<String, String> coordinates = new HashMap<>();
+        coordinates.put("region", "r" + region);
+        coordinates.put("zone", "z" + zone);
+        if (region == 7 && zone == 1) {
+          layers.add(new LayerConfiguration(coordinates, lookups, "contested"));
+        } else {
+          layers.add(new LayerConfiguration(coordinates, lookups));
+        }
+      }
+    }
+    final Map<String, String> rackCoordinates = new HashMap<>();
+    rackCoordinates.put("region", "r7");
+    rackCoordinates.put("rack", "k1");
+    layers.add(new LayerConfiguration(rackCoordinates, lookups, "contested"));
+    final Map<String, String> zoneCoordinates = new HashMap<>();
+    zoneCoordinates.put("region", "r7");
+    zoneCoordinates.put("zone", "z1");
+    final List<ConfigurationValue> arbitrated = new ArrayList<>();
+    final Arbiter arbiter = (coordinates, name, values) -> {
+      arbitrated.addAll(values);
+      return values.isEmpty() ? null : values.iterator().next();
+    };
+    final Configurations configurations = new Configurations(layers, null, Collections.singleton(arbiter));
+
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("region", "r7");
+    coordinates.put("zone", "z1");
+    coordinates.put("host", "h");
+
+    // Only the most specific compatible layer is consulted.
+    lookups.set(0);
+    assertEquals(zoneCoordinates.toString(), configurations.getValue(coordinates, "layer"));
+    assertEquals(1, lookups.get());
+
+    // Less specific layers are consulted only when more specific ones
+    // have nothing.
+    lookups.set(0);
+    assertEquals("global", configurations.getValue(coordinates, "global"));
+    assertEquals(3, lookups.get());
+
+    // Equally specific values are arbitrated, and less specific ones
+    // are not involved.
+    coordinates.put("rack", "k1");
+    arbitrated.clear();
+    assertEquals("contested", configurations.getValue(coordinates, "contested"));
+    assertEquals(2, arbitrated.size());
+    for (final ConfigurationValue value : arbitrated) {
+      assertEquals(2, value.specificity());
+    }
+  }
+
+  @Test
+  public void testEquallySpecificTies() {
+    final List<Configuration> sources = new ArrayList<>();
+    sources.add(new PropertiesConfiguration(null, newProperties("x", "global")));
+    sources.add(new PropertiesConfiguration(Collections.singletonMap("a", "1"), newProperties("x", "a")));
+    sources.add(new PropertiesConfiguration(Collections.singletonMap("b", "2"), newProperties("x", "b")));
+    sources.add(new PropertiesConfiguration(Collections.singletonMap("c", "3"), newProperties("x", "c")));
+    final List<ConfigurationValue> arbitrated = new ArrayList<>();
+    final Arbiter arbiter = (coordinates, name, values) -> {
+      arbitrated.addAll(values);
+      return values.isEmpty() ? null : new ConfigurationValue((Serializable)sources.get(0), null, name, "arbitrated", false);
+    };
+    final Configurations configurations = new Configurations(sources, null, Collections.singleton(arbiter));
+
+    // A two-way tie between the most specific values is arbitrated;
+    // the less specific global value takes no part.
+    final Map<String, String> coordinates = new HashMap<>();
+    coordinates.put("a", "1");
+    coordinates.put("b", "2");
+    assertEquals("arbitrated", configurations.getValue(coordinates, "x"));
+    assertEquals(2, arbitrated.size());
+    for (final ConfigurationValue value : arbitrated) {
+      assertEquals(1, value.specificity());
+    }
+
+    // So is a three-way tie.
+    coordinates.put("c", "3");
+    arbitrated.clear();
+    assertEquals("arbitrated", configurations.getValue(coordinates, "x"));
+    assertEquals(3, arbitrated.size());
+    for (final ConfigurationValue value : arbitrated) {
+      assertEquals(1, value.specificity());
+    }
+  }
+
+  @Test
+  public void testSynthesizedConversionsAreMemoized() {
+    final Properties properties = new Properties();
+    properties.setProperty("numbers", "1,2,2");
+    properties.setProperty("unit", "SECONDS");
+    properties.setProperty("day", "MONDAY");
+    final Configurations configurations = new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)), null, null);
+    final Type listType = new TypeLiteral<List<BigDecimal>>() {
+        private static final long serialVersionUID = 1L; }.getType();
+    final Type setType = new TypeLiteral<Set<BigDecimal>>() {
+        private static final long serialVersionUID = 1L; }.getType();
+
+    // Both synthesized Converters report Collection<?> as their Type,
+    // so their results must be remembered under the Types they were
+    // requested for.
+    final List<BigDecimal> list = configurations.getValue(null, "numbers", listType, null);
+    assertEquals(Arrays.asList(BigDecimal.ONE, new BigDecimal("2"), new BigDecimal("2")), list);
+    assertSame(list, configurations.getValue(null, "numbers", listType, null));
+    final Set<BigDecimal> set = configurations.getValue(null, "numbers", setType, null);
+    assertEquals(new HashSet<>(Arrays.asList(BigDecimal.ONE, new BigDecimal("2"))), set);
+    assertSame(set, configurations.getValue(null, "numbers", setType, null));
+
+    // Likewise every synthesized enum Converter reports the same type
+    // variable.
+    assertEquals(TimeUnit.SECONDS, configurations.getValue(null, "unit", TimeUnit.class, null));
+    assertEquals(DayOfWeek.MONDAY, configurations.getValue(null, "day", DayOfWeek.class, null));
+    assertEquals(TimeUnit.SECONDS, configurations.getValue(null, "unit", TimeUnit.class, null));
+  }
+
+  private static final Properties newProperties(final String name, final String value) {
+    final Properties properties = new Properties();
+    properties.setProperty(name, value);
+    return properties;
+  }
+
+  @Test
+  public void testBind() {
+    final Properties properties = new Properties();
+    properties.setProperty("server.host", "example.com");
+    properties.setProperty("server.port", "8080");
+    properties.setProperty("server.timeout", "PT30S");
+    final PropertiesConfiguration source = new PropertiesConfiguration(null, properties);
+    final Configurations configurations = new Configurations(Collections.singleton(source), null, null);
+    final Server server = configurations.bind(Server.class, "server", null);
+    assertEquals("example.com", server.getHost());
+    assertEquals(8080, server.getPort());
+    assertFalse(server.isSecure());
+    assertEquals(Duration.ofSeconds(30L), server.timeout());
+
+    // Values are snapshots until the source says otherwise.
+    properties.setProperty("server.port", "8443");
+    properties.setProperty("server.secure", "true");
+    assertEquals(8080, server.getPort());
+    configurations.invalidate(source, Collections.singleton("unrelated"));
+    assertEquals(8080, server.getPort());
+    configurations.invalidate(source, Collections.singleton("server.port"));
+    assertEquals(8443, server.getPort());
+    assertTrue(server.isSecure());
+
+    // A bad value leaves the previous values in effect.
+    properties.setProperty("server.port", "eighty");
+    configurations.invalidate(source, null);
+    assertEquals(8443, server.getPort());
+  }
 
   /*
    * Inner and nested classes.
    */
 
   
+  public static interface Server {
+
+    String getHost();
+
+    int getPort();
+
+    boolean isSecure();
+
+    Duration timeout();
+
+  }
+
+  private static final class LayerConfiguration extends AbstractConfiguration implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, String> coordinates;
+
+    private final transient AtomicInteger lookups;
+
+    private final Set<String> names;
+
+    private LayerConfiguration(final Map<String, String> coordinates, final AtomicInteger lookups, final String... names) {
+      super();
+      this.coordinates = coordinates;
+      this.lookups = lookups;
+      this.names = new HashSet<>(Arrays.asList(names));
+      this.names.add("layer");
+    }
+
+    @Override
+    public ConfigurationValue getValue(final Map<String, String> coordinates, final String name) {
+      this.lookups.incrementAndGet();
+      return this.names.contains(name) ? new ConfigurationValue(this, this.coordinates, name, "layer".equals(name) ? this.coordinates.toString() : name, false) : null;
+    }
+
+    @Override
+    public Set<String> getNames() {
+      return Collections.unmodifiableSet(this.names);
+    }
+
+    @Override
+    public Set<Map<String, String>> getCoordinateSets() {
+      return Collections.singleton(this.coordinates);
+    }
+
+  }
+
+  private static final class CountingPropertiesConfiguration extends org.microbean.configuration.spi.PropertiesConfiguration {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AtomicInteger lookups;
+
+    private CountingPropertiesConfiguration(final Function<? super Map<? extends String, ? extends String>, ? extends Resource<? extends Properties>> resourceLoader,
+                                            final AtomicInteger lookups) {
+      super(resourceLoader);
+      this.lookups = lookups;
+    }
+
+    @Override
+    protected ConfigurationValue getValue(final Resource<? extends Properties> resource, final Map<String, String> coordinates, final String name) {
+      this.lookups.incrementAndGet();
+      return super.getValue(resource, coordinates, name);
+    }
+
+  }
+
   public static final class PropertiesConfiguration extends AbstractConfiguration implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -223,6 +811,11 @@ public class TestConfigurations {
       assert properties != null;
       return Collections.unmodifiableSet(properties.stringPropertyNames());
     }
+
+    @Override
+    public Set<Map<String, String>> getCoordinateSets() {
+      return Collections.singleton(this.coordinates);
+    }
     
   }
 
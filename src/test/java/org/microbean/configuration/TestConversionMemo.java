@@ -0,0 +1,65 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import org.microbean.configuration.spi.converter.StringToDurationConverter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TestConversionMemo {
+
+  public TestConversionMemo() {
+    super();
+  }
+
+  @Test
+  public void testResultsAreReused() {
+    final ConversionMemo<Duration> converter = new ConversionMemo<>(new StringToDurationConverter(), 2);
+    final Duration first = converter.convert("PT5S");
+    assertEquals(Duration.ofSeconds(5), first);
+    assertSame(first, converter.convert("PT5S"));
+    assertNull(converter.convert(null));
+
+    // Exceeding the capacity starts the cache afresh.
+    converter.convert("PT1S");
+    converter.convert("PT2S");
+    final Duration second = converter.convert("PT5S");
+    assertEquals(first, second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testConfigurationsMemoizesPureConverters() {
+    System.setProperty("org.microbean.configuration.test.timeout", "PT30S");
+    try {
+      final Configurations configurations = new Configurations();
+      final Duration timeout = configurations.getValue("org.microbean.configuration.test.timeout", Duration.class);
+      assertEquals(Duration.ofSeconds(30), timeout);
+      assertSame(timeout, configurations.getValue("org.microbean.configuration.test.timeout", Duration.class));
+    } finally {
+      System.clearProperty("org.microbean.configuration.test.timeout");
+    }
+  }
+
+}
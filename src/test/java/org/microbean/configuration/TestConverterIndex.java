@@ -0,0 +1,89 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.time.Duration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.microbean.configuration.spi.Converter;
+
+import org.microbean.configuration.spi.converter.StringToDurationConverter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestConverterIndex {
+
+  public TestConverterIndex() {
+    super();
+  }
+
+  /**
+   * Fails if {@code converter-index.properties} has fallen out of
+   * step with the {@link Converter}s listed as services.
+   */
+  @Test
+  public void testIndexMatchesServices() throws Exception {
+    final Properties index = new Properties();
+    final URL indexUrl = Thread.currentThread().getContextClassLoader().getResource(ConverterIndex.INDEX);
+    assertNotNull(indexUrl);
+    try (final InputStream stream = indexUrl.openStream()) {
+      index.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+    final ConverterIndex converterIndex = ConverterIndex.get();
+    assertTrue(converterIndex.getUnindexedClassNames().toString(), converterIndex.getUnindexedClassNames().isEmpty());
+    assertEquals(index.stringPropertyNames().size(), converterIndex.getIndexedClassNames().size());
+    for (final String className : index.stringPropertyNames()) {
+      final Converter<?> converter = converterIndex.newConverter(className);
+      assertEquals(className, index.getProperty(className), converter.getType().getTypeName());
+      assertEquals(className, converterIndex.getClassName(converter.getType()));
+    }
+  }
+
+  @Test
+  public void testConvertersAreLoadedOnDemand() {
+    final Configurations configurations = new Configurations();
+    System.setProperty("org.microbean.configuration.test.url", "http://example.com/");
+    try {
+      assertEquals("example.com", configurations.getValue("org.microbean.configuration.test.url", URL.class).getHost());
+    } finally {
+      System.clearProperty("org.microbean.configuration.test.url");
+    }
+    assertTrue(configurations.getConversionTypes().contains(Duration.class));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDuplicateConvertersAreRejected() {
+    new Configurations(Collections.emptySet(),
+                       Arrays.asList(new StringToDurationConverter(), new StringToDurationConverter()),
+                       null);
+  }
+
+}
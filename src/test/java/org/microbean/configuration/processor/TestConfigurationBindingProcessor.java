@@ -0,0 +1,95 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.processor;
+
+import java.lang.reflect.Field;
+
+import java.time.Duration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.microbean.configuration.ConfigurationBinding;
+import org.microbean.configuration.Configurations;
+import org.microbean.configuration.TestConfigurations.PropertiesConfiguration;
+
+import org.microbean.configuration.spi.converter.StringToDurationConverter;
+import org.microbean.configuration.spi.converter.StringToIntegerConverter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestConfigurationBindingProcessor {
+
+  public TestConfigurationBindingProcessor() {
+    super();
+  }
+
+  @Test
+  public void testGeneratedBinder() throws ReflectiveOperationException {
+    assertEquals(new LinkedHashSet<>(Arrays.asList("server.backlog", "server.host", "server.port", "server.secure", "server.timeout")),
+                 TestConfigurationBindingProcessor_ServerBinder.NAMES);
+
+    final Properties properties = new Properties();
+    properties.setProperty("server.host", "example.com");
+    properties.setProperty("server.port", "8080");
+    properties.setProperty("server.timeout", "PT30S");
+    properties.setProperty("server.backlog", "1, 2, 3");
+    final Configurations configurations =
+      new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)), null, null);
+    final Server server = new TestConfigurationBindingProcessor_ServerBinder(configurations, null);
+    assertEquals("example.com", server.getHost());
+    assertEquals(8080, server.getPort());
+    assertFalse(server.isSecure());
+    assertEquals(Duration.ofSeconds(30L), server.timeout());
+    assertEquals(Arrays.asList(1, 2, 3), server.backlog());
+
+    // Converters for types with one were chosen at compile time.
+    final Set<Class<?>> converterTypes = new HashSet<>();
+    for (final Field field : TestConfigurationBindingProcessor_ServerBinder.class.getDeclaredFields()) {
+      if (field.getName().startsWith("CONVERTER_")) {
+        converterTypes.add(field.getType());
+      }
+    }
+    assertTrue(converterTypes.contains(StringToIntegerConverter.class));
+    assertTrue(converterTypes.contains(StringToDurationConverter.class));
+  }
+
+  @ConfigurationBinding("server")
+  public static interface Server {
+
+    List<Integer> backlog();
+
+    String getHost();
+
+    int getPort();
+
+    boolean isSecure();
+
+    Duration timeout();
+
+  }
+
+}
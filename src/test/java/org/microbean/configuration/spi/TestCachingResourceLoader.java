@@ -0,0 +1,44 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.microbean.configuration.spi.AbstractResourceLoadingConfiguration.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestCachingResourceLoader {
+
+  public TestCachingResourceLoader() {
+    super();
+  }
+
+  @Test
+  public void testNullAndEmptyCoordinatesAreCachedSeparately() {
+    final CachingResourceLoader<String> loader =
+      new CachingResourceLoader<>(coordinates -> new Resource<>(coordinates == null ? "default" : "empty", null));
+    final Resource<? extends String> defaultResource = loader.apply(null);
+    assertEquals("default", defaultResource.get());
+    assertEquals("empty", loader.apply(Collections.emptyMap()).get());
+    assertSame(defaultResource, loader.apply(null));
+  }
+
+}
@@ -0,0 +1,57 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestConfigurationValueSourceComparingArbiter {
+
+  public TestConfigurationValueSourceComparingArbiter() {
+    super();
+  }
+
+  @Test
+  public void testCanArbitrateOverrideIsHonored() {
+    final MapConfiguration one = new MapConfiguration(Collections.singletonMap("x", "one"));
+    final MapConfiguration two = new MapConfiguration(Collections.singletonMap("x", "two"));
+    final List<MapConfiguration> configurations = Arrays.asList(one, two);
+    final List<ConfigurationValue> values =
+      Arrays.asList(new ConfigurationValue(one, null, "x", "one", false),
+                    new ConfigurationValue(two, null, "x", "two", false));
+
+    assertNotNull(new ConfigurationValueSourceComparingArbiter(configurations).arbitrate(null, "x", values));
+
+    final ConfigurationValueSourceComparingArbiter vetoingArbiter = new ConfigurationValueSourceComparingArbiter(configurations) {
+        @Override
+        protected final boolean canArbitrate(final Collection<? extends ConfigurationValue> ambiguousValues) {
+          return false;
+        }
+      };
+    assertNull(vetoingArbiter.arbitrate(null, "x", values));
+  }
+
+}
@@ -0,0 +1,105 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestDirectoryConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestDirectoryConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testPlainDirectoryTree() throws IOException {
+    final Path root = this.temporaryFolder.newFolder().toPath();
+    write(root.resolve("db.url"), "jdbc:test");
+    Files.createDirectories(root.resolve("nested"));
+    write(root.resolve("nested").resolve("key"), "nestedValue");
+    write(root.resolve("configurationCoordinates"), "{environment=test}");
+    final DirectoryConfiguration configuration = new DirectoryConfiguration(root);
+    final ConfigurationValue value = configuration.getValue(null, "db.url");
+    assertNotNull(value);
+    assertEquals("jdbc:test", value.getValue());
+    assertEquals(Collections.singletonMap("environment", "test"), value.getCoordinates());
+    assertEquals("nestedValue", configuration.getValue(null, "nested.key").getValue());
+    assertNull(configuration.getValue(null, "bogus"));
+    assertTrue(configuration.getNames().contains("nested.key"));
+  }
+
+  @Test
+  public void testDataLinkSwap() throws IOException {
+    final Path root = this.temporaryFolder.newFolder().toPath();
+    final Path first = root.resolve("..2019_01_01_00_00_00.1");
+    Files.createDirectories(first);
+    write(first.resolve("greeting"), "hello");
+    try {
+      Files.createSymbolicLink(root.resolve(KeyPerFileDirectory.DATA_LINK_NAME), first.getFileName());
+    } catch (final UnsupportedOperationException | IOException noSymbolicLinks) {
+      return;
+    }
+    Files.createSymbolicLink(root.resolve("greeting"), root.getFileSystem().getPath(KeyPerFileDirectory.DATA_LINK_NAME, "greeting"));
+
+    final KeyPerFileDirectory directory = new KeyPerFileDirectory(root);
+    assertEquals(Collections.singleton("greeting"), directory.keySet());
+    assertEquals("hello", directory.get("greeting"));
+
+    // Do what kubelet does: write a new timestamped directory, then
+    // atomically swap the ..data link to point at it.
+    final Path second = root.resolve("..2019_01_01_00_00_01.2");
+    Files.createDirectories(second);
+    write(second.resolve("greeting"), "goodbye");
+    write(second.resolve("farewell"), "adieu");
+    Files.createSymbolicLink(root.resolve("farewell"), root.getFileSystem().getPath(KeyPerFileDirectory.DATA_LINK_NAME, "farewell"));
+    final Path temporaryLink = root.resolve("..data_tmp");
+    Files.createSymbolicLink(temporaryLink, second.getFileName());
+    Files.move(temporaryLink, root.resolve(KeyPerFileDirectory.DATA_LINK_NAME), StandardCopyOption.ATOMIC_MOVE);
+
+    assertEquals("goodbye", directory.get("greeting"));
+    assertEquals("adieu", directory.get("farewell"));
+    assertFalse(directory.keySet().contains(KeyPerFileDirectory.DATA_LINK_NAME));
+  }
+
+  private static final void write(final Path file, final String contents) throws IOException {
+    Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,134 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestJsonConfiguration {
+
+  public TestJsonConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testFlattening() {
+    final JsonConfiguration configuration = new JsonConfiguration("test-configuration.json");
+    final ConfigurationValue value = configuration.getValue(null, "db.url");
+    assertNotNull(value);
+    assertEquals("jdbc:test", value.getValue());
+    assertEquals(Collections.singletonMap("environment", "test"), value.getCoordinates());
+    assertEquals("5432", configuration.getValue(null, "db.port").getValue());
+    assertEquals("alpha", configuration.getValue(null, "db.hosts[0]").getValue());
+    assertEquals("beta", configuration.getValue(null, "db.hosts[1]").getValue());
+    assertEquals("gamma", configuration.getValue(null, "db.hosts[2].name").getValue());
+    assertEquals("true", configuration.getValue(null, "db.pooled").getValue());
+    assertEquals("tab\there é\"", configuration.getValue(null, "escaped").getValue());
+    assertEquals("-1.5e3", configuration.getValue(null, "ratio").getValue());
+    assertNull(configuration.getValue(null, "db.password"));
+    assertNull(configuration.getValue(null, "db.options"));
+    assertFalse(configuration.getNames().contains("db"));
+    assertEquals(150, configuration.getRank());
+  }
+
+  @Test
+  public void testRankIsComputedOncePerResource() {
+    final JsonLoader loader = new JsonLoader("test-configuration.json");
+    final AtomicInteger loads = new AtomicInteger();
+    final JsonConfiguration configuration = new JsonConfiguration(coordinates -> {
+        loads.incrementAndGet();
+        return loader.apply(coordinates);
+      });
+    final Configurations configurations = new Configurations(Collections.singleton(configuration));
+    final Set<Object> invalidatedSources = new HashSet<>();
+    configurations.addInvalidationListener((source, names) -> invalidatedSources.add(source));
+    assertEquals(150, configuration.getRank());
+    assertEquals(150, configuration.getRank());
+    final int loadsBeforeReload = loads.get();
+    assertEquals(150, configuration.getRank());
+    assertEquals(loadsBeforeReload, loads.get());
+    configuration.reload();
+    assertTrue(invalidatedSources.contains(configuration));
+    assertEquals(150, configuration.getRank());
+    assertEquals(loadsBeforeReload + 1, loads.get());
+  }
+
+  @Test
+  public void testMissingDefaultResourceIsRemembered() {
+    final AtomicInteger loads = new AtomicInteger();
+    final JsonConfiguration configuration = new JsonConfiguration(coordinates -> {
+        loads.incrementAndGet();
+        return null;
+      });
+    final int rank = configuration.getRank();
+    assertEquals(rank, configuration.getRank());
+    assertEquals(1, loads.get());
+    // Names always come from the resource loader itself.
+    assertTrue(configuration.getNames().isEmpty());
+    assertEquals(2, loads.get());
+    configuration.reload();
+    assertEquals(rank, configuration.getRank());
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  public void testEmptyDocument() throws IOException {
+    assertEquals(Collections.emptyMap(), JsonLoader.flatten(new StringReader(" {} ")));
+  }
+
+  @Test(expected = ConfigurationException.class)
+  public void testTrailingComma() throws IOException {
+    JsonLoader.flatten(new StringReader("{\"a\": 1,}"));
+  }
+
+  @Test
+  public void testErrorPositionAfterNumberEndingLine() throws IOException {
+    try {
+      JsonLoader.flatten(new StringReader("{\"a\": 1\n x}"));
+      fail();
+    } catch (final ConfigurationException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().endsWith("line 2, column 2"));
+    }
+  }
+
+  @Test(expected = ConfigurationException.class)
+  public void testTrailingGarbage() throws IOException {
+    JsonLoader.flatten(new StringReader("{\"a\": 1} x"));
+  }
+
+}
@@ -0,0 +1,60 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestRelaxedEnvironmentVariablesConfiguration {
+
+  public TestRelaxedEnvironmentVariablesConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testRelaxedMatching() {
+    final Map<String, String> environment = new HashMap<>();
+    environment.put("DB_URL", "jdbc:canonical");
+    environment.put("db-url", "jdbc:dashed");
+    environment.put("SERVER_PORT", "8080");
+    environment.put("lower.case", "yes");
+    final RelaxedEnvironmentVariablesConfiguration configuration = new RelaxedEnvironmentVariablesConfiguration(environment);
+
+    final ConfigurationValue value = configuration.getValue(null, "server.port");
+    assertNotNull(value);
+    assertEquals("server.port", value.getName());
+    assertEquals("8080", value.getValue());
+    assertEquals("8080", configuration.getValue(null, "Server-Port").getValue());
+    assertEquals("yes", configuration.getValue(null, "LOWER_CASE").getValue());
+
+    // Exact spellings win; otherwise the conventional spelling does.
+    assertEquals("jdbc:dashed", configuration.getValue(null, "db-url").getValue());
+    assertEquals("jdbc:canonical", configuration.getValue(null, "db.url").getValue());
+
+    assertNull(configuration.getValue(null, "server.por"));
+    assertNull(configuration.getValue(null, "serverport"));
+  }
+
+}
@@ -0,0 +1,141 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi;
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.TestConfigurations.PropertiesConfiguration;
+
+import org.microbean.configuration.api.AmbiguousConfigurationValuesException;
+import org.microbean.configuration.api.ConfigurationException;
+import org.microbean.configuration.api.ConfigurationValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestSnapshotConfiguration {
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  public TestSnapshotConfiguration() {
+    super();
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    final Configurations configurations = new Configurations(Collections.singleton(new JsonConfiguration("test-configuration.json")));
+    final Map<String, String> test = Collections.singletonMap("environment", "test");
+    final Path snapshot = this.temporaryFolder.getRoot().toPath().resolve("configuration.snapshot");
+    new ConfigurationSnapshotWriter(configurations).write(Arrays.asList(Collections.emptyMap(), test), snapshot);
+
+    final SnapshotConfiguration configuration = new SnapshotConfiguration(snapshot);
+    assertNull(configuration.getValue(null, "db.url"));
+    assertNull(configuration.getValue(test, "bogus"));
+
+    final Map<String, String> moreSpecific = new HashMap<>(test);
+    moreSpecific.put("region", "west");
+    final ConfigurationValue value = configuration.getValue(moreSpecific, "db.url");
+    assertNotNull(value);
+    assertEquals("jdbc:test", value.getValue());
+    assertEquals(test, value.getCoordinates());
+    assertEquals("tab\there é\"", configuration.getValue(test, "escaped").getValue());
+    assertTrue(configuration.getNames().contains("db.hosts[2].name"));
+    assertTrue(configuration.getCoordinateSets().contains(test));
+
+    final Configurations fromSnapshot = new Configurations(Collections.singleton(configuration));
+    assertEquals("beta", fromSnapshot.getValue(test, "db.hosts[1]", String.class, null));
+  }
+
+  @Test(expected = ConfigurationException.class)
+  public void testCorruptSnapshot() throws IOException {
+    final Configurations configurations = new Configurations(Collections.singleton(new JsonConfiguration("test-configuration.json")));
+    final Path snapshot = this.temporaryFolder.getRoot().toPath().resolve("configuration.snapshot");
+    new ConfigurationSnapshotWriter(configurations).write(Collections.singleton(Collections.singletonMap("environment", "test")), snapshot);
+    final byte[] bytes = Files.readAllBytes(snapshot);
+    bytes[bytes.length - 1] ^= 0x01;
+    Files.write(snapshot, bytes);
+    new SnapshotConfiguration(snapshot);
+  }
+
+  @Test
+  public void testEquallySpecificCoordinateSetsAreAmbiguous() throws IOException {
+    final Properties one = new Properties();
+    one.setProperty("x", "one");
+    final Properties two = new Properties();
+    two.setProperty("x", "two");
+    final Configurations configurations =
+      new Configurations(Arrays.asList(new PropertiesConfiguration(Collections.singletonMap("a", "1"), one),
+                                       new PropertiesConfiguration(Collections.singletonMap("b", "2"), two)));
+    final Path snapshot = this.temporaryFolder.getRoot().toPath().resolve("configuration.snapshot");
+    new ConfigurationSnapshotWriter(configurations).write(Arrays.asList(Collections.singletonMap("a", "1"),
+                                                                        Collections.singletonMap("b", "2")),
+                                                          snapshot);
+    final SnapshotConfiguration snapshotConfiguration = new SnapshotConfiguration(snapshot);
+    final ConfigurationValue value = snapshotConfiguration.getValue(Collections.singletonMap("a", "1"), "x");
+    assertNotNull(value);
+    assertEquals("one", value.getValue());
+    final Map<String, String> both = new HashMap<>();
+    both.put("a", "1");
+    both.put("b", "2");
+    try {
+      snapshotConfiguration.getValue(both, "x");
+      fail();
+    } catch (final AmbiguousConfigurationValuesException expected) {
+      assertEquals(2, expected.getValues().size());
+    }
+  }
+
+  @Test
+  public void testSurrogates() throws IOException {
+    final Properties properties = new Properties();
+    properties.setProperty("paired", "\uD83D\uDE00");
+    final Path snapshot = this.temporaryFolder.getRoot().toPath().resolve("configuration.snapshot");
+    new ConfigurationSnapshotWriter(new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)))).write(null, snapshot);
+    assertEquals("\uD83D\uDE00", new SnapshotConfiguration(snapshot).getValue(null, "paired").getValue());
+
+    // "a\uD800" would be written as "a?", indistinguishable from "a?".
+    properties.setProperty("unpaired", "a\uD800");
+    properties.setProperty("question", "a?");
+    try {
+      new ConfigurationSnapshotWriter(new Configurations(Collections.singleton(new PropertiesConfiguration(null, properties)))).write(null, snapshot);
+      fail();
+    } catch (final ConfigurationException expected) {
+      assertTrue(expected.getMessage().contains("unpaired surrogate"));
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017 MicroBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.time.LocalDate;
+
+import java.time.format.DateTimeFormatter;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.microbean.configuration.Configurations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompiledConverters {
+
+  public TestCompiledConverters() {
+    super();
+  }
+
+  @Test
+  public void testPatternsAreShared() {
+    final Pattern pattern = new StringToPatternConverter().convert("[a-z]+\\d");
+    assertTrue(pattern.matcher("abc1").matches());
+    assertSame(pattern, new StringToPatternConverter().convert("[a-z]+\\d"));
+  }
+
+  @Test
+  public void testDateTimeFormatters() {
+    final DateTimeFormatter formatter = new StringToDateTimeFormatterConverter().convert("dd/MM/yyyy");
+    assertEquals(LocalDate.of(2019, 3, 14), LocalDate.parse("14/03/2019", formatter));
+    assertSame(formatter, new StringToDateTimeFormatterConverter().convert("dd/MM/yyyy"));
+    assertSame(DateTimeFormatter.ISO_LOCAL_DATE, new StringToDateTimeFormatterConverter().convert("ISO_LOCAL_DATE"));
+  }
+
+  @Test
+  public void testConfigurations() {
+    System.setProperty("org.microbean.configuration.test.pattern", "^v\\d+$");
+    try {
+      final Pattern pattern = new Configurations().getValue("org.microbean.configuration.test.pattern", Pattern.class);
+      assertSame(pattern, new Configurations().getValue("org.microbean.configuration.test.pattern", Pattern.class));
+    } finally {
+      System.clearProperty("org.microbean.configuration.test.pattern");
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.time.Duration;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.TypeLiteral;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompositeConverterFactory {
+
+  private Configurations configurations;
+
+  public TestCompositeConverterFactory() {
+    super();
+  }
+
+  @Before
+  public void setUp() {
+    System.setProperty("org.microbean.configuration.test.numbers", " 3, 1,,2, 1 ");
+    System.setProperty("org.microbean.configuration.test.timeouts", "{connect=PT1S, read=PT30S}");
+    this.configurations = new Configurations();
+  }
+
+  @After
+  public void tearDown() {
+    System.clearProperty("org.microbean.configuration.test.numbers");
+    System.clearProperty("org.microbean.configuration.test.timeouts");
+  }
+
+  @Test
+  public void testSynthesizedConverters() {
+    final List<Integer> list = this.configurations.getValue("org.microbean.configuration.test.numbers", new TypeLiteral<List<Integer>>() {
+        private static final long serialVersionUID = 1L;
+      }.getType());
+    assertEquals(Arrays.asList(3, 1, 2, 1), list);
+
+    final Set<Long> set = this.configurations.getValue("org.microbean.configuration.test.numbers", new TypeLiteral<Set<Long>>() {
+        private static final long serialVersionUID = 1L;
+      }.getType());
+    assertEquals(new LinkedHashSet<>(Arrays.asList(3L, 1L, 2L)), set);
+
+    final long[] longs = this.configurations.getValue("org.microbean.configuration.test.numbers", long[].class);
+    assertArrayEquals(new long[] { 3L, 1L, 2L, 1L }, longs);
+
+    final Map<String, Duration> timeouts = this.configurations.getValue("org.microbean.configuration.test.timeouts", new TypeLiteral<Map<String, Duration>>() {
+        private static final long serialVersionUID = 1L;
+      }.getType());
+    final Map<String, Duration> expected = new LinkedHashMap<>();
+    expected.put("connect", Duration.ofSeconds(1));
+    expected.put("read", Duration.ofSeconds(30));
+    assertEquals(expected, timeouts);
+
+    final Optional<Duration> missing = this.configurations.getValue("org.microbean.configuration.test.bogus", new TypeLiteral<Optional<Duration>>() {
+        private static final long serialVersionUID = 1L;
+      }.getType());
+    assertFalse(missing.isPresent());
+
+    assertTrue(this.configurations.getConversionTypes().contains(long[].class));
+  }
+
+}
@@ -0,0 +1,96 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.microbean.configuration.Configurations;
+
+import org.microbean.configuration.api.ConversionException;
+import org.microbean.configuration.api.TypeLiteral;
+
+import org.microbean.configuration.spi.Converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TestEnumConverterFactory {
+
+  public TestEnumConverterFactory() {
+    super();
+  }
+
+  @Test
+  public void testLookup() {
+    @SuppressWarnings("unchecked")
+    final Converter<Mode> converter = (Converter<Mode>)new EnumConverterFactory().createConverter(Mode.class, type -> null);
+    assertSame(Mode.READ_ONLY, converter.convert("READ_ONLY"));
+    assertSame(Mode.READ_ONLY, converter.convert(" read-only "));
+    assertSame(Mode.READ_WRITE, converter.convert("Read_Write"));
+    assertSame(Mode.APPEND, converter.convert("append-only"));
+    assertSame(Mode.READ_WRITE, converter.convert("mode=read-write;", 5, 15));
+    assertNull(converter.convert(""));
+    assertNull(converter.convert((String)null));
+
+    // Relaxed matches of more than one constant need an exact name.
+    assertSame(Mode.x, converter.convert("x"));
+    assertSame(Mode.X, converter.convert("X"));
+  }
+
+  @Test(expected = ConversionException.class)
+  public void testNoMatch() {
+    new EnumConverterFactory().createConverter(Mode.class, type -> null).convert("read");
+  }
+
+  @Test
+  public void testConfigurations() {
+    System.setProperty("org.microbean.configuration.test.modes", "read-only, append-only");
+    try {
+      final Configurations configurations = new Configurations();
+      assertEquals(Arrays.asList(Mode.READ_ONLY, Mode.APPEND),
+                   configurations.getValue("org.microbean.configuration.test.modes", new TypeLiteral<List<Mode>>() {
+                       private static final long serialVersionUID = 1L;
+                     }.getType()));
+    } finally {
+      System.clearProperty("org.microbean.configuration.test.modes");
+    }
+  }
+
+  public static enum Mode {
+
+    READ_ONLY,
+
+    READ_WRITE,
+
+    APPEND {
+      @Override
+      public final String toString() {
+        return "append-only";
+      }
+    },
+
+    x,
+
+    X;
+
+  }
+
+}
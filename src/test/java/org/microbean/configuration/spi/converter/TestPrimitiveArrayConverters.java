@@ -0,0 +1,71 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConversionException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPrimitiveArrayConverters {
+
+  public TestPrimitiveArrayConverters() {
+    super();
+  }
+
+  @Test
+  public void testNumericArrays() {
+    assertArrayEquals(new long[] { 1L, -2L, 9000000000L }, new StringToLongArrayConverter().convert("1, -2,, 9000000000"));
+    assertArrayEquals(new double[] { 1.5, -2.0, 1e3 }, new StringToDoubleArrayConverter().convert("1.5,-2, 1e3"), 0.0);
+    assertArrayEquals(new long[0], new StringToLongArrayConverter().convert(" "));
+    final boolean[] booleans = new StringToBooleanArrayConverter().convert("true, FALSE, yes");
+    assertEquals(3, booleans.length);
+    assertTrue(booleans[0] && !booleans[1] && !booleans[2]);
+  }
+
+  @Test(expected = ConversionException.class)
+  public void testBadLong() {
+    new StringToLongArrayConverter().convert("1, two");
+  }
+
+  @Test
+  public void testBytes() {
+    final byte[] expected = new byte[] { (byte)0xCA, (byte)0xFE, 0x01 };
+    final StringToByteArrayConverter converter = new StringToByteArrayConverter();
+    assertArrayEquals(expected, converter.convert("hex:cafe01"));
+    assertArrayEquals(expected, converter.convert(" 0xCAFE01 "));
+    assertArrayEquals(expected, converter.convert("base64:yv4B"));
+    assertArrayEquals(expected, converter.convert("yv4B"));
+    assertArrayEquals(new byte[] { (byte)0xFB, (byte)0xFF }, converter.convert("-_8="));
+
+    final ByteBuffer buffer = new StringToByteBufferConverter().convert("0xcafe01");
+    assertTrue(buffer.isDirect());
+    assertEquals(3, buffer.remaining());
+    assertEquals((byte)0xCA, buffer.get(0));
+  }
+
+  @Test(expected = ConversionException.class)
+  public void testOddHex() {
+    new StringToByteArrayConverter().convert("0xabc");
+  }
+
+}
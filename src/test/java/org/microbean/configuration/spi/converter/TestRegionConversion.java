@@ -0,0 +1,66 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TestRegionConversion {
+
+  public TestRegionConversion() {
+    super();
+  }
+
+  @Test
+  public void testIntegralRegions() {
+    final String buffer = "x=" + Long.MIN_VALUE + ";y=" + Long.MAX_VALUE + ";z=+42;w=-7";
+    final StringToLongConverter longConverter = new StringToLongConverter();
+    final int minStart = buffer.indexOf('=') + 1;
+    final int minEnd = buffer.indexOf(';');
+    assertEquals(Long.valueOf(Long.MIN_VALUE), longConverter.convert(buffer, minStart, minEnd));
+    final int maxStart = buffer.indexOf('=', minEnd) + 1;
+    final int maxEnd = buffer.indexOf(';', maxStart);
+    assertEquals(Long.valueOf(Long.MAX_VALUE), longConverter.convert(buffer, maxStart, maxEnd));
+    assertEquals(Integer.valueOf(42), new StringToIntegerConverter().convert(buffer, buffer.indexOf("+42"), buffer.indexOf("+42") + 3));
+    assertEquals(Short.valueOf((short)-7), new StringToShortConverter().convert(buffer, buffer.length() - 2, buffer.length()));
+    for (final String bad : new String[] { "", "-", "+", "1x", "2147483648", " 1" }) {
+      try {
+        new StringToIntegerConverter().convert("[" + bad + "]", 1, bad.length() + 1);
+        fail(bad);
+      } catch (final NumberFormatException expected) {
+
+      }
+    }
+    assertEquals(Integer.valueOf(Integer.MIN_VALUE), new StringToIntegerConverter().convert("-2147483648", 0, 11));
+  }
+
+  @Test
+  public void testOtherRegions() {
+    final StringBuilder buffer = new StringBuilder("TrUe,no,PT1M");
+    assertEquals(Boolean.TRUE, new StringToBooleanConverter().convert(buffer, 0, 4));
+    assertEquals(Boolean.FALSE, new StringToBooleanConverter().convert(buffer, 5, 7));
+    assertEquals(Duration.ofMinutes(1), new StringToDurationConverter().convert(buffer, 8, 12));
+    // Converters without a region implementation fall back to
+    // convert(String).
+    assertEquals(Double.valueOf(1.5), new StringToDoubleConverter().convert("x1.5", 1, 4));
+  }
+
+}
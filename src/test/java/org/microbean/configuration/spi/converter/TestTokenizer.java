@@ -0,0 +1,61 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2017–2019 microBean.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.  See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package org.microbean.configuration.spi.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.microbean.configuration.api.ConversionException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestTokenizer {
+
+  public TestTokenizer() {
+    super();
+  }
+
+  @Test
+  public void testTokenize() {
+    assertEquals(Arrays.asList("a", "b c", "d"), Tokenizer.tokenize(" a ,, b c,d, ", new ArrayList<>()));
+    assertEquals(Arrays.asList("a, b", "c,d", "", " e "), Tokenizer.tokenize("\"a, b\", c\\,d, \"\", \" e \"", new ArrayList<>()));
+    assertEquals(Arrays.asList("x y z"), Tokenizer.tokenize("x \"y\" z", new ArrayList<>()));
+    assertEquals(Collections.emptyList(), Tokenizer.tokenize(" , ", new ArrayList<>()));
+  }
+
+  @Test(expected = ConversionException.class)
+  public void testUnterminatedQuotation() {
+    Tokenizer.tokenize("a, \"b", new ArrayList<>());
+  }
+
+  @Test
+  public void testConverters() {
+    assertArrayEquals(new int[] { 1, 2, 3 }, new StringToIntArrayConverter().convert(" 1, 2 ,,3"));
+    final Map<String, String> expected = new HashMap<>();
+    expected.put("url", "jdbc:x?a=b");
+    expected.put("name", "p, q");
+    assertEquals(expected, new StringToMapStringStringConverter().convert("{ url = jdbc:x?a=b, name=\"p, q\" }"));
+    assertEquals(Collections.emptyMap(), new StringToMapStringStringConverter().convert(" {} "));
+  }
+
+}